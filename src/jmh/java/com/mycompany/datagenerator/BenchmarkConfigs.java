@@ -0,0 +1,34 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+// Builds the AppConfig the benchmarks run against instead of reading application.yml,
+// so each benchmark controls its own row counts and writes into a throwaway folder.
+final class BenchmarkConfigs {
+
+    static final long SEED = 42L;
+
+    private BenchmarkConfigs() {
+    }
+
+    static AppConfig config(int userNames, int rowsPerTable, String csvWriter) throws IOException {
+        AppConfig.Output output = new AppConfig.Output();
+        output.setFolderName(Files.createTempDirectory("datagen-bench").toString());
+        output.setCsvWriter(csvWriter);
+
+        AppConfig.Generation generation = new AppConfig.Generation();
+        generation.setUserNamesCount(userNames);
+        generation.setUniqueCrs(rowsPerTable);
+        generation.setUniqueJiras(rowsPerTable);
+        generation.setConfluencePages(rowsPerTable);
+        generation.setCrCtasks(rowsPerTable);
+        generation.setJiraActivities(rowsPerTable);
+        generation.setSeed(SEED);
+
+        AppConfig config = new AppConfig();
+        config.setOutput(output);
+        config.setGeneration(generation);
+        return config;
+    }
+}
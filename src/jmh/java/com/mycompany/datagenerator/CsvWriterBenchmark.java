@@ -0,0 +1,95 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Writer cost alone: the same pre-rendered rows go through each sink, so generation is out of the picture.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvWriterBenchmark {
+
+    private static final String[] HEADER = { "Activity_ID", "JIRA_ID", "Activity_Comment", "Activity_Timestamp",
+            "Activity_User" };
+    private static final Set<String> PLAIN_COLUMNS = Set.of("Activity_ID", "JIRA_ID", "Activity_Timestamp");
+
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    private List<List<String>> data;
+    private Path file;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempDirectory("datagen-bench").resolve("JIRA_Activities.csv");
+        PartitionRunner runner = new PartitionRunner(BenchmarkConfigs.SEED, 1);
+        GenerationContext ctx = runner.context("Writer_Rows", 0);
+        runner.close();
+        Random random = new Random(BenchmarkConfigs.SEED);
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(List.of(
+                    String.format("ACT%03d", i + 1),
+                    "NOVA-" + random.nextInt(5000),
+                    random.nextBoolean() ? ctx.words(7) : "Comment added, \"quoted\".",
+                    "2024-05-01T10:" + (10 + random.nextInt(50)),
+                    "Alice_B"));
+        }
+    }
+
+    @Benchmark
+    public void fastCsvWriter(RowCounter counter) throws IOException {
+        try (RowSink sink = new FastCsvWriter(file, HEADER, PLAIN_COLUMNS)) {
+            writeAll(sink);
+        }
+        counter.rows += rows;
+    }
+
+    @Benchmark
+    public void commonsCsv(RowCounter counter) throws IOException {
+        try (RowSink sink = new CsvRowSink(file, HEADER)) {
+            writeAll(sink);
+        }
+        counter.rows += rows;
+    }
+
+    private void writeAll(RowSink sink) throws IOException {
+        for (List<String> row : data) {
+            sink.writeRow(row);
+        }
+    }
+}
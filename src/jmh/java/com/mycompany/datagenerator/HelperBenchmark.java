@@ -0,0 +1,118 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Per-call cost of the small helpers every generated row goes through.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelperBenchmark {
+
+    private static final long FIRST_DAY = LocalDate.of(2023, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2024, 5, 1).toEpochDay();
+    private static final long FIRST_MINUTE = FIRST_DAY * DateEngine.MINUTES_PER_DAY;
+    private static final long LAST_MINUTE = LAST_DAY * DateEngine.MINUTES_PER_DAY;
+    private static final List<String> LABELS = List.of("performance", "security", "sprint-goal", "ProjectNova",
+            "tech-debt", "ux");
+
+    private GenerationContext ctx;
+    private IdRegistry jiraIds;
+    private Distribution weightedLabels;
+    private Distribution zipfJiraIds;
+
+    // initializeUserNames needs a configured run behind it; only that benchmark pays for one.
+    @State(Scope.Thread)
+    public static class UserNamesRun {
+        @Param({ "25", "500", "100000" })
+        public int userNames;
+
+        DataGenerator generator;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            generator = new DataGenerator(BenchmarkConfigs.config(userNames, 0, AppConfig.Output.CSV_WRITER_FAST));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            generator.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PartitionRunner runner = new PartitionRunner(BenchmarkConfigs.SEED, 1);
+        runner.setDateEngine(new DateEngine(FIRST_DAY, LAST_DAY));
+        ctx = runner.context("Helpers", 0);
+        runner.close();
+
+        jiraIds = new IdRegistry("LOG-", "PERF-", "BUG-", "FEAT-", "NOVA-");
+        for (int i = 0; i < 10_000; i++) {
+            jiraIds.register(i % 5);
+        }
+        weightedLabels = Distribution.weighted(new double[] { 50, 20, 10, 10, 7, 3 });
+        zipfJiraIds = Distribution.zipf(jiraIds.size(), 1.0);
+    }
+
+    @Benchmark
+    public void initializeUserNames(UserNamesRun run) {
+        run.generator.initializeUserNames(run.userNames);
+    }
+
+    @Benchmark
+    public String randomChoice() {
+        return ctx.randomChoice(jiraIds);
+    }
+
+    // Alias method and rejection-inversion Zipf, against the uniform pick above.
+    @Benchmark
+    public String weightedChoice() {
+        return weightedLabels.pick(ctx.random, LABELS);
+    }
+
+    @Benchmark
+    public String zipfChoice() {
+        return zipfJiraIds.pick(ctx.random, jiraIds);
+    }
+
+    @Benchmark
+    public String generateSemicolonDelimitedListSmall() {
+        return ctx.generateSemicolonDelimitedList(LABELS, 3);
+    }
+
+    @Benchmark
+    public String generateSemicolonDelimitedListRegistry() {
+        return ctx.generateSemicolonDelimitedList(jiraIds, 4);
+    }
+
+    // Replaces the old generateRandomLocalDate(start, end).toString() pair.
+    @Benchmark
+    public String generateRandomDate() {
+        return ctx.formatDay(ctx.randomDay(FIRST_DAY, LAST_DAY));
+    }
+
+    @Benchmark
+    public String generateRandomTimestamp() {
+        return ctx.formatMinute(ctx.randomMinute(FIRST_MINUTE, LAST_MINUTE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// End-to-end cost of each table generator, file writing included. The "rows" counter turns the
+// per-call score into generated records per second; CRs and JIRA issues can span several CSV lines.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TableBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    @Param({ AppConfig.Output.CSV_WRITER_FAST, AppConfig.Output.CSV_WRITER_COMMONS, AppConfig.Output.CSV_WRITER_MAPPED })
+    public String csvWriter;
+
+    private DataGenerator generator;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        AppConfig config = BenchmarkConfigs.config(200, rows, csvWriter);
+        generator = new DataGenerator(config);
+        generator.registerCrIds(rows);
+        generator.registerJiraIds(rows);
+        generator.registerConfluenceIds(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        generator.close();
+    }
+
+    @Benchmark
+    public void crMain(RowCounter counter) {
+        generator.generateCrMainCsv("CR_Main.csv");
+        counter.rows += rows;
+    }
+
+    @Benchmark
+    public void crCtasks(RowCounter counter) {
+        generator.generateCrCtasksCsv("CR_CTasks.csv");
+        counter.rows += rows;
+    }
+
+    @Benchmark
+    public void jiraIssues(RowCounter counter) {
+        generator.generateJiraIssuesDetailedCsv("JIRA_Issues_Detailed.csv");
+        counter.rows += rows;
+    }
+
+    @Benchmark
+    public void jiraActivities(RowCounter counter) {
+        generator.generateJiraActivitiesCsv("JIRA_Activities.csv");
+        counter.rows += rows;
+    }
+
+    @Benchmark
+    public void confluencePages(RowCounter counter) {
+        generator.generateConfluencePagesDetailedCsv("Confluence_Pages_Detailed.csv");
+        counter.rows += rows;
+    }
+}
@@ -1,11 +1,23 @@
 package com.mycompany.datagenerator;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 // Getters and setters are crucial for Jackson to map YAML properties.
 // Ensure property names in YAML match field names here (or use @JsonProperty).
 
 public class AppConfig {
     private Output output;
     private Generation generation;
+    private Metrics metrics = new Metrics();
+    private DateRanges dateRanges = new DateRanges();
+    private Schema schema = new Schema();
+    private Distributions distributions = new Distributions();
+    private Stream stream = new Stream();
+    private Server server = new Server();
+    private Verify verify = new Verify();
 
     public Output getOutput() {
         return output;
@@ -23,8 +35,82 @@ public class AppConfig {
         this.generation = generation;
     }
 
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public DateRanges getDateRanges() {
+        return dateRanges;
+    }
+
+    public void setDateRanges(DateRanges dateRanges) {
+        this.dateRanges = dateRanges;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public void setSchema(Schema schema) {
+        this.schema = schema;
+    }
+
+    public Distributions getDistributions() {
+        return distributions;
+    }
+
+    public void setDistributions(Distributions distributions) {
+        this.distributions = distributions;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public void setStream(Stream stream) {
+        this.stream = stream;
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    public void setServer(Server server) {
+        this.server = server;
+    }
+
+    public Verify getVerify() {
+        return verify;
+    }
+
+    public void setVerify(Verify verify) {
+        this.verify = verify;
+    }
+
     public static class Output {
+        public static final String FORMAT_CSV = "csv";
+        public static final String FORMAT_ARROW = "arrow";
+        public static final String FORMAT_JDBC = "jdbc";
+        public static final String FORMAT_NDJSON = "ndjson";
+        public static final String FORMAT_JSON_NESTED = "json-nested";
+        public static final String CSV_WRITER_FAST = "fast";
+        public static final String CSV_WRITER_COMMONS = "commons-csv";
+        public static final String CSV_WRITER_MAPPED = "mapped";
+        public static final String COMPRESSION_NONE = "none";
+        public static final String COMPRESSION_GZIP = "gzip";
+        public static final String COMPRESSION_LZ4 = "lz4";
+
         private String folderName;
+        private String format = FORMAT_CSV;
+        private String csvWriter = CSV_WRITER_FAST;
+        private String compression = COMPRESSION_NONE;
+        private long rollRows;
+        private long rollBytes;
+        private Jdbc jdbc = new Jdbc();
 
         public String getFolderName() {
             return folderName;
@@ -33,6 +119,111 @@ public class AppConfig {
         public void setFolderName(String folderName) {
             this.folderName = folderName;
         }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public String getCsvWriter() {
+            return csvWriter;
+        }
+
+        public void setCsvWriter(String csvWriter) {
+            this.csvWriter = csvWriter;
+        }
+
+        public String getCompression() {
+            return compression;
+        }
+
+        public void setCompression(String compression) {
+            this.compression = compression;
+        }
+
+        public long getRollRows() {
+            return rollRows;
+        }
+
+        public void setRollRows(long rollRows) {
+            this.rollRows = rollRows;
+        }
+
+        public long getRollBytes() {
+            return rollBytes;
+        }
+
+        public void setRollBytes(long rollBytes) {
+            this.rollBytes = rollBytes;
+        }
+
+        public Jdbc getJdbc() {
+            return jdbc;
+        }
+
+        public void setJdbc(Jdbc jdbc) {
+            this.jdbc = jdbc;
+        }
+    }
+
+    public static class Jdbc {
+        private String url;
+        private String user = "";
+        private String password = "";
+        private int batchSize = 1000;
+        private int connections = 2;
+        private boolean recreateTables = true;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUser() {
+            return user;
+        }
+
+        public void setUser(String user) {
+            this.user = user;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public boolean isRecreateTables() {
+            return recreateTables;
+        }
+
+        public void setRecreateTables(boolean recreateTables) {
+            this.recreateTables = recreateTables;
+        }
     }
 
     public static class Generation {
@@ -42,6 +233,18 @@ public class AppConfig {
         private int confluencePages;
         private int crCtasks;
         private int jiraActivities;
+        private int threads = 1;
+        private Long seed;
+        private int textPoolSize;
+        private String dictionarySnapshot = "";
+        private boolean pipeline = true;
+        private String referenceTime;
+        private int checkpointIntervalSeconds;
+        private boolean resume;
+        private boolean append;
+        private int crStatusUpdates;
+        private int shardIndex;
+        private int shardCount = 1;
 
         public int getUserNamesCount() {
             return userNamesCount;
@@ -90,5 +293,532 @@ public class AppConfig {
         public void setJiraActivities(int jiraActivities) {
             this.jiraActivities = jiraActivities;
         }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public Long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(Long seed) {
+            this.seed = seed;
+        }
+
+        public int getTextPoolSize() {
+            return textPoolSize;
+        }
+
+        public void setTextPoolSize(int textPoolSize) {
+            this.textPoolSize = textPoolSize;
+        }
+
+        public String getDictionarySnapshot() {
+            return dictionarySnapshot;
+        }
+
+        public void setDictionarySnapshot(String dictionarySnapshot) {
+            this.dictionarySnapshot = dictionarySnapshot;
+        }
+
+        public boolean isPipeline() {
+            return pipeline;
+        }
+
+        public void setPipeline(boolean pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        public String getReferenceTime() {
+            return referenceTime;
+        }
+
+        public void setReferenceTime(String referenceTime) {
+            this.referenceTime = referenceTime;
+        }
+
+        public int getCheckpointIntervalSeconds() {
+            return checkpointIntervalSeconds;
+        }
+
+        public void setCheckpointIntervalSeconds(int checkpointIntervalSeconds) {
+            this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+        }
+
+        public boolean isResume() {
+            return resume;
+        }
+
+        public void setResume(boolean resume) {
+            this.resume = resume;
+        }
+
+        public boolean isAppend() {
+            return append;
+        }
+
+        public void setAppend(boolean append) {
+            this.append = append;
+        }
+
+        public int getCrStatusUpdates() {
+            return crStatusUpdates;
+        }
+
+        public void setCrStatusUpdates(int crStatusUpdates) {
+            this.crStatusUpdates = crStatusUpdates;
+        }
+
+        public int getShardIndex() {
+            return shardIndex;
+        }
+
+        public void setShardIndex(int shardIndex) {
+            this.shardIndex = shardIndex;
+        }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        public void setShardCount(int shardCount) {
+            this.shardCount = shardCount;
+        }
+    }
+
+    public static class Metrics {
+        private int progressIntervalSeconds = 10;
+        private String summaryFile = "run-metrics.json";
+        private boolean jmx;
+
+        public int getProgressIntervalSeconds() {
+            return progressIntervalSeconds;
+        }
+
+        public void setProgressIntervalSeconds(int progressIntervalSeconds) {
+            this.progressIntervalSeconds = progressIntervalSeconds;
+        }
+
+        public String getSummaryFile() {
+            return summaryFile;
+        }
+
+        public void setSummaryFile(String summaryFile) {
+            this.summaryFile = summaryFile;
+        }
+
+        public boolean isJmx() {
+            return jmx;
+        }
+
+        public void setJmx(boolean jmx) {
+            this.jmx = jmx;
+        }
+    }
+
+    // Event-stream mode: time-ordered JIRA_Activities / CR_CTasks rows instead of the CSV files.
+    public static class Stream {
+        public static final String TARGET_STDOUT = "-";
+
+        private boolean enabled;
+        private List<String> tables = new ArrayList<>(List.of("JIRA_Activities", "CR_CTasks"));
+        private String target = TARGET_STDOUT;
+        private double eventsPerSecond;
+        private boolean continuous;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getTables() {
+            return tables;
+        }
+
+        public void setTables(List<String> tables) {
+            this.tables = tables;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+
+        public double getEventsPerSecond() {
+            return eventsPerSecond;
+        }
+
+        public void setEventsPerSecond(double eventsPerSecond) {
+            this.eventsPerSecond = eventsPerSecond;
+        }
+
+        public boolean isContinuous() {
+            return continuous;
+        }
+
+        public void setContinuous(boolean continuous) {
+            this.continuous = continuous;
+        }
+    }
+
+    // Server mode: generate tables on request over HTTP instead of writing the output folder.
+    public static class Server {
+        private boolean enabled;
+        private int port = 8080;
+        private int workers = 4;
+        private int queuedRequests = 32;
+        private int maxRows = 10_000_000;
+        private boolean logRequests;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueuedRequests() {
+            return queuedRequests;
+        }
+
+        public void setQueuedRequests(int queuedRequests) {
+            this.queuedRequests = queuedRequests;
+        }
+
+        public int getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        public boolean isLogRequests() {
+            return logRequests;
+        }
+
+        public void setLogRequests(boolean logRequests) {
+            this.logRequests = logRequests;
+        }
+    }
+
+    // Verification: referential integrity and column statistics of the CSV output folder.
+    public static class Verify {
+        public static final String MODE_OFF = "off";
+        public static final String MODE_AFTER = "after";
+        public static final String MODE_ONLY = "only";
+
+        private String mode = MODE_OFF;
+        private String reportFile = "verify-report.json";
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public String getReportFile() {
+            return reportFile;
+        }
+
+        public void setReportFile(String reportFile) {
+            this.reportFile = reportFile;
+        }
+    }
+
+    // Dates are "yyyy-MM-dd"; the defaults are the ranges the built-in tables always used.
+    public static class DateRanges {
+        private CrMainDates crMain = new CrMainDates();
+        private CreatedDates jiraIssues = new CreatedDates("2023-01-01", "2024-04-01");
+        private CreatedDates confluencePages = new CreatedDates("2023-01-01", "2024-05-01");
+
+        public CrMainDates getCrMain() {
+            return crMain;
+        }
+
+        public void setCrMain(CrMainDates crMain) {
+            this.crMain = crMain;
+        }
+
+        public CreatedDates getJiraIssues() {
+            return jiraIssues;
+        }
+
+        public void setJiraIssues(CreatedDates jiraIssues) {
+            this.jiraIssues = jiraIssues;
+        }
+
+        public CreatedDates getConfluencePages() {
+            return confluencePages;
+        }
+
+        public void setConfluencePages(CreatedDates confluencePages) {
+            this.confluencePages = confluencePages;
+        }
+    }
+
+    public static class CrMainDates {
+        private String overallStartDateMin = "2023-01-01";
+        private String overallStartDateMax = "2024-03-01";
+
+        public String getOverallStartDateMin() {
+            return overallStartDateMin;
+        }
+
+        public void setOverallStartDateMin(String overallStartDateMin) {
+            this.overallStartDateMin = overallStartDateMin;
+        }
+
+        public String getOverallStartDateMax() {
+            return overallStartDateMax;
+        }
+
+        public void setOverallStartDateMax(String overallStartDateMax) {
+            this.overallStartDateMax = overallStartDateMax;
+        }
+    }
+
+    public static class CreatedDates {
+        private String createdDateMin;
+        private String createdDateMax;
+
+        public CreatedDates() {
+        }
+
+        CreatedDates(String createdDateMin, String createdDateMax) {
+            this.createdDateMin = createdDateMin;
+            this.createdDateMax = createdDateMax;
+        }
+
+        public String getCreatedDateMin() {
+            return createdDateMin;
+        }
+
+        public void setCreatedDateMin(String createdDateMin) {
+            this.createdDateMin = createdDateMin;
+        }
+
+        public String getCreatedDateMax() {
+            return createdDateMax;
+        }
+
+        public void setCreatedDateMax(String createdDateMax) {
+            this.createdDateMax = createdDateMax;
+        }
+    }
+
+    // Skewed and weighted value picks and null rates; resolved into ValueDistributions.
+    public static class Distributions {
+        private Map<String, Double> keySkew = new LinkedHashMap<>();
+        private Map<String, Map<String, Double>> weights = new LinkedHashMap<>();
+        private Map<String, Double> nullRates = new LinkedHashMap<>();
+
+        public Map<String, Double> getKeySkew() {
+            return keySkew;
+        }
+
+        public void setKeySkew(Map<String, Double> keySkew) {
+            this.keySkew = keySkew;
+        }
+
+        public Map<String, Map<String, Double>> getWeights() {
+            return weights;
+        }
+
+        public void setWeights(Map<String, Map<String, Double>> weights) {
+            this.weights = weights;
+        }
+
+        public Map<String, Double> getNullRates() {
+            return nullRates;
+        }
+
+        public void setNullRates(Map<String, Double> nullRates) {
+            this.nullRates = nullRates;
+        }
+    }
+
+    // Extra tables declared in YAML; compiled into TablePlans by SchemaCompiler.
+    public static class Schema {
+        private List<TableSpec> tables = new ArrayList<>();
+
+        public List<TableSpec> getTables() {
+            return tables;
+        }
+
+        public void setTables(List<TableSpec> tables) {
+            this.tables = tables;
+        }
+    }
+
+    public static class TableSpec {
+        private String name;
+        private int rows;
+        private List<ColumnSpec> columns = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+
+        public List<ColumnSpec> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(List<ColumnSpec> columns) {
+            this.columns = columns;
+        }
+    }
+
+    public static class ColumnSpec {
+        private String name;
+        private String generator;
+        private String format;
+        private List<String> values;
+        private List<Double> weights;
+        private String references;
+        private Double skew;
+        private String min;
+        private String max;
+        private String text;
+        private int count = 1;
+        private double nullRate;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getGenerator() {
+            return generator;
+        }
+
+        public void setGenerator(String generator) {
+            this.generator = generator;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+
+        public void setValues(List<String> values) {
+            this.values = values;
+        }
+
+        public List<Double> getWeights() {
+            return weights;
+        }
+
+        public void setWeights(List<Double> weights) {
+            this.weights = weights;
+        }
+
+        public String getReferences() {
+            return references;
+        }
+
+        public void setReferences(String references) {
+            this.references = references;
+        }
+
+        public Double getSkew() {
+            return skew;
+        }
+
+        public void setSkew(Double skew) {
+            this.skew = skew;
+        }
+
+        public String getMin() {
+            return min;
+        }
+
+        public void setMin(String min) {
+            this.min = min;
+        }
+
+        public String getMax() {
+            return max;
+        }
+
+        public void setMax(String max) {
+            this.max = max;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getNullRate() {
+            return nullRate;
+        }
+
+        public void setNullRate(double nullRate) {
+            this.nullRate = nullRate;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,241 @@
+package com.mycompany.datagenerator;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampSecVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RowSink} that writes a table as an Arrow IPC file with typed columns instead of CSV text.
+ * <p>
+ * Rows are collected into record batches of {@link #BATCH_ROWS} and each full batch is written
+ * out straight away, so memory stays bounded however large the table is. Columns are typed from
+ * the {@link Column} declared for their header name (anything undeclared is UTF-8 text): dates
+ * become date32, timestamps second-precision timestamps, numbers int32, and fixed vocabularies are
+ * dictionary-encoded against a dictionary written once at the start of the file. Empty strings,
+ * which the CSV output uses for "no value", are written as nulls.
+ */
+public class ArrowRowSink implements RowSink {
+
+    static final int BATCH_ROWS = 8192;
+
+    enum Kind {
+        TEXT, CATEGORY, DATE, TIMESTAMP, INT
+    }
+
+    /** Declared type of one column; {@link JdbcRowSink} derives its SQL column types from it too. */
+    public static final class Column {
+        private static final Column TEXT = new Column(Kind.TEXT, null);
+        private static final Column DATE = new Column(Kind.DATE, null);
+        private static final Column TIMESTAMP = new Column(Kind.TIMESTAMP, null);
+        private static final Column INT = new Column(Kind.INT, null);
+
+        private final Kind kind;
+        private final List<String> vocabulary;
+
+        private Column(Kind kind, List<String> vocabulary) {
+            this.kind = kind;
+            this.vocabulary = vocabulary;
+        }
+
+        public static Column text() {
+            return TEXT;
+        }
+
+        /** Dictionary-encoded text; every non-empty value must be one of {@code vocabulary}. */
+        public static Column category(List<String> vocabulary) {
+            return new Column(Kind.CATEGORY, vocabulary);
+        }
+
+        /** {@code yyyy-MM-dd}, stored as date32. */
+        public static Column date() {
+            return DATE;
+        }
+
+        /** {@code yyyy-MM-dd HH:mm}, stored as a timestamp in seconds without a time zone. */
+        public static Column timestamp() {
+            return TIMESTAMP;
+        }
+
+        public static Column integer() {
+            return INT;
+        }
+
+        Kind kind() {
+            return kind;
+        }
+    }
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+    private final Kind[] kinds;
+    private final List<Map<String, Integer>> dictionaryCodes = new ArrayList<>();
+    // Columns drawing from the same vocabulary list (e.g. every user column) share one dictionary.
+    private final Map<List<String>, DictionaryEncoding> encodingsByVocabulary = new IdentityHashMap<>();
+    private final Map<Long, Map<String, Integer>> codesByDictionary = new HashMap<>();
+    private final String[] names;
+    private final VectorSchemaRoot root;
+    private final FieldVector[] vectors;
+    private final ArrowFileWriter writer;
+    private int batchRows;
+    private long rowCount;
+
+    public ArrowRowSink(OutputStream out, String[] header, Map<String, Column> columns) throws IOException {
+        this.names = header.clone();
+        this.kinds = new Kind[header.length];
+        List<Field> fields = new ArrayList<>(header.length);
+        try {
+            for (int i = 0; i < header.length; i++) {
+                Column column = columns.getOrDefault(header[i], Column.TEXT);
+                kinds[i] = column.kind;
+                dictionaryCodes.add(null);
+                fields.add(field(i, header[i], column));
+            }
+            this.root = VectorSchemaRoot.create(new Schema(fields), allocator);
+        } catch (RuntimeException e) {
+            closeDictionaries();
+            allocator.close();
+            throw e;
+        }
+        this.vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+        this.writer = new ArrowFileWriter(root, dictionaries, Channels.newChannel(out));
+        writer.start();
+        root.allocateNew();
+    }
+
+    private Field field(int index, String name, Column column) {
+        switch (column.kind) {
+            case DATE:
+                return Field.nullable(name, new ArrowType.Date(DateUnit.DAY));
+            case TIMESTAMP:
+                return Field.nullable(name, new ArrowType.Timestamp(TimeUnit.SECOND, null));
+            case INT:
+                return Field.nullable(name, new ArrowType.Int(32, true));
+            case CATEGORY:
+                DictionaryEncoding encoding = encodingsByVocabulary.get(column.vocabulary);
+                if (encoding == null) {
+                    encoding = new DictionaryEncoding(index, false, new ArrowType.Int(32, true));
+                    encodingsByVocabulary.put(column.vocabulary, encoding);
+                    codesByDictionary.put(encoding.getId(), buildDictionary(name, encoding, column.vocabulary));
+                }
+                dictionaryCodes.set(index, codesByDictionary.get(encoding.getId()));
+                // Encoded fields carry the index type; the writer swaps in the dictionary value type.
+                return new Field(name, new FieldType(true, encoding.getIndexType(), encoding), null);
+            default:
+                return Field.nullable(name, ArrowType.Utf8.INSTANCE);
+        }
+    }
+
+    private Map<String, Integer> buildDictionary(String name, DictionaryEncoding encoding, List<String> vocabulary) {
+        VarCharVector dictionary = new VarCharVector(name + "_dictionary", allocator);
+        Map<String, Integer> codes = new HashMap<>();
+        dictionary.allocateNew();
+        for (String value : vocabulary) {
+            if (!value.isEmpty() && !codes.containsKey(value)) {
+                dictionary.setSafe(codes.size(), value.getBytes(StandardCharsets.UTF_8));
+                codes.put(value, codes.size());
+            }
+        }
+        dictionary.setValueCount(codes.size());
+        dictionaries.put(new Dictionary(dictionary, encoding));
+        return codes;
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        for (int i = 0; i < vectors.length; i++) {
+            String value = i < row.size() ? row.get(i) : null;
+            if (value == null || value.isEmpty()) {
+                vectors[i].setNull(batchRows);
+                continue;
+            }
+            switch (kinds[i]) {
+                case DATE:
+                    ((DateDayVector) vectors[i]).setSafe(batchRows, (int) DateEngine.parseDay(value));
+                    break;
+                case TIMESTAMP:
+                    ((TimeStampSecVector) vectors[i]).setSafe(batchRows, DateEngine.parseMinute(value) * 60);
+                    break;
+                case INT:
+                    ((IntVector) vectors[i]).setSafe(batchRows, Integer.parseInt(value));
+                    break;
+                case CATEGORY:
+                    Integer code = dictionaryCodes.get(i).get(value);
+                    if (code == null) {
+                        throw new IOException("Value '" + value + "' is not in the dictionary of column " + names[i]);
+                    }
+                    ((IntVector) vectors[i]).setSafe(batchRows, code);
+                    break;
+                default:
+                    ((VarCharVector) vectors[i]).setSafe(batchRows, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        rowCount++;
+        if (++batchRows == BATCH_ROWS) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /** Bytes of finished record batches; rows of the batch being filled are not counted yet. */
+    @Override
+    public long getByteCount() {
+        return writer.bytesWritten();
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(batchRows);
+        writer.writeBatch();
+        root.allocateNew();
+        batchRows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (batchRows > 0) {
+                writeBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            closeDictionaries();
+            allocator.close();
+        }
+    }
+
+    private void closeDictionaries() {
+        for (long id : dictionaries.getDictionaryIds()) {
+            dictionaries.lookup(id).getVector().close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * {@link OutputStream} that hands its bytes to a dedicated thread which writes them to the
+ * wrapped stream, so an expensive target such as a compressor runs alongside row generation
+ * instead of inside it.
+ * <p>
+ * Bytes are copied into fixed-size chunks; full chunks are queued to the writer thread and
+ * recycled once written. The queue is bounded, so a slow target eventually blocks the producer
+ * rather than buffering without limit. A failure on the writer thread, including an unchecked
+ * exception from the target, is rethrown from the next {@code write} or from {@link #close()}.
+ */
+public class AsyncOutputStream extends OutputStream {
+
+    private static final int CHUNK_SIZE = 1 << 18;
+    private static final int QUEUED_CHUNKS = 4;
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    private final OutputStream target;
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(QUEUED_CHUNKS + 2);
+    private final Thread writer;
+    private volatile IOException failure;
+    private boolean failureThrown;
+    private byte[] chunk = new byte[CHUNK_SIZE];
+    private int position;
+    private boolean closed;
+
+    public AsyncOutputStream(OutputStream target, String threadName) {
+        this.target = target;
+        this.writer = new Thread(this::drain, threadName);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == chunk.length) {
+            handOff();
+        }
+        chunk[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (position == chunk.length) {
+                handOff();
+            }
+            int count = Math.min(len, chunk.length - position);
+            System.arraycopy(b, off, chunk, position, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (position > 0 && failure == null) {
+                filled.put(new Chunk(chunk, position));
+            }
+            filled.put(END); // Always, so the writer thread finishes even after a failure
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing " + writer.getName());
+        }
+        if (failureThrown) {
+            // A new exception: try-with-resources cannot add the one write already threw as suppressed
+            throw new IOException(writer.getName() + " failed", failure);
+        }
+        checkFailure();
+    }
+
+    private void handOff() throws IOException {
+        checkFailure();
+        try {
+            filled.put(new Chunk(chunk, position));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing output for " + writer.getName());
+        }
+        byte[] next = free.poll();
+        chunk = next != null ? next : new byte[CHUNK_SIZE];
+        position = 0;
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            failureThrown = true;
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Chunk next = filled.take();
+                if (next == END) {
+                    break;
+                }
+                if (failure == null) { // Keep consuming after a failure so the producer never blocks
+                    try {
+                        target.write(next.data, 0, next.length);
+                    } catch (Throwable e) { // Codec bugs too: a dead writer thread would block the producer
+                        failure = asIOException(e);
+                    }
+                }
+                free.offer(next.data);
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException(writer.getName() + " was interrupted");
+        }
+        try {
+            target.close();
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = asIOException(e);
+            }
+        }
+    }
+
+    private IOException asIOException(Throwable e) {
+        return e instanceof IOException ? (IOException) e : new IOException(writer.getName() + " failed: " + e, e);
+    }
+
+    private static class Chunk {
+        final byte[] data;
+        final int length;
+
+        Chunk(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+}
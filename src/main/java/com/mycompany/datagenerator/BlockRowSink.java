@@ -0,0 +1,18 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link RowSink} that also takes rows already encoded into blocks of bytes. {@link PartitionRunner}
+ * encodes each partition on the worker that rendered it, so the writing thread only places bytes
+ * instead of formatting every row itself.
+ */
+public interface BlockRowSink extends RowSink {
+
+    /** Encodes {@code rows} exactly as {@link #writeRow} would write them; safe on any thread. */
+    byte[] encode(List<List<String>> rows) throws IOException;
+
+    /** Appends a block from {@link #encode} holding {@code rows} data rows, in row order, from one thread. */
+    void writeBlock(byte[] block, long rows) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.mycompany.datagenerator;
+
+/**
+ * HyperLogLog estimate of the number of distinct strings seen, in a fixed 4 KB whatever the column
+ * holds (about 1.6% standard error). Small counts use linear counting over the empty registers,
+ * which is close to exact for the few dozen values of a status or team column.
+ */
+public class CardinalitySketch {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    public void add(String value) {
+        long hash = hash(value);
+        int register = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits, plus one; the sentinel bit caps the rank.
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int empty = 0;
+        for (byte rank : registers) {
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                empty++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && empty > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    // FNV-1a over the chars, then the MurmurHash3 finaliser so every bit depends on every char.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
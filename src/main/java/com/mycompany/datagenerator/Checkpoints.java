@@ -0,0 +1,222 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic checkpoints of a run, so a crashed run can pick up where it stopped instead of starting over.
+ * <p>
+ * Because every partition draws from its own seed (see {@link PartitionRunner#partitionSeed}), the
+ * random state at a partition boundary is fully described by the seed and the partition index; no
+ * {@code Random} internals need saving. A checkpoint records, per table, how many partitions are in
+ * the file and the file's length at that point, after the sink was flushed. Resuming truncates the
+ * file back to that length and renders the remaining partitions with the same seed and clock, which
+ * yields the same bytes an uninterrupted run would have written.
+ * <p>
+ * The checkpoint file is replaced atomically, so a crash while saving leaves the previous one intact.
+ * Only plain, uncompressed, single-file CSV output can be resumed this way.
+ */
+public class Checkpoints {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path file;
+    private final long intervalNanos;
+    private final State state;
+    private final Map<String, Path> openFiles = new LinkedHashMap<>();
+    private final Map<String, Long> lastRecordNanos = new HashMap<>();
+
+    private Checkpoints(Path file, int intervalSeconds, State state) {
+        this.file = file;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, intervalSeconds));
+        this.state = state;
+    }
+
+    /** Starts a fresh checkpoint file for a new run. */
+    public static Checkpoints start(Path file, int intervalSeconds, long seed, long generationStartMinute,
+            Map<String, Object> settings) throws IOException {
+        State state = new State();
+        state.seed = seed;
+        state.generationStartMinute = generationStartMinute;
+        state.settings = new LinkedHashMap<>(settings);
+        Checkpoints checkpoints = new Checkpoints(file, intervalSeconds, state);
+        checkpoints.save();
+        return checkpoints;
+    }
+
+    /**
+     * Loads the checkpoint of an interrupted run. The run must use the same settings, since they
+     * decide what every partition contains.
+     */
+    public static Checkpoints resume(Path file, int intervalSeconds, Map<String, Object> settings)
+            throws IOException {
+        if (!Files.exists(file)) {
+            throw new IOException("No checkpoint to resume from at " + file.toAbsolutePath());
+        }
+        State state = JSON.readValue(file.toFile(), State.class);
+        // Round-trip the current settings through JSON so numbers compare the way they were loaded.
+        Map<?, ?> current = JSON.readValue(JSON.writeValueAsBytes(settings), Map.class);
+        if (!current.equals(state.settings)) {
+            throw new IOException("Checkpoint " + file + " was written with different settings "
+                    + state.settings + "; current settings are " + current);
+        }
+        return new Checkpoints(file, intervalSeconds, state);
+    }
+
+    public long getSeed() {
+        return state.seed;
+    }
+
+    public long getGenerationStartMinute() {
+        return state.generationStartMinute;
+    }
+
+    /**
+     * Opens the output stream for a table's file: appended to after truncating to the checkpointed
+     * length when the table was interrupted, created from scratch otherwise. Check
+     * {@link #writtenRows(String)} to tell the two apart.
+     */
+    public synchronized OutputStream open(String stream, Path output) throws IOException {
+        openFiles.put(stream, output);
+        lastRecordNanos.put(stream, System.nanoTime());
+        Table table = state.tables.get(stream);
+        if (table == null || table.partitionsDone == 0) {
+            state.tables.remove(stream);
+            return Files.newOutputStream(output);
+        }
+        FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < table.bytes) {
+                throw new IOException(output + " is shorter (" + channel.size()
+                        + " bytes) than its checkpoint (" + table.bytes + " bytes)");
+            }
+            channel.truncate(table.bytes);
+            channel.position(table.bytes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (table.complete) {
+            System.out.printf("%s is already complete (%d rows).%n", output, table.rows);
+        } else {
+            System.out.printf("Resuming %s after %d rows (partition %d).%n", output, table.rows, table.partitionsDone);
+        }
+        return Channels.newOutputStream(channel);
+    }
+
+    /** Rows already in the file from the interrupted run (0 for a fresh table). */
+    public synchronized long writtenRows(String stream) {
+        Table table = state.tables.get(stream);
+        return table != null ? table.rows : 0;
+    }
+
+    /** First partition still to be rendered for a table. */
+    public synchronized int firstPartition(String stream) {
+        Table table = state.tables.get(stream);
+        return table != null ? table.partitionsDone : 0;
+    }
+
+    /** Called after every written partition; saves a checkpoint when the table's interval has passed. */
+    public synchronized void partitionWritten(String stream, int partitionsDone, RowSink sink) throws IOException {
+        Long last = lastRecordNanos.get(stream);
+        if (last != null && System.nanoTime() - last >= intervalNanos) {
+            record(stream, partitionsDone, sink, false);
+            save();
+        }
+    }
+
+    /** Called once a table's last partition is written; always saves. */
+    public synchronized void tableFinished(String stream, int partitions, RowSink sink) throws IOException {
+        record(stream, partitions, sink, true);
+        save();
+    }
+
+    private void record(String stream, int partitionsDone, RowSink sink, boolean complete) throws IOException {
+        Path output = openFiles.get(stream);
+        if (output == null) {
+            return; // Sink was not opened through this checkpoint (e.g. output that cannot be resumed)
+        }
+        sink.flush();
+        Table table = new Table();
+        table.file = output.toString();
+        table.partitionsDone = partitionsDone;
+        table.rows = sink.getRowCount();
+        table.bytes = Files.size(output);
+        table.complete = complete;
+        state.tables.put(stream, table);
+        lastRecordNanos.put(stream, System.nanoTime());
+    }
+
+    private void save() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        JSON.writeValue(temp.toFile(), state);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Sink over a resumed file whose counts include the rows written before the interruption. */
+    static class ResumedRowSink implements RowSink {
+        private final RowSink sink;
+        private final long previousRows;
+
+        ResumedRowSink(RowSink sink, long previousRows) {
+            this.sink = sink;
+            this.previousRows = previousRows;
+        }
+
+        @Override
+        public void writeRow(List<String> row) throws IOException {
+            sink.writeRow(row);
+        }
+
+        @Override
+        public long getRowCount() {
+            return previousRows + sink.getRowCount();
+        }
+
+        @Override
+        public long getByteCount() {
+            return sink.getByteCount();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            sink.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            sink.close();
+        }
+    }
+
+    // --- JSON layout of the checkpoint file ---
+
+    public static class State {
+        public long seed;
+        public long generationStartMinute;
+        public Map<String, Object> settings = new LinkedHashMap<>();
+        public Map<String, Table> tables = new LinkedHashMap<>();
+    }
+
+    public static class Table {
+        public String file;
+        public int partitionsDone;
+        public long rows;
+        public long bytes;
+        public boolean complete;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.datagenerator;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link RowSink} that prints each row straight to an open {@link CSVPrinter}.
+ */
+public class CsvRowSink implements RowSink {
+
+    private final CSVPrinter csvPrinter;
+    private long rowCount;
+
+    public CsvRowSink(Path file, String[] header) throws IOException {
+        this(Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), header,
+                true);
+    }
+
+    /** Writes UTF-8 to {@code out}, which is closed with this sink. */
+    public CsvRowSink(OutputStream out, String[] header) throws IOException {
+        this(out, header, true);
+    }
+
+    /** As above; {@code writeHeader} is false when appending to a file that already has its header. */
+    public CsvRowSink(OutputStream out, String[] header, boolean writeHeader) throws IOException {
+        // A fresh encoder reports unmappable input, the same as Files.newBufferedWriter.
+        this(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8.newEncoder())), header,
+                writeHeader);
+    }
+
+    private CsvRowSink(BufferedWriter writer, String[] header, boolean writeHeader) throws IOException {
+        this.csvPrinter = new CSVPrinter(writer,
+                CSVFormat.DEFAULT.builder().setHeader(header).setSkipHeaderRecord(!writeHeader).build());
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        csvPrinter.printRecord(row);
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        csvPrinter.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvPrinter.close(true);
+    }
+}
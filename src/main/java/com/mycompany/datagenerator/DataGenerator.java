@@ -1,31 +1,53 @@
 package com.mycompany.datagenerator;
 
-import com.github.javafaker.Faker;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
-import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-public class DataGenerator {
+public class DataGenerator implements AutoCloseable {
 
-    private static final Faker faker = new Faker(new Locale("en-US"));
-    private static final Random random = new Random();
-    private static AppConfig appConfig; // Holds loaded configuration
+    private AppConfig appConfig; // Holds loaded configuration
+    private PartitionRunner partitionRunner; // Seeded per-partition random streams and worker pool
+    private long generationStartMinute; // Fixed "now" (epoch minute) so every partition sees the same clock
+    private Checkpoints checkpoints; // Null unless checkpointing or resuming
+    private SinkOpener sinkOpener = this::openFileSink; // Where each table's rows go
+    private static final String CHECKPOINT_FILE = "generation-checkpoint.json";
+    private boolean fileOutput = true; // False once setSinkOpener sends the tables elsewhere
+
+    // --- Datasets grown by append runs (generation.append; see DatasetManifest) ---
+    private DatasetManifest manifest; // The output folder's batches so far; null in stream mode
+    private DatasetManifest.Batch batch; // What this run adds: its seed, clock and ID ranges
+    private boolean appending;
+    private long datasetSeed; // The first batch's seed; user names and text pools always come from it
+    private int crStatusCursor; // Where the next append run's CR status updates start
+    private final ThreadLocal<CrReplay> crReplays = ThreadLocal.withInitial(CrReplay::new);
+
+    // --- Sharded runs (generation.shardCount > 1): this process renders one slice of every table ---
+    private String shardSuffix = ""; // ".shard-00001-of-00004" on every file name of a sharded run
+    private static final String SHARD_MANIFEST_FILE = "shard-manifest.json";
 
     // --- Configuration (Constants that are not from YAML) ---
-    private static List<String> USER_NAMES; // Populated from config
+    private UserDirectory userNames; // Populated from config
+    private FakerDictionary dictionary; // Name and free-text word lists
+    private final PrintStream log; // Run messages: stdout, except for server requests
     private static final List<String> TEAM_NAMES = List.of("Team Phoenix", "Team Griffin", "Team Hydra", "Marketing",
             "Cross-functional", "Operations");
     private static final List<String> JIRA_TYPES = List.of("Story", "Task", "Bug", "Feature", "Epic", "Project",
@@ -39,82 +61,192 @@ public class DataGenerator {
     private static final List<String> CR_CATEGORIES = List.of("Enhancement", "BugFix", "Security", "Infrastructure",
             "Deployment", "Audit", "Maintenance", "New Feature", "Communication");
     private static final List<String> CR_RISKS = List.of("Low", "Medium", "High");
+    private static final List<String> CR_ENVIRONMENTS = List.of("Production", "Staging", "Development", "N/A");
+    private static final List<String> CR_CONFLICT_STATUSES = List.of("No Conflict", "Conflict Detected", "Resolved");
+    private static final List<String> JIRA_APP_NAMES = List.of("CoreBankingApp_Wallet", "MobileApp_Global",
+            "AdminPortal", "");
     private static final List<String> JIRA_LINK_TYPES = List.of("blocks", "relates to", "duplicates", "sub-task of",
             "cloned by");
+    // output.format json-nested folds an issue's link and watcher rows into arrays of one document.
+    private static final List<NestedJsonRowSink.Child> JIRA_ISSUE_CHILDREN = List.of(
+            new NestedJsonRowSink.Child("links", "JIRA_Linked_Issue_ID_Target", "JIRA_Link_Type"),
+            new NestedJsonRowSink.Child("watchers", "JIRA_Watcher_User"));
     private static final List<String> CONFLUENCE_SPACES = List.of("Project Nova", "Team Phoenix KB",
             "Team Griffin Design", "Team Hydra Compliance", "General Fintech Policies");
+    private static final List<String> CR_MAIN_TEAMS = List.of("Team Phoenix", "Team Griffin", "Team Hydra");
+    private static final List<String> CR_DEPARTMENTS = List.of("Payments", "Mobile Banking", "Security", "Core API",
+            "Marketing");
+    private static final List<String> JIRA_COMPONENTS = List.of("API", "Mobile UI", "Database", "Auth", "Payments",
+            "NFC");
+    private static final List<String> JIRA_LABELS = List.of("performance", "security", "sprint-goal", "ProjectNova",
+            "tech-debt", "ux");
+    private static final List<String> JIRA_SPRINT_STREAMS = List.of("Nova", "General", "Infra");
+    private static final List<String> JIRA_VERSION_SUFFIXES = List.of("-beta", "-RC", "", "-hotfix");
+    private static final List<String> JIRA_STORY_POINTS = List.of("1", "2", "3", "5", "8", "13", "21");
+    private static final List<String> JIRA_TEAMS = TEAM_NAMES.subList(0, Math.min(3, TEAM_NAMES.size()));
+
+    // --- Value distributions: weighted vocabularies, skewed key picks and null rates (see ValueDistributions) ---
+    private ValueDistributions distributions;
+    private static final String POOL_USERS = SchemaCompiler.USERS;
+    private static final String POOL_CRS = "CR_Main";
+    private static final String POOL_JIRAS = "JIRA_Issues";
+    private static final String POOL_CONFLUENCE = "Confluence_Pages";
+    // Columns picked from a fixed vocabulary, which distributions.weights may skew.
+    private static final Map<String, List<String>> WEIGHTABLE_COLUMNS = Map.ofEntries(
+            Map.entry("CR_Main.CR_Team_Assignment_Group", TEAM_NAMES),
+            Map.entry("CR_Main.CR_Impacted_Environment", CR_ENVIRONMENTS),
+            Map.entry("CR_Main.CR_Type", CR_TYPES),
+            Map.entry("CR_Main.CR_Category", CR_CATEGORIES),
+            Map.entry("CR_Main.CR_Risk", CR_RISKS),
+            Map.entry("CR_Main.CR_Conflict_Status", CR_CONFLICT_STATUSES),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Type", JIRA_TYPES),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Priority", JIRA_PRIORITIES),
+            Map.entry("JIRA_Issues_Detailed.JIRA_App_Name", JIRA_APP_NAMES),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Status", JIRA_STATUSES),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Team", JIRA_TEAMS),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Effort_Story_Points", JIRA_STORY_POINTS),
+            Map.entry("JIRA_Issues_Detailed.JIRA_Link_Type", JIRA_LINK_TYPES),
+            Map.entry("Confluence_Pages_Detailed.Confluence_Space", CONFLUENCE_SPACES),
+            Map.entry("Confluence_Pages_Detailed.Confluence_Team_Association", TEAM_NAMES));
+    // Columns that are sometimes left empty, with the rates the generators have always used.
+    private static final Map<String, Double> DEFAULT_NULL_RATES = Map.of(
+            "CR_Main.Linked_Jira_ID", 0.5,
+            "CR_Main.Linked_Confluence_ID", 0.7,
+            "CR_Main.CR_Risk_Percentage", 0.3,
+            "JIRA_Issues_Detailed.JIRA_App_Name", 0.3,
+            "JIRA_Issues_Detailed.JIRA_Confidence", 0.5,
+            "JIRA_Issues_Detailed.JIRA_Effort_Story_Points", 0.2,
+            "JIRA_Issues_Detailed.CR_ID_Link_From_CSV_Example", 0.6,
+            "Confluence_Pages_Detailed.Confluence_Parent_Page_ID", 0.6);
+
+    // --- Tables declared in the schema section of application.yml, compiled by the constructor ---
+    private List<TablePlan> schemaTables = List.of();
+    private static final Set<String> BUILT_IN_FILES = Set.of("CR_Main", "CR_CTasks", "JIRA_Issues_Detailed",
+            "JIRA_Activities", "Confluence_Pages_Detailed");
 
     // --- Data Storage for Linking ---
-    private static final List<String> generatedCrIds = new ArrayList<>();
-    private static final List<String> generatedJiraIdsUnique = new ArrayList<>();
-    private static final List<String> generatedConfluenceIds = new ArrayList<>();
-
-    // --- Date Formatters ---
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-    public static void initializeUserNames(int count) {
-        USER_NAMES = new ArrayList<>();
-        Set<String> uniqueNames = new HashSet<>();
-        if (count <= 0)
-            return; // Avoid issues if count is 0 or negative
-        while (uniqueNames.size() < count) {
-            String firstName = faker.name().firstName();
-            String lastNameInitial = faker.name().lastName();
-            if (lastNameInitial != null && !lastNameInitial.isEmpty()) {
-                lastNameInitial = lastNameInitial.substring(0, 1);
-            } else {
-                lastNameInitial = "X"; // Fallback if last name is empty/null
-            }
-            uniqueNames.add(firstName + "_" + lastNameInitial);
-        }
-        USER_NAMES.addAll(uniqueNames);
+    // IDs are assigned in a sequential pre-pass before a table's partitions are rendered, so rows in
+    // any partition can link to IDs produced by any other partition. Registries only keep each ID's
+    // prefix code and format the ID on lookup.
+    private final IdRegistry generatedCrIds = new IdRegistry("CR-FS-");
+    private final IdRegistry generatedJiraIdsUnique = new IdRegistry("LOG-", "PERF-", "BUG-", "FEAT-",
+            "NOVA-");
+    private static final int JIRA_PREFIX_NOVA = 4;
+    private final IdRegistry generatedConfluenceIds = new IdRegistry("CONF-PN-", "CONF-LOG-", "CONF-SEC-",
+            "CONF-ARCH-", "CONF-KB-");
+
+    // Ascending indices of the Confluence pages that may act as parent pages.
+    private int[] confluenceParentCandidates = new int[0];
+
+    // --- Time-stamped tables, written as files or as a time-ordered event stream ---
+    private static final String[] CR_CTASKS_HEADER = { "CTASK_ID", "CR_ID", "CTASK_Assigned_To_User",
+            "CTASK_Start_Time", "CTASK_End_Time", "CTASK_Description" };
+    private static final String[] JIRA_ACTIVITIES_HEADER = { "Activity_ID", "JIRA_ID", "Activity_Comment",
+            "Activity_Timestamp", "Activity_User" };
+    private static final int ACTIVITY_WINDOW_DAYS = 90;
+    private static final int CTASK_WINDOW_DAYS = 60;
+    private static final Set<String> STREAMABLE_TABLES = Set.of("JIRA_Activities", "CR_CTasks");
+    private static final int CONTINUOUS_EVENTS = (Integer.MAX_VALUE / PartitionRunner.PARTITION_SIZE - 1)
+            * PartitionRunner.PARTITION_SIZE; // Effectively unbounded, without overflowing partition arithmetic
+
+    // --- Scheduler resources: the ID registries each generation step reads or produces ---
+    private static final String CR_IDS = "CR IDs";
+    private static final String JIRA_IDS = "JIRA IDs";
+    private static final String CONFLUENCE_IDS = "Confluence IDs";
+
+    // --- Date Ranges (epoch days, formatted through DateEngine; set from dateRanges by the constructor) ---
+    private long crStartFirstDay;
+    private long crStartLastDay;
+    private long jiraCreatedFirstDay;
+    private long jiraCreatedLastDay;
+    private long confluenceCreatedFirstDay;
+    private long confluenceCreatedLastDay;
+
+    /** Opens the sink a table's rows go to; {@code filename} is the table's CSV file name. */
+    @FunctionalInterface
+    public interface SinkOpener {
+        RowSink open(String stream, String filename, String[] header, Set<String> plainColumns,
+                Map<String, ArrowRowSink.Column> columnTypes) throws IOException;
+    }
+
+    /** Sends every table to {@code sinkOpener} instead of the configured output files. */
+    public void setSinkOpener(SinkOpener sinkOpener) {
+        this.sinkOpener = sinkOpener;
+        this.fileOutput = false;
+    }
+
+    public void initializeUserNames(int count) {
+        // Enumerates First_L names (with numeric suffixes past the plain combinations) in a seeded
+        // permuted order, so any count is reached without collisions or retries.
+        userNames = UserDirectory.generate(datasetContext("User_Names").random, count, dictionary);
     }
 
-    // --- Helper Functions --- (Same as before, slightly adapted for config)
-    private static LocalDate generateRandomLocalDate(LocalDate startDate, LocalDate endDate) {
-        if (startDate.isAfter(endDate)) { // Ensure start is not after end
-            return startDate;
+    // --- ID Registries ---
+    // Each registry is filled by a cheap sequential pass before any table that links to it is rendered.
+    // Append runs first replay the passes of the dataset's earlier batches, each with its own seed, so
+    // the registries hold every ID in the dataset and this run's IDs continue after them.
+    public void registerCrIds(int count) {
+        generatedCrIds.clear();
+        for (int i = 0; i < firstIndex(POOL_CRS) + count; i++) {
+            generatedCrIds.register(0);
         }
-        Date randomUtilDate = faker.date().between(
-                Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant()),
-                Date.from(endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()) // end date inclusive
-        );
-        return randomUtilDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
     }
 
-    private static LocalDateTime generateRandomLocalDateTime(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        if (startDateTime.isAfter(endDateTime)) {
-            return startDateTime;
+    public void registerJiraIds(int count) {
+        generatedJiraIdsUnique.clear();
+        for (DatasetManifest.Batch earlier : earlierBatches()) {
+            registerJiraIds(earlier.seed, earlier.count(POOL_JIRAS));
         }
-        Date randomUtilDate = faker.date().between(
-                Date.from(startDateTime.atZone(ZoneId.systemDefault()).toInstant()),
-                Date.from(endDateTime.atZone(ZoneId.systemDefault()).toInstant()));
-        return randomUtilDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        registerJiraIds(partitionRunner.getMasterSeed(), count);
     }
 
-    private static String generateSemicolonDelimitedList(List<String> sourceList, int maxItems) {
-        if (sourceList == null || sourceList.isEmpty() || maxItems <= 0) {
-            return "";
+    private void registerJiraIds(long seed, int count) {
+        GenerationContext idCtx = partitionRunner.context(new GenerationContext(), seed, "JIRA_Issues.ids", 0);
+        for (int i = 0; i < count; i++) {
+            // One in five issues gets one of the LOG/PERF/BUG/FEAT prefixes, the rest are NOVA.
+            generatedJiraIdsUnique.register(idCtx.random.nextDouble() < 0.2
+                    ? idCtx.random.nextInt(JIRA_PREFIX_NOVA)
+                    : JIRA_PREFIX_NOVA);
         }
-        int numItems = random.nextInt(Math.min(maxItems, sourceList.size()) + 1);
-        if (numItems == 0) {
-            return "";
+    }
+
+    public void registerConfluenceIds(int count) {
+        generatedConfluenceIds.clear();
+        int[] parentCandidates = new int[firstIndex(POOL_CONFLUENCE) + Math.max(0, count)];
+        int parentCandidateCount = 0;
+        for (DatasetManifest.Batch earlier : earlierBatches()) {
+            parentCandidateCount = registerConfluenceIds(earlier.seed, earlier.count(POOL_CONFLUENCE),
+                    parentCandidates, parentCandidateCount);
         }
-        List<String> tempList = new ArrayList<>(sourceList);
-        Collections.shuffle(tempList, random);
-        return tempList.subList(0, numItems).stream().collect(Collectors.joining(";"));
+        parentCandidateCount = registerConfluenceIds(partitionRunner.getMasterSeed(), count, parentCandidates,
+                parentCandidateCount);
+        confluenceParentCandidates = Arrays.copyOf(parentCandidates, parentCandidateCount);
     }
 
-    private static <T> T randomChoice(List<T> list) {
-        if (list == null || list.isEmpty()) {
-            return null;
+    // Returns the number of parent candidates after this batch's pages.
+    private int registerConfluenceIds(long seed, int count, int[] parentCandidates, int parentCandidateCount) {
+        GenerationContext idCtx = partitionRunner.context(new GenerationContext(), seed, "Confluence_Pages.ids", 0);
+        for (int i = 0; i < count; i++) {
+            int index = generatedConfluenceIds.size();
+            generatedConfluenceIds.register(idCtx.random.nextInt(5)); // PN, LOG, SEC, ARCH or KB space code
+            if (idCtx.random.nextDouble() > 0.3) {
+                parentCandidates[parentCandidateCount++] = index;
+            }
         }
-        return list.get(random.nextInt(list.size()));
+        return parentCandidateCount;
     }
 
-    private static void ensureOutputDirectoryExists() {
-        File directory = new File(appConfig.getOutput().getFolderName());
+    // First index this run assigns in an ID sequence: the dataset's high-water mark, 0 for a fresh run.
+    private int firstIndex(String sequence) {
+        return batch != null ? batch.offset(sequence) : 0;
+    }
+
+    private List<DatasetManifest.Batch> earlierBatches() {
+        return appending ? manifest.getBatches() : List.of();
+    }
+
+    private static synchronized void ensureOutputDirectoryExists(String folderName) { // Tables may start concurrently
+        File directory = new File(folderName);
         if (!directory.exists()) {
             if (directory.mkdirs()) {
                 System.out.println("Output directory created: " + directory.getAbsolutePath());
@@ -125,15 +257,16 @@ public class DataGenerator {
     }
 
     // --- CSV Generation Functions ---
-    // (generateCrMainCsv, generateCrCtasksCsv, etc. - use appConfig for row counts)
-    // Example for generateCrMainCsv:
-    public static void generateCrMainCsv(String filename) {
+    // Each generator opens a RowSink up front and hands its entity range to the PartitionRunner, which
+    // renders partitions (possibly in parallel) and pushes their rows into the sink in order.
+    public void generateCrMainCsv(String filename) {
         int numUniqueCrs = appConfig.getGeneration().getUniqueCrs();
-        if (numUniqueCrs <= 0) {
-            System.out.println("Skipping " + filename + " generation as numUniqueCrs is " + numUniqueCrs);
+        int statusUpdates = appending ? Math.min(appConfig.getGeneration().getCrStatusUpdates(), firstIndex(POOL_CRS))
+                : 0;
+        if (numUniqueCrs <= 0 && statusUpdates <= 0) {
+            log.println("Skipping " + filename + " generation as numUniqueCrs is " + numUniqueCrs);
             return;
         }
-        ensureOutputDirectoryExists();
         String[] header = { /* ... same header ... */
                 "CR_ID", "CR_Title", "Linked_Jira_ID", "Linked_Confluence_ID", "CR_State",
                 "CR_Requested_By", "CR_Team_Assignment_Group", "CR_Assigned_To_User",
@@ -143,138 +276,294 @@ public class DataGenerator {
                 "CR_Implementation_Plan_Summary", "CR_Backout_Plan_Summary",
                 "CR_Updated_By_User_From_CSV_Example", "CR_Created_At_From_CSV_Example"
         };
-        List<List<String>> allRows = new ArrayList<>();
-        int crIdCounter = 1;
+        // Columns whose values never need CSV quoting: IDs, dates, numbers and fixed vocabularies.
+        Set<String> plainColumns = Set.of(
+                "CR_ID", "Linked_Jira_ID", "Linked_Confluence_ID", "CR_State", "CR_Team_Assignment_Group",
+                "CR_Impacted_Environment", "CR_Impacted_Departments", "CR_Type", "CR_Category", "CR_Risk",
+                "CR_Risk_Percentage", "CR_Lead_Time_Days", "CR_Conflict_Status", "CR_Start_Date", "CR_End_Date",
+                "CR_Created_At_From_CSV_Example");
+        // Typed columns for Arrow output; anything not listed is text.
+        Map<String, ArrowRowSink.Column> columnTypes = Map.ofEntries(
+                Map.entry("CR_State", ArrowRowSink.Column.category(CR_STATES)),
+                Map.entry("CR_Requested_By", ArrowRowSink.Column.category(userNames)),
+                Map.entry("CR_Team_Assignment_Group", ArrowRowSink.Column.category(TEAM_NAMES)),
+                Map.entry("CR_Assigned_To_User", ArrowRowSink.Column.category(userNames)),
+                Map.entry("CR_Impacted_Environment", ArrowRowSink.Column.category(CR_ENVIRONMENTS)),
+                Map.entry("CR_Type", ArrowRowSink.Column.category(CR_TYPES)),
+                Map.entry("CR_Category", ArrowRowSink.Column.category(CR_CATEGORIES)),
+                Map.entry("CR_Risk", ArrowRowSink.Column.category(CR_RISKS)),
+                Map.entry("CR_Risk_Percentage", ArrowRowSink.Column.integer()),
+                Map.entry("CR_Lead_Time_Days", ArrowRowSink.Column.integer()),
+                Map.entry("CR_Conflict_Status", ArrowRowSink.Column.category(CR_CONFLICT_STATUSES)),
+                Map.entry("CR_Start_Date", ArrowRowSink.Column.date()),
+                Map.entry("CR_End_Date", ArrowRowSink.Column.date()),
+                Map.entry("CR_Updated_By_User_From_CSV_Example", ArrowRowSink.Column.category(userNames)),
+                Map.entry("CR_Created_At_From_CSV_Example", ArrowRowSink.Column.date()));
+
+        int teamQuota = teamQuota(numUniqueCrs);
+        int firstCr = firstIndex(POOL_CRS);
+
+        try (RowSink sink = openSink("CR_Main", filename, header, plainColumns, columnTypes)) {
+            if (statusUpdates > 0) {
+                writeCrStatusUpdates(statusUpdates, sink);
+            }
+            partitionRunner.run("CR_Main", Math.max(0, numUniqueCrs), (ctx, i, out) -> writeCr(ctx, firstCr + i,
+                    teamQuota, generatedJiraIdsUnique, generatedConfluenceIds, out), sink);
+            // Status-update rows, if any, are reported by writeCrStatusUpdates.
+            log.printf("Generated %s with %d data rows (%d unique CRs).%n", filename, sink.getRowCount(),
+                    partitionRunner.shardEntities(numUniqueCrs));
+        } catch (IOException e) {
+            reportWriteError(filename, e);
+        }
+    }
 
-        Map<String, Integer> teamCrCounts = new HashMap<>();
-        List<String> mainTeams = List.of("Team Phoenix", "Team Griffin", "Team Hydra");
-        mainTeams.forEach(team -> teamCrCounts.put(team, 0));
+    // CRs per main team among the first CRs of a batch of numUniqueCrs.
+    private static int teamQuota(int numUniqueCrs) {
+        List<String> mainTeams = CR_MAIN_TEAMS;
         int targetTeamCrs = 7;
         if (numUniqueCrs < mainTeams.size() * targetTeamCrs && !mainTeams.isEmpty()) {
             targetTeamCrs = Math.max(1, numUniqueCrs / mainTeams.size());
         }
+        return targetTeamCrs;
+    }
+
+    // One CR and its rows, linking into jiraIds and confluenceIds: the registries as its batch saw them.
+    private void writeCr(GenerationContext ctx, int crIndex, int teamQuota, List<String> jiraIds,
+            List<String> confluenceIds, RowSink out) throws IOException {
+        // The dataset's first CRs fill each main team's quota in turn; the rest go to a random team.
+        String assignedTeam = crIndex < CR_MAIN_TEAMS.size() * teamQuota ? CR_MAIN_TEAMS.get(crIndex / teamQuota)
+                : distributions.pick(ctx, "CR_Main.CR_Team_Assignment_Group", TEAM_NAMES);
+        writeCrRows(ctx, generatedCrIds.get(crIndex), assignedTeam, jiraIds, confluenceIds, out);
+    }
+
+    private void writeCrRows(GenerationContext ctx, String crIdBase, String assignedTeam, List<String> jiraIds,
+            List<String> confluenceIds, RowSink out) throws IOException {
+        String title = ctx.words(ctx.random.nextInt(3) + 3);
+        title = title.substring(0, 1).toUpperCase() + title.substring(1);
+
+        long overallStartDay = ctx.randomDay(crStartFirstDay, crStartLastDay);
+
+        int numStatusUpdates = ctx.random.nextInt(3) + 1;
+        int currentStateIndex = 0;
+        long lastStatusUpdateDay = overallStartDay;
+
+        for (int j = 0; j < numStatusUpdates; j++) {
+            if (currentStateIndex >= CR_STATES.size())
+                break;
+            String state = CR_STATES.get(currentStateIndex++);
+
+            long createdAtStatusDay = ctx.randomDay(
+                    lastStatusUpdateDay,
+                    lastStatusUpdateDay + ctx.random.nextInt(29) + 1);
+            lastStatusUpdateDay = createdAtStatusDay;
+
+            long crEndDay = ctx.randomDay(
+                    createdAtStatusDay,
+                    createdAtStatusDay + ctx.random.nextInt(55) + 5);
+
+            out.writeRow(crRow(ctx, crIdBase, title, assignedTeam, state, ctx.formatDay(overallStartDay), crEndDay,
+                    createdAtStatusDay, jiraIds, confluenceIds));
+        }
+    }
+
+    // One status row of a CR; everything but its identity, state and dates is drawn afresh.
+    private List<String> crRow(GenerationContext ctx, String crIdBase, String title, String assignedTeam,
+            String state, String startDate, long crEndDay, long createdAtStatusDay, List<String> jiraIds,
+            List<String> confluenceIds) {
+        List<String> row = new ArrayList<>();
+        row.add(crIdBase);
+        row.add(title);
+        row.add(jiraIds.isEmpty() || distributions.isNull(ctx, "CR_Main.Linked_Jira_ID") ? ""
+                : distributions.pickKey(ctx, POOL_JIRAS, jiraIds));
+        row.add(confluenceIds.isEmpty() || distributions.isNull(ctx, "CR_Main.Linked_Confluence_ID") ? ""
+                : distributions.pickKey(ctx, POOL_CONFLUENCE, confluenceIds));
+        row.add(state);
+        row.add(distributions.pickKey(ctx, POOL_USERS, userNames));
+        row.add(assignedTeam);
+        row.add(distributions.pickKey(ctx, POOL_USERS, userNames));
+        row.add(distributions.pick(ctx, "CR_Main.CR_Impacted_Environment", CR_ENVIRONMENTS));
+        row.add(ctx.generateSemicolonDelimitedList(CR_DEPARTMENTS, 3));
+        row.add(distributions.pick(ctx, "CR_Main.CR_Type", CR_TYPES));
+        row.add(distributions.pick(ctx, "CR_Main.CR_Category", CR_CATEGORIES));
+        row.add(distributions.pick(ctx, "CR_Main.CR_Risk", CR_RISKS));
+        row.add(distributions.isNull(ctx, "CR_Main.CR_Risk_Percentage") ? "" : String.valueOf(ctx.random.nextInt(101)));
+        row.add(String.valueOf(ctx.random.nextInt(90) + 1));
+        row.add(distributions.pick(ctx, "CR_Main.CR_Conflict_Status", CR_CONFLICT_STATUSES));
+        row.add(ctx.bs() + " " + ctx.bs());
+        row.add(startDate);
+        row.add(ctx.formatDay(crEndDay));
+        row.add(ctx.random.nextDouble() > 0.5 ? "Details in Confluence" : ctx.words(6));
+        row.add(ctx.random.nextDouble() > 0.5 ? "Standard rollback" : ctx.words(5));
+        row.add(distributions.pickKey(ctx, POOL_USERS, userNames));
+        row.add(ctx.formatDay(createdAtStatusDay));
+        return row;
+    }
+
+    // --- CR status updates (append runs) ---
+    // The next `count` existing CRs from the manifest's cursor, wrapping round, each move on one state
+    // unless already Closed. An update repeats its CR's title, team and start date, which only exist in
+    // the random stream of the batch that created it, so the CR is re-rendered from that batch's seed
+    // (see CrReplay) instead of read back from the files.
+    private void writeCrStatusUpdates(int count, RowSink sink) throws IOException {
+        int existingCrs = firstIndex(POOL_CRS);
+        int cursor = manifest.getCrStatusCursor() % existingCrs;
+        long today = generationDay();
+        long rowsBefore = sink.getRowCount();
+        partitionRunner.run("CR_Main.status", count, (ctx, k, out) -> {
+            int crIndex = (cursor + k) % existingCrs;
+            List<String> lastRow = crReplays.get().lastRow(crIndex);
+            int stateIndex = Math.min(CR_STATES.indexOf(lastRow.get(4)) + earlierStatusUpdates(crIndex),
+                    CR_STATES.size() - 1) + 1;
+            if (stateIndex >= CR_STATES.size()) {
+                return; // Already closed
+            }
+            long createdAtStatusDay = Math.max(today, LocalDate.parse(lastRow.get(22)).toEpochDay() + 1);
+            long crEndDay = ctx.randomDay(createdAtStatusDay, createdAtStatusDay + ctx.random.nextInt(55) + 5);
+            out.writeRow(crRow(ctx, lastRow.get(0), lastRow.get(1), lastRow.get(6), CR_STATES.get(stateIndex),
+                    lastRow.get(17), crEndDay, createdAtStatusDay, generatedJiraIdsUnique, generatedConfluenceIds));
+        }, sink);
+        int end = cursor + count;
+        batch.crStatusUpdates.add(new int[] { cursor, Math.min(end, existingCrs) });
+        if (end > existingCrs) {
+            batch.crStatusUpdates.add(new int[] { 0, end - existingCrs });
+        }
+        crStatusCursor = end % existingCrs;
+        log.printf("Moved %d existing CRs on to their next state (%d checked from %s; closed ones stay closed).%n",
+                sink.getRowCount() - rowsBefore, count, generatedCrIds.get(cursor));
+    }
 
-        for (int i = 0; i < numUniqueCrs; i++) {
-            String crIdBase = String.format("CR-FS-%03d", crIdCounter++);
-            generatedCrIds.add(crIdBase);
+    // States a CR has moved on through in earlier append runs.
+    private int earlierStatusUpdates(int crIndex) {
+        int updates = 0;
+        for (DatasetManifest.Batch earlier : manifest.getBatches()) {
+            for (int[] range : earlier.crStatusUpdates) {
+                if (crIndex >= range[0] && crIndex < range[1]) {
+                    updates++;
+                }
+            }
+        }
+        return updates;
+    }
 
-            String title = String.join(" ", faker.lorem().words(random.nextInt(3) + 3));
-            title = title.substring(0, 1).toUpperCase() + title.substring(1);
+    /**
+     * Re-renders CRs of earlier batches on one thread and keeps the last row of the latest one.
+     * Consecutive CRs continue from where the previous one stopped, so replaying a run of CRs costs
+     * one partial partition per batch partition it crosses.
+     */
+    private final class CrReplay implements RowSink {
+        private final GenerationContext ctx = new GenerationContext();
+        private DatasetManifest.Batch owner;
+        private int partition;
+        private int next; // CR the context is positioned at
+        private List<String> lastRow;
 
-            String assignedTeam = null;
-            for (String team : mainTeams) {
-                if (teamCrCounts.get(team) < targetTeamCrs) {
-                    assignedTeam = team;
-                    teamCrCounts.put(team, teamCrCounts.get(team) + 1);
-                    break;
+        List<String> lastRow(int crIndex) throws IOException {
+            if (owner == null || crIndex < owner.offset(POOL_CRS)
+                    || crIndex >= owner.offset(POOL_CRS) + owner.count(POOL_CRS)) {
+                owner = null;
+                for (DatasetManifest.Batch earlier : manifest.getBatches()) {
+                    if (crIndex >= earlier.offset(POOL_CRS) && crIndex < earlier.offset(POOL_CRS) + earlier.count(POOL_CRS)) {
+                        owner = earlier;
+                    }
                 }
+                next = Integer.MAX_VALUE; // Force a reseed
+            }
+            int firstCr = owner.offset(POOL_CRS);
+            int crPartition = (crIndex - firstCr) / PartitionRunner.PARTITION_SIZE;
+            if (crPartition != partition || crIndex < next) {
+                partitionRunner.context(ctx, owner.seed, "CR_Main", crPartition);
+                partition = crPartition;
+                next = firstCr + crPartition * PartitionRunner.PARTITION_SIZE;
             }
-            if (assignedTeam == null) {
-                assignedTeam = randomChoice(TEAM_NAMES);
-            }
-
-            LocalDate overallStartDate = generateRandomLocalDate(
-                    LocalDate.of(2023, 1, 1),
-                    LocalDate.of(2024, 3, 1));
-
-            int numStatusUpdates = random.nextInt(3) + 1;
-            int currentStateIndex = 0;
-            LocalDate lastStatusUpdateDate = overallStartDate;
-
-            for (int j = 0; j < numStatusUpdates; j++) {
-                if (currentStateIndex >= CR_STATES.size())
-                    break;
-                String state = CR_STATES.get(currentStateIndex++);
-
-                LocalDate createdAtStatus = generateRandomLocalDate(
-                        lastStatusUpdateDate,
-                        lastStatusUpdateDate.plusDays(random.nextInt(29) + 1));
-                lastStatusUpdateDate = createdAtStatus;
-
-                LocalDate crEndDate = generateRandomLocalDate(
-                        createdAtStatus,
-                        createdAtStatus.plusDays(random.nextInt(55) + 5));
-
-                List<String> row = new ArrayList<>();
-                row.add(crIdBase);
-                row.add(title);
-                row.add(generatedJiraIdsUnique.isEmpty() || random.nextDouble() <= 0.5 ? ""
-                        : randomChoice(generatedJiraIdsUnique));
-                row.add(generatedConfluenceIds.isEmpty() || random.nextDouble() <= 0.7 ? ""
-                        : randomChoice(generatedConfluenceIds));
-                row.add(state);
-                row.add(randomChoice(USER_NAMES));
-                row.add(assignedTeam);
-                row.add(randomChoice(USER_NAMES));
-                row.add(randomChoice(List.of("Production", "Staging", "Development", "N/A")));
-                row.add(generateSemicolonDelimitedList(
-                        List.of("Payments", "Mobile Banking", "Security", "Core API", "Marketing"), 3));
-                row.add(randomChoice(CR_TYPES));
-                row.add(randomChoice(CR_CATEGORIES));
-                row.add(randomChoice(CR_RISKS));
-                row.add(random.nextDouble() > 0.3 ? String.valueOf(random.nextInt(101)) : "");
-                row.add(String.valueOf(random.nextInt(90) + 1));
-                row.add(randomChoice(List.of("No Conflict", "Conflict Detected", "Resolved")));
-                row.add(faker.company().bs() + " " + faker.company().bs());
-                row.add(overallStartDate.format(DATE_FORMATTER));
-                row.add(crEndDate.format(DATE_FORMATTER));
-                row.add(random.nextDouble() > 0.5 ? "Details in Confluence" : String.join(" ", faker.lorem().words(6)));
-                row.add(random.nextDouble() > 0.5 ? "Standard rollback" : String.join(" ", faker.lorem().words(5)));
-                row.add(randomChoice(USER_NAMES));
-                row.add(createdAtStatus.format(DATE_FORMATTER));
-                allRows.add(row);
-            }
-        }
-        writeCsv(Paths.get(appConfig.getOutput().getFolderName(), filename).toString(), header, allRows);
-        System.out.printf("Generated %s with %d data rows (%d unique CRs, %d total rows due to status updates).%n",
-                filename, allRows.size(), numUniqueCrs);
-    }
-
-    public static void generateCrCtasksCsv(String filename) {
+            // The registries as the owner's run saw them; pools only ever grow at the end.
+            List<String> jiraIds = generatedJiraIdsUnique.subList(0,
+                    owner.offset(POOL_JIRAS) + owner.count(POOL_JIRAS));
+            List<String> confluenceIds = generatedConfluenceIds.subList(0,
+                    owner.offset(POOL_CONFLUENCE) + owner.count(POOL_CONFLUENCE));
+            int teamQuota = teamQuota(owner.count(POOL_CRS));
+            while (next <= crIndex) {
+                writeCr(ctx, next++, teamQuota, jiraIds, confluenceIds, this);
+            }
+            return lastRow;
+        }
+
+        @Override
+        public void writeRow(List<String> row) {
+            lastRow = row;
+        }
+
+        @Override
+        public long getRowCount() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public void generateCrCtasksCsv(String filename) {
         int numRows = appConfig.getGeneration().getCrCtasks();
         if (numRows <= 0) {
-            System.out.println("Skipping " + filename + " generation as numRows is " + numRows);
+            log.println("Skipping " + filename + " generation as numRows is " + numRows);
             return;
         }
-        ensureOutputDirectoryExists();
-        String[] header = { /* ... same header ... */
-                "CTASK_ID", "CR_ID", "CTASK_Assigned_To_User", "CTASK_Start_Time",
-                "CTASK_End_Time", "CTASK_Description"
-        };
-        List<List<String>> rows = new ArrayList<>();
+        String[] header = CR_CTASKS_HEADER;
+        // Columns whose values never need CSV quoting: IDs, dates, numbers and fixed vocabularies.
+        Set<String> plainColumns = Set.of(
+                "CTASK_ID", "CR_ID", "CTASK_Start_Time", "CTASK_End_Time");
+        // Typed columns for Arrow output; anything not listed is text.
+        Map<String, ArrowRowSink.Column> columnTypes = Map.of(
+                "CTASK_Assigned_To_User", ArrowRowSink.Column.category(userNames),
+                "CTASK_Start_Time", ArrowRowSink.Column.timestamp(),
+                "CTASK_End_Time", ArrowRowSink.Column.timestamp());
         if (generatedCrIds.isEmpty()) {
-            System.out.println("Cannot generate CR_CTasks.csv: No CR_IDs available.");
+            log.println("Cannot generate CR_CTasks.csv: No CR_IDs available.");
             return;
         }
-        if (USER_NAMES == null || USER_NAMES.isEmpty()) {
-            System.out.println(
+        if (userNames == null || userNames.isEmpty()) {
+            log.println(
                     "Cannot generate CR_CTasks.csv: USER_NAMES list is empty. Check userNamesCount in config.");
             return;
         }
 
-        for (int i = 0; i < numRows; i++) {
-            LocalDateTime startTime = LocalDateTime.now().minusDays(random.nextInt(60)).minusHours(random.nextInt(24));
-            LocalDateTime endTime = startTime.plusHours(random.nextInt(46) + 2);
-
-            rows.add(List.of(
-                    String.format("CTASK%03d", i + 1),
-                    randomChoice(generatedCrIds),
-                    randomChoice(USER_NAMES),
-                    startTime.format(DATETIME_FORMATTER),
-                    endTime.format(DATETIME_FORMATTER),
-                    faker.company().catchPhrase()));
+        int firstCtask = firstIndex("CR_CTasks");
+        try (RowSink sink = openSink("CR_CTasks", filename, header, plainColumns, columnTypes)) {
+            partitionRunner.run("CR_CTasks", numRows, (ctx, i, out) -> {
+                long startMinute = generationStartMinute - ctx.random.nextInt(CTASK_WINDOW_DAYS) * (long) DateEngine.MINUTES_PER_DAY
+                        - ctx.random.nextInt(24) * 60L;
+                writeCtaskRow(ctx, firstCtask + i, startMinute, out);
+            }, sink);
+            log.printf("Generated %s with %d data rows.%n", filename, sink.getRowCount());
+        } catch (IOException e) {
+            reportWriteError(filename, e);
         }
-        writeCsv(Paths.get(appConfig.getOutput().getFolderName(), filename).toString(), header, rows);
-        System.out.printf("Generated %s with %d data rows.%n", filename, rows.size());
     }
 
-    public static void generateJiraIssuesDetailedCsv(String filename) {
+    private static String ctaskId(int index) {
+        return String.format("CTASK%03d", index + 1);
+    }
+
+    // Everything after the start time, shared with the event stream.
+    private void writeCtaskRow(GenerationContext ctx, int index, long startMinute, RowSink out)
+            throws IOException {
+        long endMinute = startMinute + (ctx.random.nextInt(46) + 2) * 60L;
+
+        out.writeRow(List.of(
+                ctaskId(index),
+                distributions.pickKey(ctx, POOL_CRS, generatedCrIds),
+                distributions.pickKey(ctx, POOL_USERS, userNames),
+                ctx.formatMinute(startMinute),
+                ctx.formatMinute(endMinute),
+                ctx.catchPhrase()));
+    }
+
+    public void generateJiraIssuesDetailedCsv(String filename) {
         int numUniqueIssues = appConfig.getGeneration().getUniqueJiras();
         if (numUniqueIssues <= 0) {
-            System.out.println("Skipping " + filename + " generation as numUniqueIssues is " + numUniqueIssues);
+            log.println("Skipping " + filename + " generation as numUniqueIssues is " + numUniqueIssues);
             return;
         }
-        ensureOutputDirectoryExists();
         String[] header = { /* ... same header ... */
                 "JIRA_ID", "JIRA_Type", "JIRA_Priority", "JIRA_Components", "JIRA_Labels",
                 "JIRA_Sprint", "JIRA_App_Name", "JIRA_Reporter", "JIRA_Assignee",
@@ -283,234 +572,1129 @@ public class DataGenerator {
                 "JIRA_Created_Date", "JIRA_Updated_Date", "JIRA_Effort_Story_Points",
                 "CR_ID_Link_From_CSV_Example", "JIRA_Linked_Issue_ID_Target", "JIRA_Link_Type", "JIRA_Watcher_User"
         };
-        List<List<String>> allJiraRows = new ArrayList<>();
-        int jiraIdCounter = 1;
-        generatedJiraIdsUnique.clear(); // Clear before regenerating
-
-        if (USER_NAMES == null || USER_NAMES.isEmpty()) {
-            System.out.println(
+        // Columns whose values never need CSV quoting: IDs, dates, numbers and fixed vocabularies.
+        Set<String> plainColumns = Set.of(
+                "JIRA_ID", "JIRA_Type", "JIRA_Priority", "JIRA_Components", "JIRA_Labels", "JIRA_Sprint",
+                "JIRA_App_Name", "JIRA_Start_Date", "JIRA_End_Date", "JIRA_Status", "JIRA_Release_Fix_Version",
+                "JIRA_Team", "JIRA_Confidence", "JIRA_Created_Date", "JIRA_Updated_Date", "JIRA_Effort_Story_Points",
+                "CR_ID_Link_From_CSV_Example", "JIRA_Linked_Issue_ID_Target", "JIRA_Link_Type");
+        // Typed columns for Arrow output; anything not listed is text.
+        Map<String, ArrowRowSink.Column> columnTypes = Map.ofEntries(
+                Map.entry("JIRA_Type", ArrowRowSink.Column.category(JIRA_TYPES)),
+                Map.entry("JIRA_Priority", ArrowRowSink.Column.category(JIRA_PRIORITIES)),
+                Map.entry("JIRA_App_Name", ArrowRowSink.Column.category(JIRA_APP_NAMES)),
+                Map.entry("JIRA_Reporter", ArrowRowSink.Column.category(userNames)),
+                Map.entry("JIRA_Assignee", ArrowRowSink.Column.category(userNames)),
+                Map.entry("JIRA_Start_Date", ArrowRowSink.Column.date()),
+                Map.entry("JIRA_End_Date", ArrowRowSink.Column.date()),
+                Map.entry("JIRA_Status", ArrowRowSink.Column.category(JIRA_STATUSES)),
+                Map.entry("JIRA_Team", ArrowRowSink.Column.category(TEAM_NAMES)),
+                Map.entry("JIRA_Confidence", ArrowRowSink.Column.integer()),
+                Map.entry("JIRA_Created_Date", ArrowRowSink.Column.date()),
+                Map.entry("JIRA_Updated_Date", ArrowRowSink.Column.date()),
+                Map.entry("JIRA_Effort_Story_Points", ArrowRowSink.Column.integer()),
+                Map.entry("JIRA_Link_Type", ArrowRowSink.Column.category(JIRA_LINK_TYPES)),
+                Map.entry("JIRA_Watcher_User", ArrowRowSink.Column.category(userNames)));
+        if (userNames == null || userNames.isEmpty()) {
+            log.println(
                     "Cannot generate JIRA_Issues_Detailed.csv: USER_NAMES list is empty. Check userNamesCount in config.");
             return;
         }
 
-        for (int i = 0; i < numUniqueIssues; i++) {
-            String jiraIdBase;
-            String prefix = random.nextDouble() < 0.2 ? randomChoice(List.of("LOG", "PERF", "BUG", "FEAT")) : "NOVA";
-            jiraIdBase = String.format("%s-%03d", prefix, jiraIdCounter++);
-            generatedJiraIdsUnique.add(jiraIdBase);
-
-            LocalDate createdDate = generateRandomLocalDate(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 4, 1));
-            LocalDate startDate = generateRandomLocalDate(createdDate, createdDate.plusDays(10));
-            LocalDate endDate = generateRandomLocalDate(startDate, startDate.plusDays(random.nextInt(55) + 5));
-            LocalDate updatedDate = generateRandomLocalDate(createdDate,
-                    endDate.isBefore(LocalDate.now()) ? endDate : LocalDate.now().minusDays(1));
-            if (updatedDate.isBefore(createdDate))
-                updatedDate = createdDate;
-
-            List<String> baseJiraData = new ArrayList<>(List.of(
-                    jiraIdBase, randomChoice(JIRA_TYPES), randomChoice(JIRA_PRIORITIES),
-                    generateSemicolonDelimitedList(List.of("API", "Mobile UI", "Database", "Auth", "Payments", "NFC"),
-                            3),
-                    generateSemicolonDelimitedList(
-                            List.of("performance", "security", "sprint-goal", "ProjectNova", "tech-debt", "ux"), 3),
-                    String.format("Sprint %d - %s", random.nextInt(5) + 1,
-                            randomChoice(List.of("Nova", "General", "Infra"))),
-                    random.nextDouble() > 0.3
-                            ? randomChoice(List.of("CoreBankingApp_Wallet", "MobileApp_Global", "AdminPortal", ""))
-                            : "",
-                    randomChoice(USER_NAMES), randomChoice(USER_NAMES),
-                    startDate.format(DATE_FORMATTER), endDate.format(DATE_FORMATTER),
-                    randomChoice(JIRA_STATUSES),
-                    (faker.company().bs().substring(0, 1).toUpperCase() + faker.company().bs().substring(1)).trim(),
-                    String.join(" ", faker.lorem().sentences(1)),
-                    String.format("v%d.%d.%d%s", random.nextInt(3), random.nextInt(9) + 1, random.nextInt(6),
-                            randomChoice(List.of("-beta", "-RC", "", "-hotfix"))),
-                    randomChoice(TEAM_NAMES.subList(0, Math.min(3, TEAM_NAMES.size()))),
-                    random.nextDouble() > 0.5 ? String.valueOf(random.nextInt(51) + 50) : "",
-                    createdDate.format(DATE_FORMATTER), updatedDate.format(DATE_FORMATTER),
-                    random.nextDouble() > 0.2 ? String.valueOf(randomChoice(List.of(1, 2, 3, 5, 8, 13, 21))) : "",
-                    generatedCrIds.isEmpty() || random.nextDouble() <= 0.6 ? "" : randomChoice(generatedCrIds)));
-
-            List<String> baseRowWithEmptyLinks = new ArrayList<>(baseJiraData);
-            baseRowWithEmptyLinks.add("");
-            baseRowWithEmptyLinks.add("");
-            baseRowWithEmptyLinks.add("");
-            allJiraRows.add(baseRowWithEmptyLinks);
-
-            int numLinks = random.nextInt(3);
-            if (numLinks > 0 && generatedJiraIdsUnique.size() > 1) {
-                List<String> potentialTargets = new ArrayList<>(generatedJiraIdsUnique);
-                potentialTargets.remove(jiraIdBase);
-                Collections.shuffle(potentialTargets);
-                for (int l = 0; l < Math.min(numLinks, potentialTargets.size()); l++) {
-                    List<String> linkRow = new ArrayList<>(baseJiraData);
-                    linkRow.add(potentialTargets.get(l));
-                    linkRow.add(randomChoice(JIRA_LINK_TYPES));
-                    linkRow.add("");
-                    allJiraRows.add(linkRow);
-                }
+        int firstIssue = firstIndex(POOL_JIRAS);
+        try (RowSink sink = openSink("JIRA_Issues", filename, header, plainColumns, columnTypes)) {
+            partitionRunner.run("JIRA_Issues", numUniqueIssues,
+                    (ctx, i, out) -> writeJiraIssueRows(ctx, firstIssue + i, out), sink);
+            log.printf("Generated %s with %d data rows (%d unique JIRA issues).%n", filename,
+                    sink.getRowCount(), partitionRunner.shardEntities(numUniqueIssues));
+        } catch (IOException e) {
+            reportWriteError(filename, e);
+        }
+    }
+
+    private void writeJiraIssueRows(GenerationContext ctx, int issueIndex, RowSink out) throws IOException {
+        String jiraIdBase = generatedJiraIdsUnique.get(issueIndex);
+        long today = generationDay();
+
+        long createdDay = ctx.randomDay(jiraCreatedFirstDay, jiraCreatedLastDay);
+        long startDay = ctx.randomDay(createdDay, createdDay + 10);
+        long endDay = ctx.randomDay(startDay, startDay + ctx.random.nextInt(55) + 5);
+        long updatedDay = ctx.randomDay(createdDay, endDay < today ? endDay : today - 1);
+        if (updatedDay < createdDay)
+            updatedDay = createdDay;
+
+        List<String> baseJiraData = new ArrayList<>(List.of(
+                jiraIdBase, distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Type", JIRA_TYPES),
+                distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Priority", JIRA_PRIORITIES),
+                ctx.generateSemicolonDelimitedList(JIRA_COMPONENTS, 3),
+                ctx.generateSemicolonDelimitedList(JIRA_LABELS, 3),
+                String.format("Sprint %d - %s", ctx.random.nextInt(5) + 1,
+                        ctx.randomChoice(JIRA_SPRINT_STREAMS)),
+                distributions.isNull(ctx, "JIRA_Issues_Detailed.JIRA_App_Name") ? ""
+                        : distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_App_Name", JIRA_APP_NAMES),
+                distributions.pickKey(ctx, POOL_USERS, userNames), distributions.pickKey(ctx, POOL_USERS, userNames),
+                ctx.formatDay(startDay), ctx.formatDay(endDay),
+                distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Status", JIRA_STATUSES),
+                (ctx.bs().substring(0, 1).toUpperCase() + ctx.bs().substring(1)).trim(),
+                ctx.sentences(1),
+                String.format("v%d.%d.%d%s", ctx.random.nextInt(3), ctx.random.nextInt(9) + 1, ctx.random.nextInt(6),
+                        ctx.randomChoice(JIRA_VERSION_SUFFIXES)),
+                distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Team", JIRA_TEAMS),
+                distributions.isNull(ctx, "JIRA_Issues_Detailed.JIRA_Confidence") ? "" : String.valueOf(ctx.random.nextInt(51) + 50),
+                ctx.formatDay(createdDay), ctx.formatDay(updatedDay),
+                distributions.isNull(ctx, "JIRA_Issues_Detailed.JIRA_Effort_Story_Points") ? ""
+                        : distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Effort_Story_Points", JIRA_STORY_POINTS),
+                generatedCrIds.isEmpty() || distributions.isNull(ctx, "JIRA_Issues_Detailed.CR_ID_Link_From_CSV_Example") ? ""
+                        : distributions.pickKey(ctx, POOL_CRS, generatedCrIds)));
+
+        out.writeRow(new IssueRow(baseJiraData, "", "", ""));
+
+        // Link targets are the issues generated before this one, earlier batches included.
+        int numLinks = ctx.random.nextInt(3);
+        if (numLinks > 0 && issueIndex > 0) {
+            for (int targetIndex : LinkSampler.sampleDistinct(ctx.random, issueIndex, numLinks)) {
+                out.writeRow(new IssueRow(baseJiraData, generatedJiraIdsUnique.get(targetIndex),
+                        distributions.pick(ctx, "JIRA_Issues_Detailed.JIRA_Link_Type", JIRA_LINK_TYPES), ""));
             }
+        }
 
-            int numWatchers = random.nextInt(4);
-            if (numWatchers > 0) {
-                for (int w = 0; w < numWatchers; w++) {
-                    List<String> watcherRow = new ArrayList<>(baseJiraData);
-                    watcherRow.add("");
-                    watcherRow.add("");
-                    watcherRow.add(randomChoice(USER_NAMES));
-                    allJiraRows.add(watcherRow);
-                }
+        int numWatchers = ctx.random.nextInt(4);
+        if (numWatchers > 0) {
+            for (int w = 0; w < numWatchers; w++) {
+                out.writeRow(new IssueRow(baseJiraData, "", "", distributions.pickKey(ctx, POOL_USERS, userNames)));
+            }
+        }
+    }
+
+    // One JIRA_Issues_Detailed row: the issue's fields, shared by all of its rows rather than copied into
+    // each, followed by the link target, link type and watcher columns.
+    private static final class IssueRow extends AbstractList<String> implements RandomAccess {
+        private final List<String> issue;
+        private final String linkTarget;
+        private final String linkType;
+        private final String watcher;
+
+        IssueRow(List<String> issue, String linkTarget, String linkType, String watcher) {
+            this.issue = issue;
+            this.linkTarget = linkTarget;
+            this.linkType = linkType;
+            this.watcher = watcher;
+        }
+
+        @Override
+        public String get(int index) {
+            int issueFields = issue.size();
+            if (index < issueFields) {
+                return issue.get(index);
+            }
+            switch (index - issueFields) {
+                case 0:
+                    return linkTarget;
+                case 1:
+                    return linkType;
+                case 2:
+                    return watcher;
+                default:
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
             }
         }
-        writeCsv(Paths.get(appConfig.getOutput().getFolderName(), filename).toString(), header, allJiraRows);
-        System.out.printf("Generated %s with %d data rows (%d unique JIRA issues).%n", filename, allJiraRows.size(),
-                numUniqueIssues);
+
+        @Override
+        public int size() {
+            return issue.size() + 3;
+        }
     }
 
-    public static void generateJiraActivitiesCsv(String filename) {
+    public void generateJiraActivitiesCsv(String filename) {
         int numRows = appConfig.getGeneration().getJiraActivities();
         if (numRows <= 0) {
-            System.out.println("Skipping " + filename + " generation as numRows is " + numRows);
+            log.println("Skipping " + filename + " generation as numRows is " + numRows);
             return;
         }
-        ensureOutputDirectoryExists();
-        String[] header = { /* ... same header ... */
-                "Activity_ID", "JIRA_ID", "Activity_Comment", "Activity_Timestamp", "Activity_User"
-        };
-        List<List<String>> rows = new ArrayList<>();
+        String[] header = JIRA_ACTIVITIES_HEADER;
+        // Columns whose values never need CSV quoting: IDs, dates, numbers and fixed vocabularies.
+        Set<String> plainColumns = Set.of(
+                "Activity_ID", "JIRA_ID", "Activity_Timestamp");
+        // Typed columns for Arrow output; anything not listed is text.
+        Map<String, ArrowRowSink.Column> columnTypes = Map.of(
+                "Activity_Timestamp", ArrowRowSink.Column.timestamp(),
+                "Activity_User", ArrowRowSink.Column.category(userNames));
         if (generatedJiraIdsUnique.isEmpty()) {
-            System.out.println("Cannot generate JIRA_Activities.csv: No JIRA_IDs available.");
+            log.println("Cannot generate JIRA_Activities.csv: No JIRA_IDs available.");
             return;
         }
-        if (USER_NAMES == null || USER_NAMES.isEmpty()) {
-            System.out.println(
+        if (userNames == null || userNames.isEmpty()) {
+            log.println(
                     "Cannot generate JIRA_Activities.csv: USER_NAMES list is empty. Check userNamesCount in config.");
             return;
         }
 
-        for (int i = 0; i < numRows; i++) {
-            Date activityTimeUtil = faker.date().past(90, TimeUnit.DAYS);
-            LocalDateTime activityTime = activityTimeUtil.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        long windowStartMinute = generationStartMinute - ACTIVITY_WINDOW_DAYS * (long) DateEngine.MINUTES_PER_DAY;
+        int firstActivity = firstIndex("JIRA_Activities");
+        try (RowSink sink = openSink("JIRA_Activities", filename, header, plainColumns, columnTypes)) {
+            partitionRunner.run("JIRA_Activities", numRows, (ctx, i, out) -> writeActivityRow(ctx, firstActivity + i,
+                    ctx.randomMinute(windowStartMinute, generationStartMinute), out), sink);
+            log.printf("Generated %s with %d data rows.%n", filename, sink.getRowCount());
+        } catch (IOException e) {
+            reportWriteError(filename, e);
+        }
+    }
 
-            rows.add(List.of(
-                    String.format("ACT%03d", i + 1),
-                    randomChoice(generatedJiraIdsUnique),
-                    randomChoice(List.of(
-                            String.join(" ", faker.lorem().words(7)),
-                            "Status changed to " + randomChoice(JIRA_STATUSES),
-                            "Comment added.")),
-                    activityTime.format(DATETIME_FORMATTER),
-                    randomChoice(USER_NAMES)));
+    private static String activityId(int index) {
+        return String.format("ACT%03d", index + 1);
+    }
+
+    // Everything after the timestamp, shared with the event stream.
+    private void writeActivityRow(GenerationContext ctx, int index, long activityMinute, RowSink out)
+            throws IOException {
+        String jiraId = distributions.pickKey(ctx, POOL_JIRAS, generatedJiraIdsUnique);
+        // All three candidate comments draw from the random stream before one is picked.
+        String words = ctx.words(7);
+        String status = ctx.randomChoice(JIRA_STATUSES);
+        String comment;
+        switch (ctx.random.nextInt(3)) {
+            case 0:
+                comment = words;
+                break;
+            case 1:
+                comment = "Status changed to " + status;
+                break;
+            default:
+                comment = "Comment added.";
         }
-        writeCsv(Paths.get(appConfig.getOutput().getFolderName(), filename).toString(), header, rows);
-        System.out.printf("Generated %s with %d data rows.%n", filename, rows.size());
+
+        out.writeRow(List.of(
+                activityId(index),
+                jiraId,
+                comment,
+                ctx.formatMinute(activityMinute),
+                distributions.pickKey(ctx, POOL_USERS, userNames)));
     }
 
-    public static void generateConfluencePagesDetailedCsv(String filename) {
+    public void generateConfluencePagesDetailedCsv(String filename) {
         int numRows = appConfig.getGeneration().getConfluencePages();
         if (numRows <= 0) {
-            System.out.println("Skipping " + filename + " generation as numRows is " + numRows);
+            log.println("Skipping " + filename + " generation as numRows is " + numRows);
             return;
         }
-        ensureOutputDirectoryExists();
         String[] header = { /* ... same header ... */
                 "Confluence_ID", "Confluence_Title", "Confluence_Owner_Member", "Confluence_Last_Edited_By",
                 "Confluence_Space", "Confluence_Team_Association", "Confluence_Content_Summary",
                 "Confluence_Linked_Jira_ID", "Confluence_Linked_CR_ID", "Confluence_Parent_Page_ID",
                 "Confluence_Created_Date", "Confluence_Last_Modified_Date"
         };
-        List<List<String>> rows = new ArrayList<>();
-        List<String> potentialParentPageIds = new ArrayList<>();
-        generatedConfluenceIds.clear(); // Clear before regenerating
-
-        if (USER_NAMES == null || USER_NAMES.isEmpty()) {
-            System.out.println(
+        // Columns whose values never need CSV quoting: IDs, dates, numbers and fixed vocabularies.
+        Set<String> plainColumns = Set.of(
+                "Confluence_ID", "Confluence_Space", "Confluence_Team_Association", "Confluence_Linked_Jira_ID",
+                "Confluence_Linked_CR_ID", "Confluence_Parent_Page_ID", "Confluence_Created_Date",
+                "Confluence_Last_Modified_Date");
+        // Typed columns for Arrow output; anything not listed is text.
+        Map<String, ArrowRowSink.Column> columnTypes = Map.of(
+                "Confluence_Owner_Member", ArrowRowSink.Column.category(userNames),
+                "Confluence_Last_Edited_By", ArrowRowSink.Column.category(userNames),
+                "Confluence_Space", ArrowRowSink.Column.category(CONFLUENCE_SPACES),
+                "Confluence_Team_Association", ArrowRowSink.Column.category(TEAM_NAMES),
+                "Confluence_Created_Date", ArrowRowSink.Column.date(),
+                "Confluence_Last_Modified_Date", ArrowRowSink.Column.date());
+        if (userNames == null || userNames.isEmpty()) {
+            log.println(
                     "Cannot generate Confluence_Pages_Detailed.csv: USER_NAMES list is empty. Check userNamesCount in config.");
             return;
         }
 
-        for (int i = 0; i < numRows; i++) {
-            String confId = String.format("CONF-%s-%03d", randomChoice(List.of("PN", "LOG", "SEC", "ARCH", "KB")),
-                    i + 1);
-            generatedConfluenceIds.add(confId);
-            if (random.nextDouble() > 0.3) {
-                potentialParentPageIds.add(confId);
+        int[] potentialParentIndices = confluenceParentCandidates;
+        long today = generationDay();
+        int firstPage = firstIndex(POOL_CONFLUENCE);
+        try (RowSink sink = openSink("Confluence_Pages", filename, header, plainColumns, columnTypes)) {
+            partitionRunner.run("Confluence_Pages", numRows, (ctx, page, out) -> {
+                int i = firstPage + page;
+                String confId = generatedConfluenceIds.get(i);
+
+                long createdDay = ctx.randomDay(confluenceCreatedFirstDay, confluenceCreatedLastDay);
+                long modifiedDay = ctx.randomDay(createdDay, today);
+                if (modifiedDay < createdDay)
+                    modifiedDay = createdDay;
+
+                // Parents are drawn from the potential parents seen so far (including this page).
+                int search = Arrays.binarySearch(potentialParentIndices, i);
+                int parentsSoFar = search >= 0 ? search + 1 : -search - 1;
+                String parentPageId = "";
+                if (parentsSoFar > 0 && !distributions.isNull(ctx, "Confluence_Pages_Detailed.Confluence_Parent_Page_ID")) {
+                    int parentIndex = potentialParentIndices[ctx.random.nextInt(parentsSoFar)];
+                    if (parentIndex != i) {
+                        parentPageId = generatedConfluenceIds.get(parentIndex);
+                    }
+                }
+
+                out.writeRow(List.of(
+                        confId, (ctx.catchPhrase() + " Documentation").trim(),
+                        distributions.pickKey(ctx, POOL_USERS, userNames),
+                        distributions.pickKey(ctx, POOL_USERS, userNames),
+                        distributions.pick(ctx, "Confluence_Pages_Detailed.Confluence_Space", CONFLUENCE_SPACES),
+                        distributions.pick(ctx, "Confluence_Pages_Detailed.Confluence_Team_Association", TEAM_NAMES),
+                        ctx.sentences(2),
+                        ctx.generateSemicolonDelimitedList(generatedJiraIdsUnique, 4),
+                        ctx.generateSemicolonDelimitedList(generatedCrIds, 2),
+                        parentPageId,
+                        ctx.formatDay(createdDay), ctx.formatDay(modifiedDay)));
+            }, sink);
+            log.printf("Generated %s with %d data rows.%n", filename, sink.getRowCount());
+        } catch (IOException e) {
+            reportWriteError(filename, e);
+        }
+    }
+
+    public void generateSchemaTable(TablePlan plan) {
+        String filename = plan.getName() + ".csv";
+        if (plan.getRows() <= 0) {
+            log.println("Skipping " + filename + " generation as rows is " + plan.getRows());
+            return;
+        }
+        if (plan.getReferences().contains(SchemaCompiler.USERS) && (userNames == null || userNames.isEmpty())) {
+            log.println("Cannot generate " + filename + ": USER_NAMES list is empty. Check userNamesCount in config.");
+            return;
+        }
+
+        try (RowSink sink = openSink("Schema_" + plan.getName(), filename, plan.getHeader(), plan.getPlainColumns(),
+                plan.getColumnTypes())) {
+            partitionRunner.run("Schema_" + plan.getName(), plan.getRows(), plan::render, sink);
+            log.printf("Generated %s with %d data rows.%n", filename, sink.getRowCount());
+        } catch (IOException e) {
+            reportWriteError(filename, e);
+        }
+    }
+
+    // --- Event Stream Mode ---
+    // Streams JIRA_Activities and/or CR_CTasks merged in timestamp order instead of writing the CSV files.
+    private void streamEvents() throws IOException {
+        AppConfig.Generation generation = appConfig.getGeneration();
+        AppConfig.Stream stream = appConfig.getStream();
+        registerCrIds(generation.getUniqueCrs());
+        registerJiraIds(generation.getUniqueJiras());
+
+        List<EventStream.Source> sources = new ArrayList<>();
+        for (String table : stream.getTables()) {
+            int numRows = "CR_CTasks".equals(table) ? generation.getCrCtasks() : generation.getJiraActivities();
+            IdRegistry keys = "CR_CTasks".equals(table) ? generatedCrIds : generatedJiraIdsUnique;
+            if (numRows <= 0 || keys.isEmpty()) {
+                log.println("Skipping " + table + " in the event stream: no rows or no IDs to reference.");
+                continue;
+            }
+            // Continuous streams keep the configured density and run on past the reference time.
+            int count = stream.isContinuous() ? CONTINUOUS_EVENTS : numRows;
+            if ("CR_CTasks".equals(table)) {
+                long window = CTASK_WINDOW_DAYS * (long) DateEngine.MINUTES_PER_DAY;
+                EventTimeline timeline = new EventTimeline(generationStartMinute - window, window, numRows, count);
+                sources.add(new EventStream.Source(table, CR_CTASKS_HEADER, 3, count,
+                        (ctx, i, out) -> writeCtaskRow(ctx, i, timeline.minute(ctx, i), out)));
+            } else {
+                long window = ACTIVITY_WINDOW_DAYS * (long) DateEngine.MINUTES_PER_DAY;
+                EventTimeline timeline = new EventTimeline(generationStartMinute - window, window, numRows, count);
+                sources.add(new EventStream.Source(table, JIRA_ACTIVITIES_HEADER, 3, count,
+                        (ctx, i, out) -> writeActivityRow(ctx, i, timeline.minute(ctx, i), out)));
+            }
+        }
+        if (sources.isEmpty()) {
+            log.println("Nothing to stream.");
+            return;
+        }
+
+        String target = stream.getTarget();
+        boolean stdout = AppConfig.Stream.TARGET_STDOUT.equals(target);
+        OutputStream out = stdout ? new FileOutputStream(FileDescriptor.out) : Files.newOutputStream(Paths.get(target));
+        log.println("Streaming " + sources.size() + " table(s) in event-time order to "
+                + (stdout ? "stdout" : target) + (stream.getEventsPerSecond() > 0
+                        ? " at " + stream.getEventsPerSecond() + " events/s" : "") + "...");
+        long startNanos = System.nanoTime();
+        try (RowSink sink = new FastCsvWriter(out, new String[0], Set.of(), false)) {
+            long events = new EventStream(partitionRunner, sources, stream.getEventsPerSecond()).run(sink);
+            double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+            log.printf("Streamed %d events in %.1f s (%.0f events/s).%n", events, seconds, events / seconds);
+        }
+    }
+
+    private long generationDay() {
+        return Math.floorDiv(generationStartMinute, DateEngine.MINUTES_PER_DAY);
+    }
+
+    private RowSink openSink(String stream, String filename, String[] header, Set<String> plainColumns,
+            Map<String, ArrowRowSink.Column> columnTypes) throws IOException {
+        return sinkOpener.open(stream, filename, header, plainColumns, columnTypes);
+    }
+
+    private RowSink openFileSink(String stream, String filename, String[] header, Set<String> plainColumns,
+            Map<String, ArrowRowSink.Column> columnTypes) throws IOException {
+        AppConfig.Output output = appConfig.getOutput();
+        ensureOutputDirectoryExists(output.getFolderName());
+        boolean arrow = AppConfig.Output.FORMAT_ARROW.equals(output.getFormat());
+        boolean json = isJson(output.getFormat());
+        boolean commonsCsv = AppConfig.Output.CSV_WRITER_COMMONS.equals(output.getCsvWriter());
+        Path folder = Paths.get(output.getFolderName());
+        String baseName = filename.endsWith(".csv") ? filename.substring(0, filename.length() - 4) : filename;
+        if (AppConfig.Output.FORMAT_JDBC.equals(output.getFormat())) {
+            return new JdbcRowSink(output.getJdbc(), baseName, header, columnTypes); // Table named after the file
+        }
+        String fileBaseName = baseName + shardSuffix;
+        if (checkpoints != null) {
+            // Checkpointed runs are plain single-file CSV (checked by the constructor), so a partial file
+            // can be truncated and appended to without its header.
+            OutputStream out = checkpoints.open(stream, folder.resolve(baseName + ".csv"));
+            long writtenRows = checkpoints.writtenRows(stream);
+            RowSink sink = commonsCsv ? new CsvRowSink(out, header, writtenRows == 0)
+                    : new FastCsvWriter(out, header, plainColumns, writtenRows == 0);
+            return writtenRows == 0 ? sink : new Checkpoints.ResumedRowSink(sink, writtenRows);
+        }
+        RollingRowSink.ShardOpener opener;
+        if (arrow) {
+            opener = out -> new ArrowRowSink(out, header, columnTypes);
+        } else if (json) {
+            opener = out -> openJsonSink(stream, out, header);
+        } else if (commonsCsv) {
+            opener = out -> new CsvRowSink(out, header);
+        } else {
+            opener = out -> new FastCsvWriter(out, header, plainColumns);
+        }
+        String extension = fileExtension(output);
+        if (output.getRollRows() > 0 || output.getRollBytes() > 0) {
+            return new RollingRowSink(folder, fileBaseName, extension, output.getRollRows(), output.getRollBytes(),
+                    output.getCompression(), opener, appending ? existingShards(folder, baseName, extension) : 0);
+        }
+        Path file = folder.resolve(fileBaseName + extension);
+        if (appending && Files.isRegularFile(file)) {
+            // Append runs add their rows after the existing ones, without a second header (csv only;
+            // checked by the constructor).
+            OutputStream out = OutputFiles.open(file, output.getCompression(), true);
+            if (json) {
+                return openJsonSink(stream, out, header); // JSON lines have no header to skip
             }
+            return commonsCsv ? new CsvRowSink(out, header, false) : new FastCsvWriter(out, header, plainColumns, false);
+        }
+        if (AppConfig.Output.CSV_WRITER_MAPPED.equals(output.getCsvWriter())
+                && AppConfig.Output.FORMAT_CSV.equals(output.getFormat())) {
+            return new MappedCsvFile(file, header, plainColumns); // Plain single file; checked by the constructor
+        }
+        return opener.open(OutputFiles.open(file, output.getCompression()));
+    }
+
+    private static boolean isJson(String format) {
+        return AppConfig.Output.FORMAT_NDJSON.equals(format) || AppConfig.Output.FORMAT_JSON_NESTED.equals(format);
+    }
+
+    private static String fileExtension(AppConfig.Output output) {
+        String format = output.getFormat();
+        String extension = AppConfig.Output.FORMAT_ARROW.equals(format) ? ".arrow" : isJson(format) ? ".ndjson" : ".csv";
+        return extension + OutputFiles.extension(output.getCompression());
+    }
+
+    // Flat NDJSON, except JIRA issues in json-nested output, which become one document per issue.
+    private RowSink openJsonSink(String stream, OutputStream out, String[] header) throws IOException {
+        if (AppConfig.Output.FORMAT_JSON_NESTED.equals(appConfig.getOutput().getFormat())
+                && "JIRA_Issues".equals(stream)) {
+            return new NestedJsonRowSink(out, header, JIRA_ISSUE_CHILDREN);
+        }
+        return new NdjsonRowSink(out, header);
+    }
+
+    // Number of the last rolled file of a table, so an append run's files follow on from it.
+    private static int existingShards(Path folder, String baseName, String extension) throws IOException {
+        Pattern shardName = Pattern.compile(Pattern.quote(baseName) + "-(\\d{5})" + Pattern.quote(extension));
+        int last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                Matcher matcher = shardName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    last = Math.max(last, Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        return last;
+    }
+
+    private void writeMetricsSummary(AppConfig config) {
+        String summaryFile = config.getMetrics().getSummaryFile();
+        if (summaryFile == null || summaryFile.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(config.getOutput().getFolderName(), shardFileName(summaryFile));
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("seed", partitionRunner.getMasterSeed());
+        run.put("threads", partitionRunner.getThreads());
+        if (!shardSuffix.isEmpty()) {
+            run.put("shardIndex", config.getGeneration().getShardIndex());
+            run.put("shardCount", config.getGeneration().getShardCount());
+        }
+        run.put("format", config.getOutput().getFormat());
+        run.put("compression", config.getOutput().getCompression());
+        try {
+            partitionRunner.getMetrics().writeSummary(file, run);
+            log.println("Run metrics written to " + file);
+        } catch (IOException e) {
+            System.err.println("Error writing run metrics: " + file);
+            e.printStackTrace();
+        }
+    }
+
+    // A per-process file name for a sharded run, e.g. run-metrics.shard-00001-of-00004.json.
+    private String shardFileName(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) + shardSuffix + name.substring(dot) : name + shardSuffix;
+    }
+
+    private void reportWriteError(String filename, IOException e) {
+        System.err.println("Error writing CSV file: "
+                + Paths.get(appConfig.getOutput().getFolderName(), filename));
+        e.printStackTrace();
+    }
 
-            LocalDate createdDate = generateRandomLocalDate(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 5, 1));
-            LocalDate modifiedDate = generateRandomLocalDate(createdDate, LocalDate.now());
-            if (modifiedDate.isBefore(createdDate))
-                modifiedDate = createdDate;
+    // --- Run Setup ---
+    // Seeds the partition runner, fixes the clock and builds the shared lookups every table reads.
+    // All run state lives in the instance, so concurrent runs (e.g. server requests) stay isolated.
+    // main(), the server and the JMH benchmarks all go through here; ID registries are filled separately.
+    public DataGenerator(AppConfig config) {
+        this(config, null, System.out);
+    }
 
-            String parentPageId = "";
-            if (!potentialParentPageIds.isEmpty() && random.nextDouble() > 0.6) {
-                String tempParentId = randomChoice(potentialParentPageIds);
-                if (!tempParentId.equals(confId)) {
-                    parentPageId = tempParentId;
+    /**
+     * A run that reuses {@code lookups} (see {@link #sharedLookups}) instead of building them, and
+     * prints its messages to {@code log}.
+     */
+    public DataGenerator(AppConfig config, SharedLookups lookups, PrintStream log) {
+        appConfig = config;
+        this.log = log;
+        OutputFiles.extension(config.getOutput().getCompression()); // Fail fast on an unknown codec
+        String format = config.getOutput().getFormat();
+        if (!AppConfig.Output.FORMAT_CSV.equals(format) && !AppConfig.Output.FORMAT_ARROW.equals(format)
+                && !AppConfig.Output.FORMAT_JDBC.equals(format) && !isJson(format)) {
+            throw new IllegalArgumentException("Unknown output.format '" + format
+                    + "', expected csv, arrow, jdbc, ndjson or json-nested");
+        }
+        if (AppConfig.Output.FORMAT_JSON_NESTED.equals(format)
+                && (config.getOutput().getRollRows() > 0 || config.getOutput().getRollBytes() > 0)) {
+            // Rolling could split one issue's rows, and so its document, across two files.
+            throw new IllegalArgumentException("output.format json-nested does not support rollRows or rollBytes");
+        }
+        if (AppConfig.Output.FORMAT_JDBC.equals(format) && (config.getOutput().getJdbc().getUrl() == null
+                || config.getOutput().getJdbc().getUrl().isEmpty())) {
+            throw new IllegalArgumentException("output.format jdbc needs output.jdbc.url");
+        }
+        AppConfig.Stream stream = config.getStream();
+        if (stream.isEnabled()) {
+            for (String table : stream.getTables()) {
+                if (!STREAMABLE_TABLES.contains(table)) {
+                    throw new IllegalArgumentException("stream.tables: unknown table '" + table
+                            + "', expected JIRA_Activities or CR_CTasks");
                 }
             }
+            if (stream.getEventsPerSecond() < 0 || Double.isNaN(stream.getEventsPerSecond())) {
+                throw new IllegalArgumentException("stream.eventsPerSecond must be >= 0");
+            }
+        }
+        AppConfig.Generation generation = config.getGeneration();
+        appending = generation.isAppend();
+        if (appending) {
+            checkAppendable(config);
+        }
+        checkShards(config);
+        checkCsvWriter(config);
+        boolean checkpointing = checkpointingEnabled(config);
+        Checkpoints resumed = checkpointing && generation.isResume() ? loadCheckpoints(config) : null;
+        long seed;
+        if (resumed != null) {
+            // The seed and clock of the interrupted run decide every partition still to be written.
+            seed = resumed.getSeed();
+            if (generation.getSeed() != null && generation.getSeed() != seed) {
+                throw new IllegalArgumentException("generation.seed " + generation.getSeed()
+                        + " does not match the checkpointed run's seed " + seed);
+            }
+            generationStartMinute = resumed.getGenerationStartMinute();
+        } else {
+            seed = generation.getSeed() != null ? generation.getSeed() : new Random().nextLong();
+            generationStartMinute = startMinute(generation);
+        }
+        if (appending) {
+            manifest = loadManifest(config);
+            // Each batch gets its own seed, so daily runs of one configuration still add new rows.
+            seed = PartitionRunner.partitionSeed(seed, "Append", manifest.getBatches().size());
+            datasetSeed = manifest.getBatches().get(0).seed;
+            crStatusCursor = manifest.getCrStatusCursor();
+        } else {
+            // Sharded datasets are described by the shard manifest instead, and cannot be appended to.
+            manifest = stream.isEnabled() || generation.getShardCount() > 1 ? null
+                    : DatasetManifest.create(manifestFile(config), manifestSettings(config));
+            datasetSeed = seed;
+        }
+        batch = new DatasetManifest.Batch();
+        batch.seed = seed;
+        batch.generationStartMinute = generationStartMinute;
+        int[] counts = { generation.getUniqueCrs(), generation.getUniqueJiras(), generation.getConfluencePages(),
+                generation.getCrCtasks(), generation.getJiraActivities() };
+        for (int i = 0; i < counts.length; i++) {
+            String sequence = DatasetManifest.SEQUENCES.get(i);
+            batch.offsets.put(sequence, appending ? manifest.highWaterMark(sequence) : 0);
+            batch.counts.put(sequence, Math.max(0, counts[i]));
+        }
+        partitionRunner = new PartitionRunner(seed, generation.getThreads());
+        if (generation.getShardCount() > 1) {
+            partitionRunner.setShard(generation.getShardIndex(), generation.getShardCount());
+            shardSuffix = String.format(".shard-%05d-of-%05d", generation.getShardIndex(), generation.getShardCount());
+        }
+        if (config.getMetrics().isJmx()) {
+            partitionRunner.getMetrics().enableJmx();
+        }
+        checkpoints = resumed != null ? resumed : checkpointing ? startCheckpoints(config, seed) : null;
+        partitionRunner.setCheckpoints(checkpoints);
+        AppConfig.DateRanges dateRanges = dateRanges(config);
+        crStartFirstDay = LocalDate.parse(dateRanges.getCrMain().getOverallStartDateMin()).toEpochDay();
+        crStartLastDay = LocalDate.parse(dateRanges.getCrMain().getOverallStartDateMax()).toEpochDay();
+        jiraCreatedFirstDay = LocalDate.parse(dateRanges.getJiraIssues().getCreatedDateMin()).toEpochDay();
+        jiraCreatedLastDay = LocalDate.parse(dateRanges.getJiraIssues().getCreatedDateMax()).toEpochDay();
+        confluenceCreatedFirstDay = LocalDate.parse(dateRanges.getConfluencePages().getCreatedDateMin()).toEpochDay();
+        confluenceCreatedLastDay = LocalDate.parse(dateRanges.getConfluencePages().getCreatedDateMax()).toEpochDay();
+        partitionRunner.setDateEngine(lookups != null ? lookups.dateEngine
+                : new DateEngine(firstDateDay(dateRanges), generationDay() + 7));
+        dictionary = lookups != null ? lookups.dictionary : FakerDictionary.load(generation.getDictionarySnapshot());
+        partitionRunner.setDictionary(dictionary);
+        log.println("Seed: " + seed + ", threads: " + partitionRunner.getThreads());
+        if (!shardSuffix.isEmpty()) {
+            log.println("Rendering shard " + generation.getShardIndex() + " of " + generation.getShardCount()
+                    + " (0-based) of every table.");
+        }
+        if (appending) {
+            log.println("Appending batch " + (manifest.getBatches().size() + 1) + " to '"
+                    + config.getOutput().getFolderName() + "'; IDs so far: " + batch.offsets);
+            if (!config.getSchema().getTables().isEmpty()) {
+                log.println("Schema tables are not extended by append runs; skipping them.");
+            }
+        }
+        if (generation.getTextPoolSize() > 0) {
+            TextPool textPool = TextPool.build(datasetContext("Text_Pools"), generation.getTextPoolSize());
+            partitionRunner.setTextPool(textPool);
+            log.println("Pooled text mode: up to " + textPool.size() + " values per text field.");
+        }
+
+        initializeUserNames(generation.getUserNamesCount());
+        Set<String> keyPools = new LinkedHashSet<>(List.of(POOL_USERS, POOL_CRS, POOL_JIRAS, POOL_CONFLUENCE));
+        config.getSchema().getTables().forEach(table -> keyPools.add(table.getName()));
+        distributions = new ValueDistributions(config.getDistributions(), WEIGHTABLE_COLUMNS, DEFAULT_NULL_RATES,
+                keyPools);
+        schemaTables = SchemaCompiler.compile(config.getSchema(), SchemaCompiler.builtIns(generatedCrIds,
+                generatedJiraIdsUnique, generatedConfluenceIds, userNames), BUILT_IN_FILES, distributions);
+    }
+
+    /**
+     * The lookups that depend on the configuration but not on the seed, built once for a process that
+     * starts many runs (the generation server) and passed to each one.
+     */
+    public static final class SharedLookups {
+        private final FakerDictionary dictionary;
+        private final DateEngine dateEngine;
+
+        private SharedLookups(FakerDictionary dictionary, DateEngine dateEngine) {
+            this.dictionary = dictionary;
+            this.dateEngine = dateEngine;
+        }
+    }
+
+    /**
+     * Loads the Faker dictionary and caches day strings up to a week past today. Runs starting on later
+     * days render their newest dates on demand, so their output is unchanged.
+     */
+    public static SharedLookups sharedLookups(AppConfig config) {
+        long today = Math.floorDiv(startMinute(config.getGeneration()), DateEngine.MINUTES_PER_DAY);
+        return new SharedLookups(FakerDictionary.load(config.getGeneration().getDictionarySnapshot()),
+                new DateEngine(firstDateDay(dateRanges(config)), today + 7));
+    }
+
+    // "Now" for generated timestamps, in epoch minutes: the pinned reference time or the clock.
+    private static long startMinute(AppConfig.Generation generation) {
+        return generation.getReferenceTime() != null
+                ? LocalDateTime.parse(generation.getReferenceTime()).toEpochSecond(ZoneOffset.UTC) / 60
+                : LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static AppConfig.DateRanges dateRanges(AppConfig config) {
+        return config.getDateRanges() != null ? config.getDateRanges() : new AppConfig.DateRanges();
+    }
+
+    // Day strings are cached from the earliest generated date on.
+    private static long firstDateDay(AppConfig.DateRanges dateRanges) {
+        return Math.min(LocalDate.parse(dateRanges.getCrMain().getOverallStartDateMin()).toEpochDay(),
+                Math.min(LocalDate.parse(dateRanges.getJiraIssues().getCreatedDateMin()).toEpochDay(),
+                        LocalDate.parse(dateRanges.getConfluencePages().getCreatedDateMin()).toEpochDay()));
+    }
+
+    // Set-up lookups every batch of a dataset shares (user names, text pools), seeded by its first batch.
+    private GenerationContext datasetContext(String stream) {
+        return partitionRunner.context(new GenerationContext(), datasetSeed, stream, 0);
+    }
+
+    // Append runs add rows after the existing ones: csv files can take more rows, Arrow files only new
+    // rolled files, and database tables must not be recreated.
+    private static void checkAppendable(AppConfig config) {
+        AppConfig.Output output = config.getOutput();
+        if (config.getStream().isEnabled()) {
+            throw new IllegalArgumentException("generation.append does not apply to stream mode");
+        }
+        if (AppConfig.Output.FORMAT_ARROW.equals(output.getFormat()) && output.getRollRows() <= 0
+                && output.getRollBytes() <= 0) {
+            throw new IllegalArgumentException("generation.append cannot add to an Arrow file;"
+                    + " set output.rollRows or output.rollBytes so each append run writes new files");
+        }
+        if (AppConfig.Output.FORMAT_JDBC.equals(output.getFormat()) && output.getJdbc().isRecreateTables()) {
+            throw new IllegalArgumentException("generation.append needs output.jdbc.recreateTables: false");
+        }
+        if (config.getGeneration().getCrStatusUpdates() < 0) {
+            throw new IllegalArgumentException("generation.crStatusUpdates must be >= 0");
+        }
+    }
+
+    // Shards only agree on the dataset if they share its seed and clock, and must not recreate each
+    // other's tables.
+    private static void checkShards(AppConfig config) {
+        AppConfig.Generation generation = config.getGeneration();
+        if (generation.getShardCount() < 1 || generation.getShardIndex() < 0
+                || generation.getShardIndex() >= generation.getShardCount()) {
+            throw new IllegalArgumentException("generation.shardIndex must be between 0 and shardCount - 1"
+                    + " (shardIndex " + generation.getShardIndex() + ", shardCount " + generation.getShardCount() + ")");
+        }
+        if (generation.getShardCount() == 1) {
+            return;
+        }
+        if (generation.getSeed() == null || generation.getReferenceTime() == null) {
+            throw new IllegalArgumentException(
+                    "Sharded runs need generation.seed and generation.referenceTime, so every shard renders the same dataset");
+        }
+        if (generation.isAppend() || config.getStream().isEnabled()) {
+            throw new IllegalArgumentException("generation.shardCount does not apply to append runs or stream mode");
+        }
+        if (AppConfig.Output.FORMAT_JDBC.equals(config.getOutput().getFormat())
+                && config.getOutput().getJdbc().isRecreateTables()) {
+            throw new IllegalArgumentException("Sharded jdbc output needs output.jdbc.recreateTables: false");
+        }
+    }
+
+    // The mapped writer places bytes at computed offsets in one plain file.
+    private static void checkCsvWriter(AppConfig config) {
+        AppConfig.Output output = config.getOutput();
+        if (AppConfig.Output.CSV_WRITER_MAPPED.equals(output.getCsvWriter())
+                && AppConfig.Output.FORMAT_CSV.equals(output.getFormat())
+                && (!AppConfig.Output.COMPRESSION_NONE.equals(output.getCompression())
+                        || output.getRollRows() > 0 || output.getRollBytes() > 0)) {
+            throw new IllegalArgumentException("output.csvWriter mapped writes one uncompressed file per table;"
+                    + " use fast with compression or rolling");
+        }
+        AppConfig.Generation generation = config.getGeneration();
+        if (AppConfig.Output.CSV_WRITER_MAPPED.equals(output.getCsvWriter())
+                && AppConfig.Output.FORMAT_CSV.equals(output.getFormat())
+                && (generation.getCheckpointIntervalSeconds() > 0 || generation.isResume())) {
+            throw new IllegalArgumentException("output.csvWriter mapped does not write checkpoints;"
+                    + " use fast with generation.checkpointIntervalSeconds or generation.resume");
+        }
+    }
+
+    private static DatasetManifest loadManifest(AppConfig config) {
+        try {
+            return DatasetManifest.load(manifestFile(config), manifestSettings(config));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to '" + config.getOutput().getFolderName() + "': "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static Path manifestFile(AppConfig config) {
+        return Paths.get(config.getOutput().getFolderName(), DatasetManifest.FILE_NAME);
+    }
+
+    // Everything besides seed and clock that decides how a batch renders, and the file layout appended
+    // to; every batch of a dataset must match it.
+    private static Map<String, Object> manifestSettings(AppConfig config) {
+        AppConfig.Generation generation = config.getGeneration();
+        AppConfig.Output output = config.getOutput();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("userNamesCount", generation.getUserNamesCount());
+        settings.put("textPoolSize", generation.getTextPoolSize());
+        settings.put("dateRanges", config.getDateRanges());
+        settings.put("distributions", config.getDistributions());
+        settings.put("partitionSize", PartitionRunner.PARTITION_SIZE);
+        settings.put("format", output.getFormat());
+        settings.put("compression", output.getCompression());
+        settings.put("rolled", output.getRollRows() > 0 || output.getRollBytes() > 0);
+        return settings;
+    }
+
+    // Checkpoints need a file that can be truncated and appended to: plain csv, one file per table.
+    private static boolean checkpointingEnabled(AppConfig config) {
+        AppConfig.Generation generation = config.getGeneration();
+        if (generation.getCheckpointIntervalSeconds() <= 0 && !generation.isResume()) {
+            return false;
+        }
+        if (generation.isAppend() || generation.getShardCount() > 1) {
+            if (generation.isResume()) {
+                throw new IllegalArgumentException("generation.resume does not apply to append or sharded runs");
+            }
+            System.err.println("Checkpoints are not written for append or sharded runs; continuing without them.");
+            return false;
+        }
+        if (config.getStream().isEnabled()) {
+            if (generation.isResume()) {
+                throw new IllegalArgumentException("generation.resume does not apply to stream mode");
+            }
+            return false; // Nothing is written to the output folder to resume
+        }
+        AppConfig.Output output = config.getOutput();
+        if (AppConfig.Output.FORMAT_CSV.equals(output.getFormat())
+                && AppConfig.Output.COMPRESSION_NONE.equals(output.getCompression())
+                && output.getRollRows() <= 0 && output.getRollBytes() <= 0) {
+            return true;
+        }
+        if (generation.isResume()) {
+            throw new IllegalArgumentException(
+                    "generation.resume needs plain csv output without compression or rolling");
+        }
+        System.err.println("Checkpoints are only written for plain csv output without compression or rolling;"
+                + " continuing without them.");
+        return false;
+    }
+
+    private static Checkpoints loadCheckpoints(AppConfig config) {
+        try {
+            Checkpoints loaded = Checkpoints.resume(checkpointFile(config),
+                    config.getGeneration().getCheckpointIntervalSeconds(), checkpointSettings(config));
+            System.out.println("Resuming from checkpoint " + checkpointFile(config));
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not resume from checkpoint " + checkpointFile(config), e);
+        }
+    }
+
+    private Checkpoints startCheckpoints(AppConfig config, long seed) {
+        ensureOutputDirectoryExists(config.getOutput().getFolderName());
+        try {
+            return Checkpoints.start(checkpointFile(config), config.getGeneration().getCheckpointIntervalSeconds(),
+                    seed, generationStartMinute, checkpointSettings(config));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint " + checkpointFile(config), e);
+        }
+    }
+
+    private static Path checkpointFile(AppConfig config) {
+        return Paths.get(config.getOutput().getFolderName(), CHECKPOINT_FILE);
+    }
+
+    // Everything besides seed and clock that decides the bytes of a partition; a resume must match it.
+    private static Map<String, Object> checkpointSettings(AppConfig config) {
+        AppConfig.Generation generation = config.getGeneration();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("userNamesCount", generation.getUserNamesCount());
+        settings.put("uniqueCrs", generation.getUniqueCrs());
+        settings.put("uniqueJiras", generation.getUniqueJiras());
+        settings.put("confluencePages", generation.getConfluencePages());
+        settings.put("crCtasks", generation.getCrCtasks());
+        settings.put("jiraActivities", generation.getJiraActivities());
+        settings.put("textPoolSize", generation.getTextPoolSize());
+        settings.put("dateRanges", config.getDateRanges());
+        settings.put("schema", config.getSchema());
+        settings.put("distributions", config.getDistributions());
+        settings.put("csvWriter", config.getOutput().getCsvWriter());
+        settings.put("partitionSize", PartitionRunner.PARTITION_SIZE);
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        if (partitionRunner != null) {
+            partitionRunner.close();
+            partitionRunner = null;
+        }
+        checkpoints = null;
+    }
+
+    // --- Table Steps ---
+    // Every table declares the ID registries it reads; the ID steps produce them. Tables are keyed by
+    // their file name without extension, built-in tables first.
+    private Map<String, Runnable> idSteps() {
+        AppConfig.Generation generation = appConfig.getGeneration();
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put(CR_IDS, () -> registerCrIds(generation.getUniqueCrs()));
+        steps.put(JIRA_IDS, () -> registerJiraIds(generation.getUniqueJiras()));
+        steps.put(CONFLUENCE_IDS, () -> registerConfluenceIds(generation.getConfluencePages()));
+        return steps;
+    }
+
+    private Map<String, TableStep> tableSteps() {
+        Map<String, TableStep> steps = new LinkedHashMap<>();
+        steps.put("JIRA_Issues_Detailed", new TableStep(Set.of(JIRA_IDS, CR_IDS),
+                () -> generateJiraIssuesDetailedCsv("JIRA_Issues_Detailed.csv")));
+        steps.put("Confluence_Pages_Detailed", new TableStep(Set.of(CONFLUENCE_IDS, JIRA_IDS, CR_IDS),
+                () -> generateConfluencePagesDetailedCsv("Confluence_Pages_Detailed.csv")));
+        steps.put("CR_Main", new TableStep(Set.of(CR_IDS, JIRA_IDS, CONFLUENCE_IDS),
+                () -> generateCrMainCsv("CR_Main.csv")));
+        steps.put("CR_CTasks", new TableStep(Set.of(CR_IDS), () -> generateCrCtasksCsv("CR_CTasks.csv")));
+        steps.put("JIRA_Activities", new TableStep(Set.of(JIRA_IDS),
+                () -> generateJiraActivitiesCsv("JIRA_Activities.csv")));
+        for (TablePlan plan : appending ? List.<TablePlan>of() : schemaTables) {
+            Set<String> reads = new HashSet<>();
+            if (plan.getReferences().contains("CR_Main")) {
+                reads.add(CR_IDS);
+            }
+            if (plan.getReferences().contains("JIRA_Issues")) {
+                reads.add(JIRA_IDS);
+            }
+            if (plan.getReferences().contains("Confluence_Pages")) {
+                reads.add(CONFLUENCE_IDS);
+            }
+            steps.put(plan.getName(), new TableStep(reads, () -> generateSchemaTable(plan)));
+        }
+        return steps;
+    }
+
+    private static final class TableStep {
+        final Set<String> reads;
+        final Runnable action;
+
+        TableStep(Set<String> reads, Runnable action) {
+            this.reads = reads;
+            this.action = action;
+        }
+    }
 
-            rows.add(List.of(
-                    confId, (faker.company().catchPhrase() + " Documentation").trim(), randomChoice(USER_NAMES),
-                    randomChoice(USER_NAMES),
-                    randomChoice(CONFLUENCE_SPACES), randomChoice(TEAM_NAMES),
-                    String.join(" ", faker.lorem().sentences(2)),
-                    generateSemicolonDelimitedList(generatedJiraIdsUnique, 4),
-                    generateSemicolonDelimitedList(generatedCrIds, 2),
-                    parentPageId,
-                    createdDate.format(DATE_FORMATTER), modifiedDate.format(DATE_FORMATTER)));
+    /** Built-in and schema tables, by file name without extension. */
+    public Set<String> tableNames() {
+        return tableSteps().keySet();
+    }
+
+    /** Fills the ID registries {@code table} reads, then generates that table alone. */
+    public void generateTable(String table) {
+        TableStep step = tableSteps().get(table);
+        if (step == null) {
+            throw new IllegalArgumentException("Unknown table '" + table + "', expected one of " + tableNames());
+        }
+        idSteps().forEach((registry, register) -> {
+            if (step.reads.contains(registry)) {
+                register.run();
+            }
+        });
+        step.action.run();
+    }
+
+    /**
+     * Generates every table. The scheduler starts each step as soon as the ID registries it reads
+     * exist, so the tables overlap instead of running in turn.
+     */
+    public void generateAll() {
+        TableScheduler scheduler = new TableScheduler();
+        idSteps().forEach((registry, register) -> scheduler.add(registry, Set.of(), Set.of(registry), register));
+        tableSteps().forEach((table, step) -> scheduler.add(table + ".csv", step.reads, Set.of(), step.action));
+        boolean recordBatch = manifest != null && fileOutput;
+        if (recordBatch) {
+            markBatchPending();
+        }
+        GenerationMetrics metrics = partitionRunner.getMetrics();
+        metrics.startReporting(appConfig.getMetrics().getProgressIntervalSeconds());
+        try {
+            scheduler.run(appConfig.getGeneration().isPipeline());
+        } finally {
+            metrics.stopReporting();
+        }
+        metrics.printSummary();
+        writeMetricsSummary(appConfig);
+        if (recordBatch) {
+            recordBatch();
+        }
+        if (!shardSuffix.isEmpty() && fileOutput) {
+            writeShardManifest();
         }
-        writeCsv(Paths.get(appConfig.getOutput().getFolderName(), filename).toString(), header, rows);
-        System.out.printf("Generated %s with %d data rows.%n", filename, rows.size());
     }
 
-    private static void writeCsv(String filePath, String[] header, List<List<String>> dataRows) {
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
-                CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(header))) {
-            for (List<String> row : dataRows) {
-                csvPrinter.printRecord(row);
+    // --- Shard manifest ---
+    // Which entities (and so which IDs) each shard renders, per table, and its file. It only depends on
+    // the configuration, so every shard writes the same file and none has to wait for the others.
+    // Every shard's CSV files start with the header, so each can be read on its own; the manifest
+    // says so, since joining them into the single-run file means keeping only the first header.
+    private void writeShardManifest() {
+        AppConfig.Generation generation = appConfig.getGeneration();
+        AppConfig.Output output = appConfig.getOutput();
+        Map<String, Integer> entities = new LinkedHashMap<>();
+        entities.put("CR_Main", generation.getUniqueCrs());
+        entities.put("JIRA_Issues_Detailed", generation.getUniqueJiras());
+        entities.put("Confluence_Pages_Detailed", generation.getConfluencePages());
+        entities.put("CR_CTasks", generation.getCrCtasks());
+        entities.put("JIRA_Activities", generation.getJiraActivities());
+        for (TablePlan plan : schemaTables) {
+            entities.put(plan.getName(), plan.getRows());
+        }
+        boolean jdbc = AppConfig.Output.FORMAT_JDBC.equals(output.getFormat());
+        String extension = fileExtension(output);
+        boolean rolled = output.getRollRows() > 0 || output.getRollBytes() > 0;
+
+        List<Map<String, Object>> tables = new ArrayList<>();
+        entities.forEach((table, count) -> {
+            int entityCount = Math.max(0, count);
+            int partitions = (entityCount + PartitionRunner.PARTITION_SIZE - 1) / PartitionRunner.PARTITION_SIZE;
+            List<Map<String, Object>> shards = new ArrayList<>();
+            for (int shard = 0; shard < generation.getShardCount(); shard++) {
+                int first = Math.min(entityCount, PartitionRunner.shardStart(partitions, shard,
+                        generation.getShardCount()) * PartitionRunner.PARTITION_SIZE);
+                int end = Math.min(entityCount, PartitionRunner.shardStart(partitions, shard + 1,
+                        generation.getShardCount()) * PartitionRunner.PARTITION_SIZE);
+                Map<String, Object> slice = new LinkedHashMap<>();
+                slice.put("shardIndex", shard);
+                slice.put("firstIndex", first);
+                slice.put("entities", end - first);
+                String firstId = end > first ? entityId(table, first) : null;
+                if (firstId != null) {
+                    slice.put("firstId", firstId);
+                    slice.put("lastId", entityId(table, end - 1));
+                }
+                if (!jdbc) {
+                    slice.put("file", table + String.format(".shard-%05d-of-%05d", shard, generation.getShardCount())
+                            + (rolled ? "-*" : "") + extension);
+                }
+                shards.add(slice);
             }
-            csvPrinter.flush();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("table", table);
+            entry.put("entities", entityCount);
+            entry.put("shards", shards);
+            tables.add(entry);
+        });
+
+        Map<String, Object> shardManifest = new LinkedHashMap<>();
+        shardManifest.put("seed", partitionRunner.getMasterSeed());
+        shardManifest.put("referenceTime", generation.getReferenceTime());
+        shardManifest.put("shardCount", generation.getShardCount());
+        shardManifest.put("partitionSize", PartitionRunner.PARTITION_SIZE);
+        shardManifest.put("format", output.getFormat());
+        shardManifest.put("compression", output.getCompression());
+        if (AppConfig.Output.FORMAT_CSV.equals(output.getFormat())) {
+            shardManifest.put("headerPerFile", true);
+            shardManifest.put("concatenation", "Every shard file repeats the CSV header: keep the first file's"
+                    + " header and drop the first line of every later file (shards in order, rolled files in order)"
+                    + " to rebuild the single-process file.");
+        }
+        shardManifest.put("tables", tables);
+        Path file = Paths.get(output.getFolderName(), SHARD_MANIFEST_FILE);
+        // Shards finishing together each move a complete copy into place.
+        Path temp = file.resolveSibling(SHARD_MANIFEST_FILE + "." + ProcessHandle.current().pid() + ".tmp");
+        try {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(temp.toFile(), shardManifest);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.println("Shard manifest written to " + file);
         } catch (IOException e) {
-            System.err.println("Error writing CSV file: " + filePath);
+            System.err.println("Error writing shard manifest: " + file);
             e.printStackTrace();
         }
     }
 
+    // The ID of a built-in table's entity, or null for schema tables.
+    private String entityId(String table, int index) {
+        switch (table) {
+            case "CR_Main":
+                return generatedCrIds.get(index);
+            case "JIRA_Issues_Detailed":
+                return generatedJiraIdsUnique.get(index);
+            case "Confluence_Pages_Detailed":
+                return generatedConfluenceIds.get(index);
+            case "CR_CTasks":
+                return ctaskId(index);
+            case "JIRA_Activities":
+                return activityId(index);
+            default:
+                return null;
+        }
+    }
+
+    // Until the batch is recorded, the manifest says a run is in progress; see DatasetManifest.
+    private void markBatchPending() {
+        ensureOutputDirectoryExists(appConfig.getOutput().getFolderName());
+        try {
+            manifest.markPending(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write dataset manifest " + manifestFile(appConfig), e);
+        }
+    }
+
+    private void recordBatch() {
+        try {
+            manifest.add(batch, crStatusCursor);
+            log.println("Dataset manifest written to " + manifestFile(appConfig) + " (batch "
+                    + manifest.getBatches().size() + ")");
+        } catch (IOException e) {
+            System.err.println("Error writing dataset manifest: " + manifestFile(appConfig));
+            e.printStackTrace();
+        }
+    }
+
+    /** Streams the configured tables in event-time order (see {@link #streamEvents()}), reporting progress. */
+    public void generateStream() throws IOException {
+        GenerationMetrics metrics = partitionRunner.getMetrics();
+        metrics.startReporting(appConfig.getMetrics().getProgressIntervalSeconds());
+        try {
+            streamEvents();
+        } finally {
+            metrics.stopReporting();
+        }
+    }
+
+    public boolean hasUserNames() {
+        return userNames != null && !userNames.isEmpty();
+    }
+
     public static void main(String[] args) {
         try {
-            appConfig = ConfigLoader.loadConfig();
+            AppConfig config = ConfigLoader.loadConfig();
+            if (config.getStream().isEnabled()
+                    && AppConfig.Stream.TARGET_STDOUT.equals(config.getStream().getTarget())) {
+                System.setOut(System.err); // Stdout carries the events; messages and progress go to stderr
+            }
             System.out.println("Configuration loaded successfully.");
-            System.out.println("Output folder: " + appConfig.getOutput().getFolderName());
-
-            initializeUserNames(appConfig.getGeneration().getUserNamesCount());
-            if (USER_NAMES == null || USER_NAMES.isEmpty()) {
-                System.err.println(
-                        "USER_NAMES list is empty after initialization. Ensure 'generation.userNamesCount' in application.yml is greater than 0.");
-                return; // Stop if no users are generated, as many parts depend on it.
+            System.out.println("Output folder: " + config.getOutput().getFolderName());
+            if (config.getServer().isEnabled()) {
+                GenerationServer.start(config);
+                return; // The server's threads keep the JVM running
+            }
+            String verifyMode = config.getVerify().getMode();
+            DatasetVerifier verifier = null;
+            if (!AppConfig.Verify.MODE_OFF.equals(verifyMode)) {
+                if (!AppConfig.Verify.MODE_AFTER.equals(verifyMode) && !AppConfig.Verify.MODE_ONLY.equals(verifyMode)) {
+                    throw new IllegalArgumentException("Unknown verify.mode '" + verifyMode
+                            + "', expected off, after or only");
+                }
+                if (AppConfig.Verify.MODE_AFTER.equals(verifyMode) && config.getGeneration().getShardCount() > 1) {
+                    throw new IllegalArgumentException("verify.mode after would check this shard's files before"
+                            + " the others finish; run verify.mode only once every shard is done");
+                }
+                verifier = new DatasetVerifier(config);
+                if (AppConfig.Verify.MODE_ONLY.equals(verifyMode)) {
+                    verifier.verify();
+                    return;
+                }
             }
 
-            System.out.println("Starting CSV data generation...");
-
-            // Clear lists for fresh generation if run multiple times in same JVM instance
-            // (though typically run once per execution)
-            generatedCrIds.clear();
-            generatedJiraIdsUnique.clear();
-            generatedConfluenceIds.clear();
+            try (DataGenerator generator = new DataGenerator(config)) {
+                if (!generator.hasUserNames()) {
+                    System.err.println(
+                            "USER_NAMES list is empty after initialization. Ensure 'generation.userNamesCount' in application.yml is greater than 0.");
+                    return; // Stop if no users are generated, as many parts depend on it.
+                }
+                if (config.getStream().isEnabled()) {
+                    generator.generateStream();
+                    return;
+                }
 
-            generateJiraIssuesDetailedCsv("JIRA_Issues_Detailed.csv");
-            generateConfluencePagesDetailedCsv("Confluence_Pages_Detailed.csv");
-            generateCrMainCsv("CR_Main.csv");
-            generateCrCtasksCsv("CR_CTasks.csv");
-            generateJiraActivitiesCsv("JIRA_Activities.csv");
+                System.out.println("Starting CSV data generation...");
+                generator.generateAll();
+            }
 
-            System.out.println("CSV data generation complete. Files saved in '" + appConfig.getOutput().getFolderName()
+            System.out.println("CSV data generation complete. Files saved in '" + config.getOutput().getFolderName()
                     + "' folder.");
+            if (verifier != null) {
+                verifier.verify();
+            }
 
         } catch (Exception e) {
             System.err.println("An error occurred during data generation: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sidecar record of how a dataset folder was generated, so append runs ({@code generation.append})
+ * can extend it without reading the CSV files back.
+ * <p>
+ * The dataset is a list of batches: the full run that created it, then one per append run. A batch
+ * records its seed, its clock and, per ID sequence, the first index it assigned and how many IDs it
+ * added; the high-water mark of a sequence is the sum of its counts. Since IDs and rows are pure
+ * functions of the seed (see {@link PartitionRunner#partitionSeed}), that is enough to rebuild the
+ * ID registries - prefixes included - and to re-render any earlier CR whose status moves on.
+ * <p>
+ * The file is replaced atomically. An append run marks itself pending before it touches the files
+ * and is only recorded once it finishes, so a run that died half way is refused rather than built on.
+ */
+public class DatasetManifest {
+
+    public static final String FILE_NAME = "dataset-manifest.json";
+    /** ID sequences, named after the key pools ({@code CR-FS-n}, {@code NOVA-n}, {@code CONF-xx-n}, ...). */
+    public static final List<String> SEQUENCES = List.of("CR_Main", "JIRA_Issues", "Confluence_Pages", "CR_CTasks",
+            "JIRA_Activities");
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path file;
+    private final State state;
+
+    private DatasetManifest(Path file, State state) {
+        this.file = file;
+        this.state = state;
+    }
+
+    /** A manifest for a dataset about to be generated from scratch; nothing is written until {@link #add}. */
+    public static DatasetManifest create(Path file, Map<String, Object> settings) {
+        State state = new State();
+        state.settings = new LinkedHashMap<>(settings);
+        return new DatasetManifest(file, state);
+    }
+
+    /**
+     * Loads the manifest of a dataset to extend. The run must use the same settings, since earlier
+     * batches are re-rendered with them.
+     */
+    public static DatasetManifest load(Path file, Map<String, Object> settings) throws IOException {
+        DatasetManifest manifest = read(file);
+        if (manifest == null) {
+            throw new IOException("No " + FILE_NAME + " in " + file.toAbsolutePath().getParent()
+                    + "; generate the dataset once without generation.append first");
+        }
+        State state = manifest.state;
+        if (state.pending != null) {
+            throw new IOException("The append run started at seed " + state.pending.seed + " did not finish, so "
+                    + file.getParent() + " may hold part of its rows; restore the folder or regenerate it");
+        }
+        if (state.batches.isEmpty()) {
+            throw new IOException(file + " records no batches");
+        }
+        // Round-trip the current settings through JSON so numbers compare the way they were loaded.
+        Map<?, ?> current = JSON.readValue(JSON.writeValueAsBytes(settings), Map.class);
+        if (!current.equals(state.settings)) {
+            throw new IOException("Dataset " + file.getParent() + " was generated with different settings "
+                    + state.settings + "; current settings are " + current);
+        }
+        return manifest;
+    }
+
+    /** Reads a folder's manifest without checking it against any settings; null when there is none. */
+    public static DatasetManifest read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return new DatasetManifest(file, JSON.readValue(file.toFile(), State.class));
+    }
+
+    public List<Batch> getBatches() {
+        return state.batches;
+    }
+
+    /** IDs assigned so far in {@code sequence}; the next one is this plus one. */
+    public int highWaterMark(String sequence) {
+        int total = 0;
+        for (Batch batch : state.batches) {
+            total += batch.count(sequence);
+        }
+        return total;
+    }
+
+    /** The CR index the next append run's status updates start from. */
+    public int getCrStatusCursor() {
+        return state.crStatusCursor;
+    }
+
+    /** Whether any batch moved earlier CRs on, so CR_Main holds more than one run of rows per CR. */
+    public boolean hasCrStatusUpdates() {
+        for (Batch batch : state.batches) {
+            if (!batch.crStatusUpdates.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Saves {@code batch} as started but not finished; see {@link #load}. */
+    public void markPending(Batch batch) throws IOException {
+        state.pending = batch;
+        save();
+    }
+
+    /** Records a finished batch, and where the next status updates start. */
+    public void add(Batch batch, int crStatusCursor) throws IOException {
+        state.pending = null;
+        state.batches.add(batch);
+        state.crStatusCursor = crStatusCursor;
+        state.highWaterMarks = new LinkedHashMap<>();
+        for (String sequence : SEQUENCES) {
+            state.highWaterMarks.put(sequence, highWaterMark(sequence));
+        }
+        save();
+    }
+
+    private void save() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        JSON.writeValue(temp.toFile(), state);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // --- JSON layout of the manifest file ---
+
+    public static class State {
+        public Map<String, Object> settings = new LinkedHashMap<>();
+        public Map<String, Integer> highWaterMarks = new LinkedHashMap<>(); // Written for readers; recomputed on load
+        public int crStatusCursor;
+        public List<Batch> batches = new ArrayList<>();
+        public Batch pending;
+    }
+
+    public static class Batch {
+        public long seed;
+        public long generationStartMinute;
+        public Map<String, Integer> offsets = new LinkedHashMap<>(); // First index (0-based) per sequence
+        public Map<String, Integer> counts = new LinkedHashMap<>();
+        public List<int[]> crStatusUpdates = new ArrayList<>(); // [from, to) CR index ranges moved on a state
+
+        public int offset(String sequence) {
+            return offsets.getOrDefault(sequence, 0);
+        }
+
+        public int count(String sequence) {
+            return counts.getOrDefault(sequence, 0);
+        }
+    }
+}
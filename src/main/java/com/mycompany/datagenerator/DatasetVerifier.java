@@ -0,0 +1,548 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks a generated output folder for referential integrity and reports per-column statistics,
+ * reading every CSV file (compressed, rolled or sharded) once, front to back.
+ * <p>
+ * IDs are a prefix and a number ({@code NOVA-042}, {@code CTASK007}, {@code INC-00012}), so each key
+ * pool is a {@link BitSet} of numbers per prefix: memory follows the number of IDs, not rows, and a
+ * {@code JIRA_Issues_Detailed} row repeated per link and watcher costs nothing extra. References are
+ * recorded the same way while the files stream past - a CR may point at a JIRA issue whose file comes
+ * later - and the dangling ones are the referenced bits missing from the target pool at the end.
+ * Confluence parent links are kept as an array indexed by page number and walked once for cycles.
+ * Every column also gets its empty count and a {@link CardinalitySketch} distinct estimate.
+ * <p>
+ * Problems are dangling references, keys that reappear after another key (a table's rows for one
+ * entity are consecutive), rows whose field count differs from the header, and parent cycles. CRs
+ * moved on by append runs (see {@link DatasetManifest}) get their later rows further down CR_Main,
+ * so CR keys may reappear once the folder's manifest records such status updates.
+ */
+public class DatasetVerifier {
+
+    private static final int SAMPLE_LIMIT = 5;
+    // Rolled and/or sharded files: CR_Main-00001.csv.gz, CR_Main.shard-00000-of-00004[-00001].csv
+    private static final Pattern ROLLED_FILE = Pattern.compile(
+            "(\\.shard-\\d{5}-of-\\d{5})?(-\\d{5})?\\.csv(\\.gz|\\.lz4)?");
+    private static final String CONFLUENCE_PARENT_COLUMN = "Confluence_Parent_Page_ID";
+
+    private final AppConfig config;
+    private final Path folder;
+    private final List<TableCheck> checks = new ArrayList<>();
+    private final Map<String, KeySet> pools = new LinkedHashMap<>(); // Pool name -> keys defined so far
+    private final Map<String, String> poolTables = new LinkedHashMap<>(); // Pool name -> table defining it
+    private final Set<String> readTables = new HashSet<>();
+    private int[] parentPages = new int[0]; // Page number -> parent page number, 0 for none
+    private boolean crStatusUpdates; // Append runs added rows for earlier CRs
+    private long problems;
+
+    public DatasetVerifier(AppConfig config) {
+        if (!AppConfig.Output.FORMAT_CSV.equals(config.getOutput().getFormat())) {
+            throw new IllegalArgumentException("verify reads CSV output; output.format is '"
+                    + config.getOutput().getFormat() + "'");
+        }
+        this.config = config;
+        this.folder = Paths.get(config.getOutput().getFolderName());
+
+        checks.add(new TableCheck("CR_Main", "CR_ID", "CR_Main")
+                .link("Linked_Jira_ID", "JIRA_Issues").link("Linked_Confluence_ID", "Confluence_Pages"));
+        checks.add(new TableCheck("JIRA_Issues_Detailed", "JIRA_ID", "JIRA_Issues")
+                .link("CR_ID_Link_From_CSV_Example", "CR_Main").link("JIRA_Linked_Issue_ID_Target", "JIRA_Issues"));
+        checks.add(new TableCheck("Confluence_Pages_Detailed", "Confluence_ID", "Confluence_Pages")
+                .link("Confluence_Linked_Jira_ID", "JIRA_Issues").link("Confluence_Linked_CR_ID", "CR_Main")
+                .link(CONFLUENCE_PARENT_COLUMN, "Confluence_Pages"));
+        checks.add(new TableCheck("CR_CTasks", "CTASK_ID", "CR_CTasks").link("CR_ID", "CR_Main"));
+        checks.add(new TableCheck("JIRA_Activities", "Activity_ID", "JIRA_Activities").link("JIRA_ID", "JIRA_Issues"));
+        for (AppConfig.TableSpec spec : config.getSchema().getTables()) {
+            List<AppConfig.ColumnSpec> columns = spec.getColumns();
+            boolean keyed = !columns.isEmpty() && "sequence".equals(columns.get(0).getGenerator());
+            TableCheck check = new TableCheck(spec.getName(), keyed ? columns.get(0).getName() : null,
+                    keyed ? spec.getName() : null);
+            for (AppConfig.ColumnSpec column : columns) {
+                // Users have no file of their own to check against
+                if ("reference".equals(column.getGenerator()) && !SchemaCompiler.USERS.equals(column.getReferences())) {
+                    check.link(column.getName(), column.getReferences());
+                }
+            }
+            checks.add(check);
+        }
+        for (TableCheck check : checks) {
+            if (check.pool != null) {
+                pools.put(check.pool, new KeySet());
+                poolTables.put(check.pool, check.table);
+            }
+        }
+    }
+
+    /**
+     * Reads the output folder, prints the report and writes it to {@code verify.reportFile} in the
+     * folder; returns whether no problems were found.
+     */
+    public boolean verify() throws IOException {
+        long start = System.nanoTime();
+        System.out.println("Verifying '" + folder + "'...");
+        DatasetManifest manifest = DatasetManifest.read(folder.resolve(DatasetManifest.FILE_NAME));
+        crStatusUpdates = manifest != null && manifest.hasCrStatusUpdates();
+        List<Map<String, Object>> tables = new ArrayList<>();
+        for (TableCheck check : checks) {
+            Map<String, Object> table = readTable(check);
+            if (table != null) {
+                tables.add(table);
+            }
+        }
+        List<Map<String, Object>> references = new ArrayList<>();
+        for (TableCheck check : checks) {
+            for (Link link : check.links) {
+                if (readTables.contains(check.table)) {
+                    references.add(checkReferences(check, link));
+                }
+            }
+        }
+        Map<String, Object> parents = readTables.contains("Confluence_Pages_Detailed") ? checkParentCycles() : null;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("folder", folder.toString());
+        report.put("problems", problems);
+        report.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        report.put("tables", tables);
+        report.put("references", references);
+        if (parents != null) {
+            report.put("confluenceParents", parents);
+        }
+        System.out.println(problems == 0 ? "Verification passed: no problems found."
+                : "Verification found " + problems + " problem(s).");
+
+        String reportFile = config.getVerify().getReportFile();
+        if (reportFile != null && !reportFile.isEmpty()) {
+            Path file = folder.resolve(reportFile);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+            System.out.println("Verification report written to " + file);
+        }
+        return problems == 0;
+    }
+
+    // --- Reading ---
+
+    private Map<String, Object> readTable(TableCheck check) throws IOException {
+        List<Path> files = tableFiles(check.table);
+        if (files.isEmpty()) {
+            System.out.println("Verify " + check.table + ": no file, skipped along with references to it");
+            return null;
+        }
+        readTables.add(check.table);
+        KeySet keys = check.pool != null ? pools.get(check.pool) : null;
+        boolean parentLinks = check.table.equals("Confluence_Pages_Detailed");
+        boolean keysRepeat = crStatusUpdates && check.table.equals("CR_Main");
+
+        String[] header = null;
+        ColumnStats[] columns = null;
+        int keyColumn = -1;
+        int parentColumn = -1;
+        int[] linkColumns = new int[check.links.size()];
+        long rows = 0;
+        long malformedRows = 0;
+        long duplicateKeys = 0;
+        List<String> duplicateSamples = new ArrayList<>();
+        String previousKey = null;
+
+        for (Path file : files) {
+            try (CSVParser parser = CSVParser.parse(new BufferedReader(new InputStreamReader(
+                    OutputFiles.openInput(file), StandardCharsets.UTF_8), 1 << 16), CSVFormat.DEFAULT)) {
+                boolean first = true;
+                for (CSVRecord record : parser) {
+                    if (first) {
+                        first = false;
+                        String[] fileHeader = record.toList().toArray(new String[0]);
+                        if (header == null) {
+                            header = fileHeader;
+                            columns = new ColumnStats[header.length];
+                            for (int i = 0; i < header.length; i++) {
+                                columns[i] = new ColumnStats(header[i]);
+                            }
+                            List<String> names = Arrays.asList(header);
+                            keyColumn = check.keyColumn != null ? names.indexOf(check.keyColumn) : -1;
+                            parentColumn = parentLinks ? names.indexOf(CONFLUENCE_PARENT_COLUMN) : -1;
+                            for (int i = 0; i < linkColumns.length; i++) {
+                                linkColumns[i] = names.indexOf(check.links.get(i).column);
+                            }
+                        } else if (!Arrays.equals(header, fileHeader)) {
+                            throw new IOException(file + " has a different header from " + files.get(0));
+                        }
+                        continue;
+                    }
+                    rows++;
+                    if (record.size() != header.length) {
+                        malformedRows++;
+                        continue;
+                    }
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i].add(record.get(i));
+                    }
+                    if (keyColumn >= 0) {
+                        String key = record.get(keyColumn);
+                        if (!key.equals(previousKey) && !key.isEmpty() && !keys.add(key) && !keysRepeat) {
+                            duplicateKeys++;
+                            sample(duplicateSamples, key);
+                        }
+                        previousKey = key;
+                        if (parentColumn >= 0) {
+                            recordParent(key, record.get(parentColumn));
+                        }
+                    }
+                    for (int i = 0; i < linkColumns.length; i++) {
+                        if (linkColumns[i] >= 0) {
+                            check.links.get(i).add(record.get(linkColumns[i]));
+                        }
+                    }
+                }
+            }
+        }
+        problems += malformedRows + duplicateKeys;
+
+        Map<String, Object> table = new LinkedHashMap<>();
+        table.put("table", check.table);
+        table.put("files", files.stream().map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        table.put("rows", rows);
+        table.put("malformedRows", malformedRows);
+        if (keys != null) {
+            table.put("keyColumn", check.keyColumn);
+            table.put("distinctKeys", keys.size());
+            table.put("duplicateKeys", duplicateKeys);
+            table.put("duplicateKeySamples", duplicateSamples);
+        }
+        List<Map<String, Object>> columnReports = new ArrayList<>();
+        for (ColumnStats column : columns != null ? columns : new ColumnStats[0]) {
+            columnReports.add(column.report(rows - malformedRows));
+        }
+        table.put("columns", columnReports);
+        System.out.printf("Verify %s: %d rows in %d file(s), %d malformed%s%n", check.table, rows, files.size(),
+                malformedRows, keys != null ? ", " + keys.size() + " distinct " + check.keyColumn + ", "
+                        + duplicateKeys + " repeated out of sequence" : "");
+        return table;
+    }
+
+    // The table's single file in whichever codec it was written, or its rolled or sharded files in order.
+    private List<Path> tableFiles(String table) throws IOException {
+        for (String extension : new String[] { ".csv", ".csv.gz", ".csv.lz4" }) {
+            Path file = folder.resolve(table + extension);
+            if (Files.isRegularFile(file)) {
+                return List.of(file);
+            }
+        }
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(folder)) {
+            return entries.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(table) && ROLLED_FILE.matcher(name.substring(table.length())).matches();
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private void recordParent(String page, String parent) {
+        long pageNumber = KeySet.number(page);
+        long parentNumber = KeySet.number(parent);
+        if (pageNumber <= 0 || parentNumber <= 0) {
+            return; // No parent, or an ID outside the numbered scheme
+        }
+        if (pageNumber >= parentPages.length) {
+            parentPages = Arrays.copyOf(parentPages, (int) Math.max(pageNumber + 1, parentPages.length * 2L));
+        }
+        parentPages[(int) pageNumber] = (int) parentNumber;
+    }
+
+    // --- Checks ---
+
+    private Map<String, Object> checkReferences(TableCheck check, Link link) {
+        Map<String, Object> reference = new LinkedHashMap<>();
+        reference.put("table", check.table);
+        reference.put("column", link.column);
+        reference.put("target", link.pool);
+        reference.put("references", link.count);
+        reference.put("distinctReferenced", link.referenced.size());
+        KeySet pool = pools.get(link.pool);
+        if (pool == null || !readTables.contains(poolTables.get(link.pool))) {
+            reference.put("checked", false);
+            System.out.printf("Verify %s.%s: %d references to %s, not checked (no %s file)%n", check.table,
+                    link.column, link.count, link.pool, link.pool);
+            return reference;
+        }
+        List<String> samples = new ArrayList<>();
+        long dangling = link.referenced.missingFrom(pool, samples);
+        problems += dangling;
+        reference.put("checked", true);
+        reference.put("danglingIds", dangling);
+        reference.put("danglingSamples", samples);
+        System.out.printf("Verify %s.%s -> %s: %d references, %d dangling ID(s)%s%n", check.table, link.column,
+                link.pool, link.count, dangling, samples.isEmpty() ? "" : " e.g. " + String.join(", ", samples));
+        return reference;
+    }
+
+    // Follows each page's parent chain once: pages on the current walk are marked, so reaching one
+    // again closes a cycle, and finished pages know their depth for the pages that lead to them.
+    private Map<String, Object> checkParentCycles() {
+        KeySet pages = pools.get("Confluence_Pages");
+        int[] depth = new int[parentPages.length]; // 0 unvisited, -1 on the current walk, else depth + 1
+        int[] walk = new int[16];
+        long withParent = 0;
+        long cycles = 0;
+        int maxDepth = 0;
+        List<String> samples = new ArrayList<>();
+        for (int page = 1; page < parentPages.length; page++) {
+            if (parentPages[page] != 0) {
+                withParent++;
+            }
+            int length = 0;
+            int node = page;
+            while (node > 0 && node < parentPages.length && depth[node] == 0) {
+                if (length == walk.length) {
+                    walk = Arrays.copyOf(walk, length * 2);
+                }
+                walk[length++] = node;
+                depth[node] = -1;
+                node = parentPages[node];
+            }
+            int base;
+            if (node > 0 && node < parentPages.length && depth[node] == -1) {
+                cycles++;
+                int cycleStart = length - 1;
+                while (walk[cycleStart] != node) {
+                    cycleStart--;
+                }
+                if (samples.size() < SAMPLE_LIMIT) {
+                    StringBuilder cycle = new StringBuilder();
+                    for (int i = cycleStart; i < length; i++) {
+                        cycle.append(pages.format(walk[i])).append(" -> ");
+                    }
+                    samples.add(cycle.append(pages.format(node)).toString());
+                }
+                for (int i = cycleStart; i < length; i++) {
+                    depth[walk[i]] = 1; // Depth is meaningless on a cycle; treat its pages as roots
+                }
+                length = cycleStart;
+                base = 1;
+            } else {
+                base = node > 0 && node < parentPages.length ? depth[node] : 0;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                depth[walk[i]] = ++base;
+                maxDepth = Math.max(maxDepth, base - 1);
+            }
+        }
+        problems += cycles;
+
+        Map<String, Object> parents = new LinkedHashMap<>();
+        parents.put("pagesWithParent", withParent);
+        parents.put("longestChain", maxDepth);
+        parents.put("cycles", cycles);
+        parents.put("cycleSamples", samples);
+        System.out.printf("Verify Confluence parents: %d pages with a parent, longest chain %d, %d cycle(s)%s%n",
+                withParent, maxDepth, cycles, samples.isEmpty() ? "" : " e.g. " + samples.get(0));
+        return parents;
+    }
+
+    private static void sample(List<String> samples, String value) {
+        if (samples.size() < SAMPLE_LIMIT) {
+            samples.add(value);
+        }
+    }
+
+    // --- Bookkeeping ---
+
+    private static final class TableCheck {
+        final String table;
+        final String keyColumn; // Null when the table defines no key pool
+        final String pool;
+        final List<Link> links = new ArrayList<>();
+
+        TableCheck(String table, String keyColumn, String pool) {
+            this.table = table;
+            this.keyColumn = keyColumn;
+            this.pool = pool;
+        }
+
+        TableCheck link(String column, String pool) {
+            links.add(new Link(column, pool));
+            return this;
+        }
+    }
+
+    /** A reference column; values may be {@code ;}-separated lists, as the Confluence links are. */
+    private static final class Link {
+        final String column;
+        final String pool;
+        final KeySet referenced = new KeySet();
+        long count;
+
+        Link(String column, String pool) {
+            this.column = column;
+            this.pool = pool;
+        }
+
+        void add(String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            int start = 0;
+            while (start <= value.length()) {
+                int end = value.indexOf(';', start);
+                if (end < 0) {
+                    end = value.length();
+                }
+                String id = value.substring(start, end).trim();
+                if (!id.isEmpty()) {
+                    referenced.add(id);
+                    count++;
+                }
+                start = end + 1;
+            }
+        }
+    }
+
+    /**
+     * Set of IDs split into prefix and trailing number, one {@link BitSet} of numbers per prefix; IDs
+     * without a trailing number (none of the generated ones) fall back to a plain set.
+     */
+    private static final class KeySet {
+        private final Map<String, BitSet> numbers = new TreeMap<>();
+        private final Map<String, Integer> widths = new TreeMap<>(); // Narrowest digit run seen per prefix
+        private final Set<String> others = new HashSet<>();
+        private long size;
+
+        /** Adds {@code id}; false when it was already present. */
+        boolean add(String id) {
+            int split = digitsStart(id);
+            boolean added;
+            if (split < 0) {
+                added = others.add(id);
+            } else {
+                String prefix = id.substring(0, split);
+                int number = Integer.parseInt(id, split, id.length(), 10);
+                BitSet bits = numbers.computeIfAbsent(prefix, key -> new BitSet());
+                widths.merge(prefix, id.length() - split, Math::min);
+                added = !bits.get(number);
+                bits.set(number);
+            }
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+
+        long size() {
+            return size;
+        }
+
+        /** Counts this set's IDs absent from {@code pool}, sampling a few of them. */
+        long missingFrom(KeySet pool, List<String> samples) {
+            long missing = 0;
+            for (Map.Entry<String, BitSet> entry : numbers.entrySet()) {
+                BitSet absent = (BitSet) entry.getValue().clone();
+                BitSet present = pool.numbers.get(entry.getKey());
+                if (present != null) {
+                    absent.andNot(present);
+                }
+                missing += absent.cardinality();
+                for (int number = absent.nextSetBit(0); number >= 0 && samples.size() < SAMPLE_LIMIT;
+                        number = absent.nextSetBit(number + 1)) {
+                    samples.add(format(entry.getKey(), number));
+                }
+            }
+            for (String id : others) {
+                if (!pool.others.contains(id)) {
+                    missing++;
+                    sample(samples, id);
+                }
+            }
+            return missing;
+        }
+
+        /** The ID with this number, for reporting; generated numbers are unique across prefixes. */
+        String format(int number) {
+            for (Map.Entry<String, BitSet> entry : numbers.entrySet()) {
+                if (entry.getValue().get(number)) {
+                    return format(entry.getKey(), number);
+                }
+            }
+            return "#" + number;
+        }
+
+        private String format(String prefix, int number) {
+            StringBuilder id = new StringBuilder(prefix);
+            String digits = Integer.toString(number);
+            for (int pad = digits.length(); pad < widths.getOrDefault(prefix, 0); pad++) {
+                id.append('0');
+            }
+            return id.append(digits).toString();
+        }
+
+        /** The trailing number of an ID, or -1 when it has none that fits an int. */
+        static long number(String id) {
+            int split = digitsStart(id);
+            return split < 0 ? -1 : Integer.parseInt(id, split, id.length(), 10);
+        }
+
+        // Start of the trailing run of at most nine digits, or -1 when there is none.
+        private static int digitsStart(String id) {
+            int split = id.length();
+            while (split > 0 && id.charAt(split - 1) >= '0' && id.charAt(split - 1) <= '9') {
+                split--;
+            }
+            return split == id.length() || id.length() - split > 9 ? -1 : split;
+        }
+    }
+
+    private static final class ColumnStats {
+        private final String name;
+        private final CardinalitySketch distinct = new CardinalitySketch();
+        private long empty;
+
+        ColumnStats(String name) {
+            this.name = name;
+        }
+
+        void add(String value) {
+            if (value.isEmpty()) {
+                empty++;
+            } else {
+                distinct.add(value);
+            }
+        }
+
+        Map<String, Object> report(long rows) {
+            Map<String, Object> column = new LinkedHashMap<>();
+            column.put("name", name);
+            column.put("empty", empty);
+            column.put("nullRate", rows == 0 ? 0.0 : Math.round(empty * 10000.0 / rows) / 10000.0);
+            column.put("distinctEstimate", distinct.estimate());
+            return column;
+        }
+    }
+}
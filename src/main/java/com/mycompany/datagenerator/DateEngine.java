@@ -0,0 +1,123 @@
+package com.mycompany.datagenerator;
+
+import java.time.LocalDate;
+
+/**
+ * Allocation-light date handling for generated rows. Dates are plain {@code long}s - epoch days for
+ * {@code yyyy-MM-dd} columns and epoch minutes (local time, no zone) for {@code yyyy-MM-dd HH:mm}
+ * columns - so the hot loop never builds {@code LocalDate}, {@code Date} or {@code Instant} objects.
+ * <p>
+ * The formatted string of every day in the configured range is cached up front; days outside the
+ * range are rendered on demand. An engine is immutable and safe to share between threads.
+ */
+public class DateEngine {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int DAY_LENGTH = 10; // yyyy-MM-dd
+    static final int MINUTE_LENGTH = 16; // yyyy-MM-dd HH:mm
+
+    private final long firstDay;
+    private final String[] dayStrings;
+
+    /** Caches the formatted strings of every day from {@code firstDay} to {@code lastDay} inclusive. */
+    public DateEngine(long firstDay, long lastDay) {
+        this.firstDay = firstDay;
+        this.dayStrings = new String[(int) Math.max(0, lastDay - firstDay + 1)];
+        char[] buffer = new char[DAY_LENGTH];
+        for (int i = 0; i < dayStrings.length; i++) {
+            renderDay(firstDay + i, buffer, 0);
+            dayStrings[i] = new String(buffer);
+        }
+    }
+
+    public static DateEngine forRange(LocalDate first, LocalDate last) {
+        return new DateEngine(first.toEpochDay(), last.toEpochDay());
+    }
+
+    /** {@code yyyy-MM-dd} for the given epoch day. */
+    public String formatDay(long epochDay) {
+        long offset = epochDay - firstDay;
+        if (offset >= 0 && offset < dayStrings.length) {
+            return dayStrings[(int) offset];
+        }
+        char[] buffer = new char[DAY_LENGTH];
+        renderDay(epochDay, buffer, 0);
+        return new String(buffer);
+    }
+
+    /** {@code yyyy-MM-dd HH:mm} for the given epoch minute, rendered through the caller's buffer. */
+    public String formatMinute(long epochMinute, char[] buffer) {
+        long epochDay = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        long offset = epochDay - firstDay;
+        if (offset >= 0 && offset < dayStrings.length) {
+            dayStrings[(int) offset].getChars(0, DAY_LENGTH, buffer, 0);
+        } else {
+            renderDay(epochDay, buffer, 0);
+        }
+        buffer[10] = ' ';
+        writeTwoDigits(minuteOfDay / 60, buffer, 11);
+        buffer[13] = ':';
+        writeTwoDigits(minuteOfDay % 60, buffer, 14);
+        return new String(buffer, 0, MINUTE_LENGTH);
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd} for a proleptic Gregorian epoch day (four-digit years only) using
+     * Howard Hinnant's civil-from-days algorithm.
+     */
+    static void renderDay(long epochDay, char[] buffer, int offset) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        writeTwoDigits(year / 100, buffer, offset);
+        writeTwoDigits(year % 100, buffer, offset + 2);
+        buffer[offset + 4] = '-';
+        writeTwoDigits(month, buffer, offset + 5);
+        buffer[offset + 7] = '-';
+        writeTwoDigits(day, buffer, offset + 8);
+    }
+
+    /** Epoch day of a {@code yyyy-MM-dd} string as produced by {@link #formatDay(long)}. */
+    static long parseDay(CharSequence text) {
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 7);
+        int day = parseDigits(text, 8, 10);
+        // Hinnant's days-from-civil, the inverse of renderDay.
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /** Epoch minute of a {@code yyyy-MM-dd HH:mm} string as produced by {@link #formatMinute}. */
+    static long parseMinute(CharSequence text) {
+        return parseDay(text) * MINUTES_PER_DAY + parseDigits(text, 11, 13) * 60 + parseDigits(text, 14, 16);
+    }
+
+    private static int parseDigits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a generated date: " + text);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeTwoDigits(int value, char[] buffer, int offset) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
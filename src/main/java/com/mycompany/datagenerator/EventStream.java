@@ -0,0 +1,218 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Merges several time-ordered tables into one stream of events in timestamp order, optionally paced
+ * to a target rate, for feeding an ingestion pipeline instead of writing files.
+ * <p>
+ * Each {@link Source} already renders its rows in time order (see {@link EventTimeline}) through
+ * the shared {@link PartitionRunner}, on its own producer thread, into a small bounded queue of
+ * batches. The consumer keeps the current row of every source in a heap keyed by timestamp (ties go
+ * to the earlier source) and always emits the smallest - a k-way merge that holds a few batches per
+ * source however long the stream runs. Every record starts with its table's name; the stream opens
+ * with one header record per table in the same shape.
+ * <p>
+ * With {@code eventsPerSecond > 0} the consumer sleeps whenever it gets ahead of schedule, flushing
+ * first so waiting events reach the consumer on time. A consumer that falls more than a second
+ * behind does not get the backlog as a burst; the schedule restarts from the current event.
+ */
+public class EventStream {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUED_BATCHES = 4;
+    private static final long MIN_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_LAG_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final List<List<String>> END = new ArrayList<>();
+
+    /** A table rendered in time order: {@code timeColumn} holds the {@code yyyy-MM-dd HH:mm} event time. */
+    public static final class Source {
+        private final String name;
+        private final String[] header;
+        private final int timeColumn;
+        private final int count;
+        private final PartitionRunner.RowRenderer renderer;
+
+        public Source(String name, String[] header, int timeColumn, int count, PartitionRunner.RowRenderer renderer) {
+            this.name = name;
+            this.header = header.clone();
+            this.timeColumn = timeColumn;
+            this.count = count;
+            this.renderer = renderer;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final PartitionRunner runner;
+    private final List<Source> sources;
+    private final double eventsPerSecond;
+
+    public EventStream(PartitionRunner runner, List<Source> sources, double eventsPerSecond) {
+        this.runner = runner;
+        this.sources = List.copyOf(sources);
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    /** Streams every source to {@code out} and returns the number of events written. */
+    public long run(RowSink out) throws IOException {
+        List<Feed> feeds = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            List<String> header = new ArrayList<>(source.header.length + 1);
+            header.add(source.name);
+            header.addAll(List.of(source.header));
+            out.writeRow(header);
+            feeds.add(new Feed(source, i));
+        }
+        out.flush();
+
+        long events = 0;
+        try {
+            feeds.forEach(Feed::start);
+            PriorityQueue<Feed> heads = new PriorityQueue<>(
+                    Comparator.comparingLong((Feed feed) -> feed.minute).thenComparingInt(feed -> feed.order));
+            for (Feed feed : feeds) {
+                if (feed.advance()) {
+                    heads.add(feed);
+                }
+            }
+            double nanosPerEvent = eventsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / eventsPerSecond : 0;
+            long scheduleStart = System.nanoTime();
+            long scheduled = 0;
+            while (!heads.isEmpty()) {
+                Feed next = heads.poll();
+                List<String> record = new ArrayList<>(next.row.size() + 1);
+                record.add(next.source.name);
+                record.addAll(next.row);
+                out.writeRow(record);
+                events++;
+                if (next.advance()) {
+                    heads.add(next);
+                }
+                if (nanosPerEvent > 0) {
+                    long wait = scheduleStart + (long) (++scheduled * nanosPerEvent) - System.nanoTime();
+                    if (wait >= MIN_SLEEP_NANOS) {
+                        out.flush();
+                        LockSupport.parkNanos(wait);
+                    } else if (wait < -MAX_LAG_NANOS) {
+                        scheduleStart = System.nanoTime();
+                        scheduled = 0;
+                    }
+                }
+            }
+            out.flush();
+        } finally {
+            feeds.forEach(Feed::stop);
+        }
+        return events;
+    }
+
+    /** One source's producer thread and queue, plus the consumer's position in it. */
+    private final class Feed implements RowSink {
+        private final Source source;
+        private final int order;
+        private final BlockingQueue<List<List<String>>> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        private final Thread producer;
+        private volatile IOException failure;
+        private List<List<String>> filling = new ArrayList<>(BATCH_SIZE);
+        private long rowCount;
+        // Consumer side
+        private List<List<String>> draining = List.of();
+        private int position;
+        private List<String> row;
+        private long minute;
+
+        Feed(Source source, int order) {
+            this.source = source;
+            this.order = order;
+            this.producer = new Thread(this::produce, "event-stream-" + source.name);
+            producer.setDaemon(true);
+        }
+
+        void start() {
+            producer.start();
+        }
+
+        void stop() {
+            producer.interrupt();
+        }
+
+        private void produce() {
+            try {
+                runner.run(source.name, source.count, source.renderer, this);
+                if (!filling.isEmpty()) {
+                    batches.put(filling);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException("Generating " + source.name + " failed: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                return; // Stopped by the consumer, which no longer reads the queue
+            }
+            try {
+                batches.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void writeRow(List<String> row) throws IOException {
+            filling.add(row);
+            rowCount++;
+            if (filling.size() == BATCH_SIZE) {
+                try {
+                    batches.put(filling);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Event stream stopped");
+                }
+                filling = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+
+        @Override
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /** Moves to the source's next row; false once the source is exhausted. */
+        boolean advance() throws IOException {
+            while (position == draining.size()) {
+                try {
+                    draining = batches.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for " + source.name);
+                }
+                position = 0;
+                if (draining == END) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return false;
+                }
+            }
+            row = draining.get(position++);
+            minute = DateEngine.parseMinute(row.get(source.timeColumn));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.datagenerator;
+
+/**
+ * Event times for a table generated in time order, so the rows never need sorting afterwards.
+ * <p>
+ * {@code eventsPerWindow} events spread over {@code windowMinutes} fix the density. Partition
+ * {@code p} of the {@link PartitionRunner} gets the matching slice of the window (events
+ * {@code 1000p..1000p+999} cover minutes {@code start + window * 1000p / eventsPerWindow} onwards),
+ * so partitions are in time order and can still render in parallel. Within a partition the times
+ * are the sorted order statistics of uniform draws over the slice, drawn directly in ascending order
+ * (each is the minimum of the remaining draws), with one {@code nextDouble} per event and no buffer.
+ * Past {@code eventsPerWindow} the slices simply continue beyond the window at the same density.
+ * <p>
+ * The position within a partition is per thread, so rows must be rendered in index order within
+ * each partition - which is how {@link PartitionRunner} renders them.
+ */
+public class EventTimeline {
+
+    private final long startMinute;
+    private final long windowMinutes;
+    private final long eventsPerWindow;
+    private final long count;
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+
+    /**
+     * @param count total events rendered; only the last partition may be short, and its slice
+     *              shrinks with it
+     */
+    public EventTimeline(long startMinute, long windowMinutes, long eventsPerWindow, long count) {
+        if (windowMinutes <= 0 || eventsPerWindow <= 0) {
+            throw new IllegalArgumentException("An event timeline needs a positive window and event count");
+        }
+        this.startMinute = startMinute;
+        this.windowMinutes = windowMinutes;
+        this.eventsPerWindow = eventsPerWindow;
+        this.count = count;
+    }
+
+    /** Epoch minute of the event at {@code index}; never earlier than the previous index's. */
+    public long minute(GenerationContext ctx, int index) {
+        Cursor cursor = cursors.get();
+        int partitionStart = index - index % PartitionRunner.PARTITION_SIZE;
+        if (index == partitionStart) {
+            cursor.partitionEnd = Math.min(count, (long) partitionStart + PartitionRunner.PARTITION_SIZE);
+            cursor.sliceStart = boundary(partitionStart);
+            cursor.sliceLength = boundary(cursor.partitionEnd) - cursor.sliceStart;
+            cursor.position = 0;
+        } else if (index != cursor.next) {
+            throw new IllegalStateException("Event " + index + " rendered out of order; expected " + cursor.next);
+        }
+        cursor.next = index + 1;
+        long remaining = cursor.partitionEnd - index;
+        // The smallest of `remaining` uniforms on [position, 1); 1 - nextDouble() is in (0, 1].
+        cursor.position += (1 - cursor.position) * -Math.expm1(Math.log(1 - ctx.random.nextDouble()) / remaining);
+        long offset = (long) (cursor.position * cursor.sliceLength);
+        return cursor.sliceStart + Math.min(offset, Math.max(0, cursor.sliceLength - 1));
+    }
+
+    private long boundary(long index) {
+        return startMinute + windowMinutes * index / eventsPerWindow;
+    }
+
+    private static final class Cursor {
+        long next = -1;
+        long partitionEnd;
+        long sliceStart;
+        long sliceLength;
+        double position;
+    }
+}
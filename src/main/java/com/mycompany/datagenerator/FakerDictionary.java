@@ -0,0 +1,330 @@
+package com.mycompany.datagenerator;
+
+import com.github.javafaker.Faker;
+import com.github.javafaker.service.FakeValuesService;
+import com.github.javafaker.service.RandomService;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The few Faker en-US dictionaries the generator draws from (first and last names, the company
+ * {@code bs} and buzzword lists, lorem words), and the free-text methods built on them.
+ * <p>
+ * Faker parses its whole locale YAML for every {@link Faker} instance - once per worker thread - and
+ * resolves each call through its expression engine; for fixture-sized runs that is nearly all of the
+ * run time. These lists are all that {@code company().bs()}, {@code company().catchPhrase()} and
+ * {@code lorem().words()/sentences()} read, so the methods here make the same {@code nextInt} calls on
+ * the same lists in the same order and return the same strings for the same {@link Random} state:
+ * output for a seed does not change.
+ * <p>
+ * The lists are extracted from Faker once per process. With {@code generation.dictionarySnapshot}
+ * set (it is off by default), they are also saved to that small binary file, and later runs
+ * memory-map it and skip Faker's YAML entirely. A snapshot taken from a different javafaker jar, or
+ * one that cannot be read, is rebuilt. One dictionary is shared by the whole process.
+ */
+public final class FakerDictionary {
+
+    private static final int MAGIC = 0x464b4453; // "FKDS"
+    private static final int VERSION = 1;
+    private static final String FEMALE_FIRST_NAMES = "name.female_first_name";
+    private static final String MALE_FIRST_NAMES = "name.male_first_name";
+    private static final String LAST_NAMES = "name.last_name";
+    private static final String BS = "company.bs";
+    private static final String BUZZWORDS = "company.buzzwords";
+    private static final String LOREM_WORDS = "lorem.words";
+    private static final String[] KEYS = { FEMALE_FIRST_NAMES, MALE_FIRST_NAMES, LAST_NAMES, BS, BUZZWORDS,
+            LOREM_WORDS };
+    private static final int SENTENCE_WORDS = 3; // lorem().sentence(): 3 words plus nextInt(6) more
+    private static final int SENTENCE_EXTRA_WORDS = 6;
+
+    private static FakerDictionary shared;
+    private static final Set<Path> currentSnapshots = new HashSet<>(); // Read or written by this process
+
+    private final Map<String, String[][]> lists; // Key -> its list, or its lists for bs and buzzwords
+    private final String[][] bs;
+    private final String[][] buzzwords;
+    private final String[] loremWords;
+    private final String[] firstNames;
+    private final char[] lastNameInitials;
+
+    private FakerDictionary(Map<String, String[][]> lists) {
+        this.lists = lists;
+        this.bs = lists.get(BS);
+        this.buzzwords = lists.get(BUZZWORDS);
+        this.loremWords = lists.get(LOREM_WORDS)[0];
+
+        // Sorted and distinct, so positions in the user-name space are stable
+        TreeSet<String> names = new TreeSet<>();
+        for (String[] group : new String[][] { lists.get(FEMALE_FIRST_NAMES)[0], lists.get(MALE_FIRST_NAMES)[0] }) {
+            for (String name : group) {
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            names.add("User");
+        }
+        TreeSet<Character> initials = new TreeSet<>();
+        for (String name : lists.get(LAST_NAMES)[0]) {
+            if (!name.isEmpty()) {
+                initials.add(name.charAt(0));
+            }
+        }
+        if (initials.isEmpty()) {
+            initials.add('X'); // Same fallback the old name loop used
+        }
+        this.firstNames = names.toArray(new String[0]);
+        this.lastNameInitials = new char[initials.size()];
+        int i = 0;
+        for (char initial : initials) {
+            lastNameInitials[i++] = initial;
+        }
+    }
+
+    /**
+     * The process-wide dictionary: read from {@code snapshot} when that file is current, otherwise
+     * extracted from Faker and, unless {@code snapshot} is empty, saved there for the next run.
+     */
+    public static synchronized FakerDictionary load(String snapshot) {
+        Path file = snapshot == null || snapshot.isEmpty() ? null : Paths.get(snapshot).toAbsolutePath();
+        if (file != null && !currentSnapshots.contains(file) && Files.isRegularFile(file)) {
+            try {
+                FakerDictionary dictionary = read(file);
+                currentSnapshots.add(file);
+                if (shared == null) {
+                    shared = dictionary;
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Rebuilding dictionary snapshot " + file + ": " + e.getMessage());
+            }
+        }
+        if (shared == null) {
+            shared = extract();
+        }
+        if (file != null && !currentSnapshots.contains(file)) {
+            try {
+                shared.write(file);
+                currentSnapshots.add(file);
+                System.out.println("Dictionary snapshot written to " + file);
+            } catch (IOException e) {
+                System.err.println("Could not write dictionary snapshot " + file + ": " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    // --- Free text, call for call the same as Faker's ---
+
+    /** {@code company().bs()}: one word from each list, joined with spaces. */
+    public String bs(Random random) {
+        return sampleOfEachList(bs, random);
+    }
+
+    /** {@code company().catchPhrase()}: one buzzword from each list, joined with spaces. */
+    public String catchPhrase(Random random) {
+        return sampleOfEachList(buzzwords, random);
+    }
+
+    /** {@code String.join(" ", lorem().words(count))}. */
+    public String words(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        appendWords(words, random, count);
+        return words.toString();
+    }
+
+    /** {@code String.join(" ", lorem().sentences(count))}. */
+    public String sentences(Random random, int count) {
+        StringBuilder sentences = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sentences.append(' ');
+            }
+            int start = sentences.length();
+            appendWords(sentences, random, SENTENCE_WORDS + random.nextInt(SENTENCE_EXTRA_WORDS));
+            sentences.append('.');
+            if (start < sentences.length()) {
+                sentences.setCharAt(start, Character.toTitleCase(sentences.charAt(start)));
+            }
+        }
+        return sentences.toString();
+    }
+
+    /** Distinct en-US first names (female and male), sorted. */
+    public String[] firstNames() {
+        return firstNames;
+    }
+
+    /** Distinct initials of the en-US last names, sorted. */
+    public char[] lastNameInitials() {
+        return lastNameInitials;
+    }
+
+    private void appendWords(StringBuilder out, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            out.append(loremWords[random.nextInt(loremWords.length)]);
+        }
+    }
+
+    private static String sampleOfEachList(String[][] groups, Random random) {
+        StringBuilder sample = new StringBuilder();
+        for (int i = 0; i < groups.length; i++) {
+            if (i > 0) {
+                sample.append(' ');
+            }
+            sample.append(groups[i][random.nextInt(groups[i].length)]);
+        }
+        return sample.toString();
+    }
+
+    // --- Extraction and the snapshot file ---
+
+    private static FakerDictionary extract() {
+        FakeValuesService values = new FakeValuesService(new Locale("en-US"), new RandomService(new Random(0)));
+        Map<String, String[][]> lists = new LinkedHashMap<>();
+        for (String key : KEYS) {
+            Object value = values.fetchObject(key);
+            List<String[]> groups = new ArrayList<>();
+            if (value instanceof List && !((List<?>) value).isEmpty() && ((List<?>) value).get(0) instanceof List) {
+                for (Object group : (List<?>) value) {
+                    groups.add(strings((List<?>) group, key));
+                }
+            } else {
+                groups.add(value instanceof List ? strings((List<?>) value, key) : new String[0]);
+            }
+            lists.put(key, groups.toArray(new String[0][]));
+        }
+        return new FakerDictionary(lists);
+    }
+
+    private static String[] strings(List<?> values, String key) {
+        String[] strings = new String[values.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = String.valueOf(values.get(i));
+            if (strings[i].contains("#{")) {
+                // Faker would resolve the expression on every call; a plain list cannot stand in for it
+                throw new IllegalStateException("Faker's " + key + " holds an expression: " + strings[i]);
+            }
+        }
+        return strings;
+    }
+
+    // Layout: magic, version, source jar, list count, then per list its key, group count and, per
+    // group, the string count and the strings. Strings are an int byte length and UTF-8.
+    private void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(file.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeUtf(out, source());
+                out.writeInt(lists.size());
+                for (Map.Entry<String, String[][]> entry : lists.entrySet()) {
+                    writeUtf(out, entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (String[] group : entry.getValue()) {
+                        out.writeInt(group.length);
+                        for (String value : group) {
+                            writeUtf(out, value);
+                        }
+                    }
+                }
+            }
+            try {
+                // Concurrent first runs each write a complete file; whichever moves last wins
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static FakerDictionary read(Path file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("not a version " + VERSION + " dictionary snapshot");
+            }
+            String source = readUtf(in);
+            if (!source.equals(source())) {
+                throw new IOException("taken from " + source + ", not " + source());
+            }
+            Map<String, String[][]> lists = new LinkedHashMap<>();
+            int listCount = in.getInt();
+            for (int l = 0; l < listCount; l++) {
+                String key = readUtf(in);
+                String[][] groups = new String[in.getInt()][];
+                for (int g = 0; g < groups.length; g++) {
+                    groups[g] = new String[in.getInt()];
+                    for (int i = 0; i < groups[g].length; i++) {
+                        groups[g][i] = readUtf(in);
+                    }
+                }
+                lists.put(key, groups);
+            }
+            for (String key : KEYS) {
+                if (!lists.containsKey(key)) {
+                    throw new IOException("missing " + key);
+                }
+            }
+            return new FakerDictionary(lists);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated", e);
+        }
+    }
+
+    private static void writeUtf(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readUtf(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The javafaker jar's file name, which carries its version
+    private static String source() {
+        CodeSource code = Faker.class.getProtectionDomain().getCodeSource();
+        String location = code != null && code.getLocation() != null ? code.getLocation().getPath() : "";
+        String name = location.substring(location.lastIndexOf('/', location.length() - 2) + 1);
+        return name.isEmpty() ? "javafaker" : name;
+    }
+}
@@ -0,0 +1,188 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link RowSink} that writes RFC 4180 CSV byte-for-byte identical to Commons CSV's
+ * {@code CSVFormat.DEFAULT} (minimal quoting, CRLF record separator), without going through
+ * {@code CSVPrinter}'s per-value Appendable layers.
+ * <p>
+ * Values are UTF-8 encoded straight into one large reusable buffer which is handed to the file's
+ * channel (or, for compressed and rolled output, the given stream) in a single write. Columns
+ * declared as plain (IDs, dates, numbers, fixed vocabularies) are known never to need quoting
+ * and skip the per-character quoting scan entirely.
+ */
+public class FastCsvWriter implements RowSink {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+
+    private final OutputStream out;
+    private final boolean[] plainColumns;
+    private byte[] bytes = new byte[BUFFER_SIZE];
+    private int position;
+    private long flushedBytes;
+    private long rowCount;
+
+    public FastCsvWriter(Path file, String[] header, Collection<String> plainColumnNames) throws IOException {
+        this(Files.newOutputStream(file), header, plainColumnNames);
+    }
+
+    /** Writes to {@code out}, which is closed with this writer. */
+    public FastCsvWriter(OutputStream out, String[] header, Collection<String> plainColumnNames) throws IOException {
+        this(out, header, plainColumnNames, true);
+    }
+
+    /** As above; {@code writeHeader} is false when appending to a file that already has its header. */
+    public FastCsvWriter(OutputStream out, String[] header, Collection<String> plainColumnNames, boolean writeHeader)
+            throws IOException {
+        this.out = out;
+        this.plainColumns = new boolean[header.length];
+        for (int i = 0; i < header.length; i++) {
+            plainColumns[i] = plainColumnNames.contains(header[i]);
+        }
+        if (writeHeader) {
+            writeRecord(List.of(header), false);
+        }
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        writeRecord(row, true);
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getByteCount() {
+        return flushedBytes + position;
+    }
+
+    private void writeRecord(List<String> values, boolean usePlainColumns) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                ensureCapacity(1);
+                bytes[position++] = COMMA;
+            }
+            boolean plain = usePlainColumns && i < plainColumns.length && plainColumns[i];
+            writeValue(values.get(i), i == 0, plain);
+        }
+        ensureCapacity(2);
+        bytes[position++] = '\r';
+        bytes[position++] = '\n';
+    }
+
+    private void writeValue(String value, boolean firstInRecord, boolean plain) throws IOException {
+        if (value == null) {
+            return; // CSVFormat.DEFAULT prints null as nothing at all
+        }
+        int length = value.length();
+        // Worst case: every char becomes three bytes, or a doubled quote, plus the enclosing quotes.
+        ensureCapacity(3 * length + 2);
+        if ((plain && (length > 0 || !firstInRecord)) || !needsQuotes(value, firstInRecord)) {
+            encode(value, 0, length);
+            return;
+        }
+        bytes[position++] = QUOTE;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                encode(value, start, i + 1);
+                bytes[position++] = QUOTE; // Escape by doubling
+                start = i + 1;
+            }
+        }
+        encode(value, start, length);
+        bytes[position++] = QUOTE;
+    }
+
+    /** Mirrors {@code QuoteMode.MINIMAL} in Commons CSV's {@code CSVFormat.printWithQuotes}. */
+    static boolean needsQuotes(String value, boolean firstInRecord) {
+        int length = value.length();
+        if (length == 0) {
+            // An empty first value is quoted so a single-column empty record is not an empty line.
+            return firstInRecord;
+        }
+        if (value.charAt(0) <= '#') {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return value.charAt(length - 1) <= ' ';
+    }
+
+    private void encode(String value, int start, int end) throws MalformedInputException {
+        byte[] out = bytes;
+        int pos = position;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: fail like Files.newBufferedWriter's encoder does.
+                position = pos;
+                throw new MalformedInputException(1);
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = pos;
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (bytes.length - position >= needed) {
+            return;
+        }
+        flushBuffer();
+        if (bytes.length < needed) {
+            bytes = new byte[needed];
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(bytes, 0, position);
+        flushedBytes += position;
+        position = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+}
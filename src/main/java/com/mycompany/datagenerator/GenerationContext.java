@@ -0,0 +1,131 @@
+package com.mycompany.datagenerator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random state used to generate one partition of a table: a {@link Random}, and the Faker
+ * dictionaries ({@link FakerDictionary}) free text draws from with it. Each worker thread owns one
+ * context and reseeds it at the start of every partition, so the values produced for a partition
+ * only depend on its seed, never on which thread ran it.
+ */
+public class GenerationContext {
+
+    private static final DateEngine UNCACHED_DATES = new DateEngine(0, -1);
+
+    final Random random = new Random();
+    private FakerDictionary dictionary; // Set per partition; the default snapshot-less one until then
+    private TextPool textPool; // When set, free text is sampled from the pool instead of the dictionary
+    private DateEngine dateEngine = UNCACHED_DATES;
+    private final char[] dateBuffer = new char[DateEngine.MINUTE_LENGTH];
+    private long fakerNanos; // Time producing free text, from the dictionary or the text pool
+
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    public void useDictionary(FakerDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public void useTextPool(TextPool textPool) {
+        this.textPool = textPool;
+    }
+
+    public void useDateEngine(DateEngine dateEngine) {
+        this.dateEngine = dateEngine != null ? dateEngine : UNCACHED_DATES;
+    }
+
+    // --- Free text: from the shared TextPool when one is configured, otherwise Faker's dictionaries ---
+
+    public String bs() {
+        long start = System.nanoTime();
+        String value = textPool != null ? textPool.bs(random) : dictionary().bs(random);
+        fakerNanos += System.nanoTime() - start;
+        return value;
+    }
+
+    public String catchPhrase() {
+        long start = System.nanoTime();
+        String value = textPool != null ? textPool.catchPhrase(random) : dictionary().catchPhrase(random);
+        fakerNanos += System.nanoTime() - start;
+        return value;
+    }
+
+    public String words(int count) {
+        long start = System.nanoTime();
+        String value = textPool != null ? textPool.words(random, count) : dictionary().words(random, count);
+        fakerNanos += System.nanoTime() - start;
+        return value;
+    }
+
+    public String sentences(int count) {
+        long start = System.nanoTime();
+        String value = textPool != null ? textPool.sentences(random, count)
+                : dictionary().sentences(random, count);
+        fakerNanos += System.nanoTime() - start;
+        return value;
+    }
+
+    private FakerDictionary dictionary() {
+        if (dictionary == null) {
+            dictionary = FakerDictionary.load(null);
+        }
+        return dictionary;
+    }
+
+    /** Time spent producing free text since the last call, for {@link TableMetrics}. */
+    long takeFakerNanos() {
+        long nanos = fakerNanos;
+        fakerNanos = 0;
+        return nanos;
+    }
+
+    // --- Dates as epoch days / epoch minutes (see DateEngine) ---
+
+    /** Uniformly random epoch day between {@code startDay} and {@code endDay}, both inclusive. */
+    public long randomDay(long startDay, long endDay) {
+        if (startDay > endDay) { // Ensure start is not after end
+            return startDay;
+        }
+        return startDay + nextLong(endDay - startDay + 1);
+    }
+
+    /** Uniformly random epoch minute in {@code [startMinute, endMinute)}. */
+    public long randomMinute(long startMinute, long endMinute) {
+        if (startMinute >= endMinute) {
+            return startMinute;
+        }
+        return startMinute + nextLong(endMinute - startMinute);
+    }
+
+    public String formatDay(long epochDay) {
+        return dateEngine.formatDay(epochDay);
+    }
+
+    public String formatMinute(long epochMinute) {
+        return dateEngine.formatMinute(epochMinute, dateBuffer);
+    }
+
+    private long nextLong(long bound) {
+        return bound <= Integer.MAX_VALUE ? random.nextInt((int) bound) : (long) (random.nextDouble() * bound);
+    }
+
+    public String generateSemicolonDelimitedList(List<String> sourceList, int maxItems) {
+        if (sourceList == null || sourceList.isEmpty() || maxItems <= 0) {
+            return "";
+        }
+        int numItems = random.nextInt(Math.min(maxItems, sourceList.size()) + 1);
+        if (numItems == 0) {
+            return "";
+        }
+        return LinkSampler.joinDistinct(random, sourceList, numItems);
+    }
+
+    public <T> T randomChoice(List<T> list) {
+        if (list == null || list.isEmpty()) {
+            return null;
+        }
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -0,0 +1,169 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run-wide instrumentation: one {@link TableMetrics} per table, a periodic progress line while
+ * tables are running, a console and JSON summary at the end, and optional JMX registration.
+ */
+public class GenerationMetrics {
+
+    private static final String JMX_DOMAIN = "com.mycompany.datagenerator";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = enableAllocationTracking();
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final long gcCountAtStart = gcCount();
+    private final long gcMillisAtStart = gcMillis();
+    private final Map<String, TableMetrics> tables = new LinkedHashMap<>();
+    private volatile boolean jmx;
+    private ScheduledExecutorService reporter;
+
+    /** Starts counters for a table run; a later run of the same stream replaces the earlier one. */
+    public synchronized TableMetrics startTable(String name, long entities) {
+        TableMetrics table = new TableMetrics(name, entities);
+        tables.remove(name);
+        tables.put(name, table);
+        if (jmx) {
+            register(table);
+        }
+        return table;
+    }
+
+    public synchronized List<TableMetrics> getTables() {
+        return new ArrayList<>(tables.values());
+    }
+
+    /** Registers every table started from now on as an MXBean on the platform MBean server. */
+    public void enableJmx() {
+        jmx = true;
+    }
+
+    /** Prints a progress line for every running table every {@code intervalSeconds}; 0 disables it. */
+    public synchronized void startReporting(int intervalSeconds) {
+        if (intervalSeconds <= 0 || reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::printProgress, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    private void printProgress() {
+        for (TableMetrics table : getTables()) {
+            if (table.isFinished()) {
+                continue;
+            }
+            long eta = table.etaSeconds();
+            System.out.printf("Progress %s: %d/%d (%.0f%%), %d rows, %.0f rows/s, %.1f MB, ETA %s%n",
+                    table.getName(), table.getEntitiesDone(), table.getEntities(),
+                    table.getEntities() > 0 ? table.getEntitiesDone() * 100.0 / table.getEntities() : 100.0,
+                    table.getRows(), table.getRowsPerSecond(), table.getBytes() / 1048576.0,
+                    eta < 0 ? "unknown" : eta + "s");
+        }
+    }
+
+    public void printSummary() {
+        for (TableMetrics table : getTables()) {
+            long busy = Math.max(1, table.getRenderMillis() + table.getWriteMillis());
+            System.out.printf("Metrics %s: %d rows in %d ms (%.0f rows/s), %.1f MB, time split faker %d%% /"
+                            + " formatting %d%% / writing %d%%, allocated %.0f MB%n",
+                    table.getName(), table.getRows(), table.getWallMillis(), table.getRowsPerSecond(),
+                    table.getBytes() / 1048576.0, table.getFakerMillis() * 100 / busy,
+                    table.getFormatMillis() * 100 / busy, table.getWriteMillis() * 100 / busy,
+                    table.getAllocatedBytes() / 1048576.0);
+        }
+    }
+
+    /** Writes the run summary and every table's counters as JSON; {@code run} adds run-level fields. */
+    public void writeSummary(Path file, Map<String, Object> run) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>(run);
+        summary.put("startedAt", startedAt.toString());
+        summary.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        summary.put("gcCount", gcCount() - gcCountAtStart);
+        summary.put("gcMillis", gcMillis() - gcMillisAtStart);
+        summary.put("allocationTracked", ALLOCATION_SUPPORTED);
+        summary.put("tables", getTables());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary);
+    }
+
+    private static void register(TableMetrics table) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=TableMetrics,name=" + ObjectName.quote(table.getName()));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(table, name);
+        } catch (JMException e) {
+            System.err.println("Could not register JMX metrics for " + table.getName() + ": " + e.getMessage());
+        }
+    }
+
+    // --- JVM counters ---
+
+    /** Bytes allocated so far by the calling thread, or 0 when the JVM cannot tell. */
+    static long threadAllocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static boolean enableAllocationTracking() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+}
@@ -0,0 +1,245 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running HTTP front end (the JDK's built-in {@link HttpServer}) that generates one table per
+ * request, so test suites skip JVM start-up and class loading on every run:
+ * <pre>
+ * GET /tables                                  table names, one per line
+ * GET /tables/jira-issues?rows=500&amp;seed=7&amp;format=ndjson
+ * </pre>
+ * Tables are addressed by file name without extension, or lower-case with dashes and without
+ * {@code _Detailed} (cr-main, cr-ctasks, jira-issues, jira-activities, confluence-pages, schema
+ * tables). {@code rows} sets that table's count (referenced ID pools keep their configured sizes),
+ * {@code seed} the master seed (echoed in {@code X-Seed}), and {@code format} csv (default) or ndjson.
+ * <p>
+ * The body is a chunked response written as the partitions are produced. Each request builds its
+ * own {@link DataGenerator} from a copy of the configuration - its own seed, ID registries and
+ * seeded lookups - and renders it on its worker thread, whose {@link GenerationContext} is built when
+ * the server starts and reused by every request. The Faker dictionary and the date cache are loaded
+ * once, at start-up, and shared by every request; run messages are only printed with
+ * {@code server.logRequests}. Requests beyond the worker pool wait
+ * in a bounded queue; once that is full, the executor rejects the connection and the JDK dispatcher
+ * closes it without a response, which the client sees as a closed or reset connection.
+ */
+public class GenerationServer {
+
+    private static final ObjectMapper CONFIG_COPIER = new ObjectMapper();
+
+    private final AppConfig defaults;
+    private final DataGenerator.SharedLookups lookups; // Dictionary and date cache, shared by every request
+    private final PrintStream requestLog;
+    private final Map<String, String> tables = new HashMap<>(); // Table or path name -> table name
+    private final List<String> pathNames = new ArrayList<>();
+
+    private GenerationServer(AppConfig defaults) {
+        this.defaults = defaults;
+        this.lookups = DataGenerator.sharedLookups(defaults);
+        this.requestLog = defaults.getServer().isLogRequests() ? System.out
+                : new PrintStream(OutputStream.nullOutputStream());
+        try (DataGenerator generator = new DataGenerator(requestConfig(null, 0, null), lookups, requestLog)) {
+            for (String table : generator.tableNames()) {
+                tables.put(table, table);
+                tables.put(pathName(table), table);
+                pathNames.add(pathName(table));
+            }
+        }
+    }
+
+    /** Starts serving {@code server.port} and returns; the server's threads keep the JVM running. */
+    public static HttpServer start(AppConfig config) throws IOException {
+        AppConfig.Server settings = config.getServer();
+        int workers = Math.max(1, settings.getWorkers());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueuedRequests())), runnable -> new Thread(() -> {
+                    PartitionRunner.prepareThread();
+                    runnable.run();
+                }, "generation-server-" + threadCount.incrementAndGet()));
+        executor.prestartAllCoreThreads(); // Build every worker's context before the first request
+
+        GenerationServer server = new GenerationServer(config);
+        HttpServer http = HttpServer.create(new InetSocketAddress(settings.getPort()), 0);
+        http.createContext("/tables", server::handle);
+        http.setExecutor(executor);
+        http.start();
+        System.out.println("Generation server listening on port " + http.getAddress().getPort() + " with "
+                + workers + " workers; tables: " + String.join(", ", server.pathNames));
+        return http;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendText(exchange, 405, "Only GET is supported");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/tables") || path.equals("/tables/")) {
+                sendText(exchange, 200, String.join("\n", pathNames) + "\n");
+                return;
+            }
+            String table = tables.get(path.substring("/tables/".length()));
+            if (table == null) {
+                sendText(exchange, 404, "Unknown table; GET /tables lists them");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int rows;
+            Long seed;
+            try {
+                rows = Integer.parseInt(query.getOrDefault("rows", "100"));
+                seed = query.containsKey("seed") ? Long.valueOf(query.get("seed")) : null;
+            } catch (NumberFormatException e) {
+                sendText(exchange, 400, "rows and seed must be integers");
+                return;
+            }
+            if (rows <= 0 || rows > defaults.getServer().getMaxRows()) {
+                sendText(exchange, 400, "rows must be between 1 and " + defaults.getServer().getMaxRows());
+                return;
+            }
+            String format = query.getOrDefault("format", "csv");
+            if (!format.equals("csv") && !format.equals("ndjson")) {
+                sendText(exchange, 400, "format must be csv or ndjson");
+                return;
+            }
+
+            AppConfig config;
+            try {
+                config = requestConfig(table, rows, seed);
+            } catch (IllegalArgumentException e) {
+                sendText(exchange, 400, e.getMessage());
+                return;
+            }
+            generate(exchange, config, table, format);
+        } finally {
+            exchange.close(); // HttpExchange is not AutoCloseable on JDK 11
+        }
+    }
+
+    private void generate(HttpExchange exchange, AppConfig config, String table, String format) throws IOException {
+        boolean[] started = { false };
+        try (DataGenerator generator = new DataGenerator(config, lookups, requestLog)) {
+            generator.setSinkOpener((stream, filename, header, plainColumns, columnTypes) -> {
+                // Headers go out when the table opens its sink, so earlier failures still get a status code.
+                exchange.getResponseHeaders().set("Content-Type",
+                        format.equals("csv") ? "text/csv; charset=utf-8" : "application/x-ndjson");
+                exchange.getResponseHeaders().set("X-Seed", String.valueOf(config.getGeneration().getSeed()));
+                exchange.sendResponseHeaders(200, 0); // Chunked
+                started[0] = true;
+                OutputStream body = exchange.getResponseBody();
+                return format.equals("csv") ? new FastCsvWriter(body, header, plainColumns)
+                        : new NdjsonRowSink(body, header);
+            });
+            generator.generateTable(table);
+        } catch (RuntimeException e) {
+            if (started[0]) {
+                throw e; // Mid-body: the server drops the connection, so the client sees a truncated response
+            }
+            if (e instanceof IllegalArgumentException) {
+                sendText(exchange, 400, String.valueOf(e.getMessage())); // The request's settings were rejected
+                return;
+            }
+            System.err.println("Error generating " + table + " for " + exchange.getRequestURI());
+            e.printStackTrace();
+            sendText(exchange, 500, "Generating " + table + " failed; see the server log");
+            return;
+        }
+        if (!started[0]) {
+            sendText(exchange, 500, "No rows were generated for " + table + "; see the server log");
+        }
+    }
+
+    // A private copy of the configuration for one request: one table, one thread, nothing written to disk.
+    private AppConfig requestConfig(String table, int rows, Long seed) {
+        AppConfig config = CONFIG_COPIER.convertValue(defaults, AppConfig.class);
+        AppConfig.Generation generation = config.getGeneration();
+        generation.setThreads(1); // Concurrency comes from the worker pool
+        generation.setPipeline(false);
+        generation.setCheckpointIntervalSeconds(0);
+        generation.setResume(false);
+        generation.setAppend(false);
+        generation.setShardCount(1);
+        generation.setShardIndex(0);
+        generation.setSeed(seed != null ? seed : generation.getSeed() != null ? generation.getSeed()
+                : new Random().nextLong());
+        config.getMetrics().setProgressIntervalSeconds(0);
+        config.getMetrics().setSummaryFile("");
+        config.getMetrics().setJmx(false);
+        config.getStream().setEnabled(false);
+        config.getOutput().setFormat(AppConfig.Output.FORMAT_CSV);
+        if (table == null) {
+            return config;
+        }
+        switch (table) {
+            case "CR_Main":
+                generation.setUniqueCrs(rows);
+                break;
+            case "CR_CTasks":
+                generation.setCrCtasks(rows);
+                break;
+            case "JIRA_Issues_Detailed":
+                generation.setUniqueJiras(rows);
+                break;
+            case "JIRA_Activities":
+                generation.setJiraActivities(rows);
+                break;
+            case "Confluence_Pages_Detailed":
+                generation.setConfluencePages(rows);
+                break;
+            default:
+                config.getSchema().getTables().stream()
+                        .filter(spec -> spec.getName().equals(table))
+                        .forEach(spec -> spec.setRows(rows));
+        }
+        return config;
+    }
+
+    static String pathName(String table) {
+        String name = table.toLowerCase(Locale.ROOT).replace('_', '-');
+        return name.endsWith("-detailed") ? name.substring(0, name.length() - "-detailed".length()) : name;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
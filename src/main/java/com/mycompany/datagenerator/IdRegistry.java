@@ -0,0 +1,76 @@
+package com.mycompany.datagenerator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Compact, read-mostly list of generated entity IDs such as {@code NOVA-042} or {@code CONF-KB-007}.
+ * <p>
+ * An ID is a prefix followed by its 1-based sequence number padded to at least three digits, so
+ * only the prefix has to be remembered: one byte per entity when the entity type has several
+ * prefixes, nothing at all when it has one. The ID string is formatted on lookup.
+ */
+public class IdRegistry extends AbstractList<String> implements RandomAccess {
+
+    private final String[] prefixes;
+    private byte[] prefixCodes; // Stays null for single-prefix registries
+    private int size;
+
+    public IdRegistry(String... prefixes) {
+        if (prefixes.length == 0 || prefixes.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("An ID registry needs between 1 and 127 prefixes");
+        }
+        this.prefixes = prefixes.clone();
+        this.prefixCodes = prefixes.length > 1 ? new byte[16] : null;
+    }
+
+    /** Appends the next ID in sequence, using the prefix at {@code prefixCode}. */
+    public void register(int prefixCode) {
+        if (prefixCode < 0 || prefixCode >= prefixes.length) {
+            throw new IllegalArgumentException("Unknown prefix code " + prefixCode);
+        }
+        if (prefixCodes != null) {
+            if (size == prefixCodes.length) {
+                prefixCodes = Arrays.copyOf(prefixCodes, Math.max(16, size + (size >> 1)));
+            }
+            prefixCodes[size] = (byte) prefixCode;
+        }
+        size++;
+    }
+
+    public int prefixCode(int index) {
+        checkIndex(index);
+        return prefixCodes == null ? 0 : prefixCodes[index];
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        StringBuilder id = new StringBuilder(prefixes[prefixCode(index)]);
+        String number = Integer.toString(index + 1);
+        for (int pad = number.length(); pad < 3; pad++) {
+            id.append('0');
+        }
+        return id.append(number).toString();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        if (prefixCodes != null) {
+            prefixCodes = new byte[16];
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
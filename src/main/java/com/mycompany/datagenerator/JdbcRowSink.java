@@ -0,0 +1,269 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * {@link RowSink} that inserts a table straight into a database over JDBC, so a loader does not
+ * have to write, re-read and re-parse CSV text.
+ * <p>
+ * The table is created from the generator's header on the first connection ({@code CREATE TABLE IF
+ * NOT EXISTS}, optionally after a {@code DROP}); columns are typed from the same
+ * {@link ArrowRowSink.Column} declarations the Arrow output uses, anything undeclared is VARCHAR,
+ * and empty values are inserted as NULL. Rows are grouped into batches of {@code batchSize} and
+ * queued to {@code connections} writer threads, each with its own connection and prepared INSERT
+ * that commits once per batch. The queue is bounded, so a slow database eventually blocks the
+ * producer. A failure on a writer thread is rethrown from the next {@code writeRow} or from
+ * {@link #close()}; batches already committed stay in the table.
+ */
+public class JdbcRowSink implements RowSink {
+
+    private static final List<List<String>> END = new ArrayList<>();
+
+    private final String[] header;
+    private final ArrowRowSink.Kind[] kinds;
+    private final int batchSize;
+    private final BlockingQueue<List<List<String>>> batches;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile IOException failure;
+    private List<List<String>> batch;
+    private long rowCount;
+    private boolean closed;
+
+    public JdbcRowSink(AppConfig.Jdbc jdbc, String table, String[] header, Map<String, ArrowRowSink.Column> columns)
+            throws IOException {
+        this.header = header.clone();
+        this.kinds = new ArrowRowSink.Kind[header.length];
+        for (int i = 0; i < header.length; i++) {
+            kinds[i] = columns.getOrDefault(header[i], ArrowRowSink.Column.text()).kind();
+        }
+        this.batchSize = Math.max(1, jdbc.getBatchSize());
+        int connections = Math.max(1, jdbc.getConnections());
+        this.batches = new ArrayBlockingQueue<>(connections * 2);
+        this.batch = new ArrayList<>(batchSize);
+
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                opened.add(DriverManager.getConnection(jdbc.getUrl(), jdbc.getUser(), jdbc.getPassword()));
+            }
+            try (Statement statement = opened.get(0).createStatement()) {
+                if (jdbc.isRecreateTables()) {
+                    statement.execute("DROP TABLE IF EXISTS " + quote(table));
+                }
+                statement.execute(createTableSql(table));
+            }
+            for (Connection connection : opened) {
+                connection.setAutoCommit(false);
+            }
+        } catch (SQLException e) {
+            closeAll(opened);
+            throw new IOException("Could not prepare table " + table + " at " + jdbc.getUrl(), e);
+        }
+        String insert = insertSql(table);
+        for (int i = 0; i < connections; i++) {
+            Connection connection = opened.get(i);
+            Thread writer = new Thread(() -> drain(connection, insert), "jdbc-writer-" + table + "-" + i);
+            writer.setDaemon(true);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    private String createTableSql(String table) {
+        StringBuilder sql = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(quote(table)).append(" (");
+        for (int i = 0; i < header.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(quote(header[i])).append(' ').append(sqlType(kinds[i]));
+        }
+        return sql.append(')').toString();
+    }
+
+    private String insertSql(String table) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quote(table)).append(" (");
+        StringBuilder values = new StringBuilder(" VALUES (");
+        for (int i = 0; i < header.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(quote(header[i]));
+            values.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.append(')').append(values).append(')').toString();
+    }
+
+    private static String sqlType(ArrowRowSink.Kind kind) {
+        switch (kind) {
+            case DATE:
+                return "DATE";
+            case TIMESTAMP:
+                return "TIMESTAMP";
+            case INT:
+                return "INTEGER";
+            default:
+                return "VARCHAR(4000)";
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        batch.add(row);
+        rowCount++;
+        if (batch.size() == batchSize) {
+            handOff();
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!batch.isEmpty()) {
+            handOff();
+        }
+        try {
+            for (int i = 0; i < writers.size(); i++) {
+                batches.put(END);
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing the JDBC writers");
+        }
+        checkFailure();
+    }
+
+    private void handOff() throws IOException {
+        checkFailure();
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing a batch for the JDBC writers");
+        }
+        batch = new ArrayList<>(batchSize);
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain(Connection connection, String insert) {
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            while (true) {
+                List<List<String>> next = batches.take();
+                if (next == END) {
+                    break;
+                }
+                if (failure == null) { // Keep consuming after a failure so the producer never blocks
+                    try {
+                        for (List<String> row : next) {
+                            bind(statement, row);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                    } catch (SQLException | RuntimeException e) {
+                        fail(new IOException("Batch insert failed: " + e.getMessage(), e));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            fail(new IOException("Could not prepare " + insert, e));
+            drainAfterFailure();
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException(Thread.currentThread().getName() + " was interrupted"));
+        } finally {
+            closeAll(List.of(connection));
+        }
+    }
+
+    private void bind(PreparedStatement statement, List<String> row) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            String value = i < row.size() ? row.get(i) : null;
+            int parameter = i + 1;
+            switch (kinds[i]) {
+                case DATE:
+                    if (value == null || value.isEmpty()) {
+                        statement.setNull(parameter, Types.DATE);
+                    } else {
+                        statement.setObject(parameter, LocalDate.ofEpochDay(DateEngine.parseDay(value)));
+                    }
+                    break;
+                case TIMESTAMP:
+                    if (value == null || value.isEmpty()) {
+                        statement.setNull(parameter, Types.TIMESTAMP);
+                    } else {
+                        statement.setObject(parameter,
+                                LocalDateTime.ofEpochSecond(DateEngine.parseMinute(value) * 60, 0, ZoneOffset.UTC));
+                    }
+                    break;
+                case INT:
+                    if (value == null || value.isEmpty()) {
+                        statement.setNull(parameter, Types.INTEGER);
+                    } else {
+                        statement.setInt(parameter, Integer.parseInt(value));
+                    }
+                    break;
+                default:
+                    if (value == null || value.isEmpty()) {
+                        statement.setNull(parameter, Types.VARCHAR);
+                    } else {
+                        statement.setString(parameter, value);
+                    }
+            }
+        }
+    }
+
+    private synchronized void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    // Used when a writer could not even prepare its statement: take batches until END so close() does not hang.
+    private void drainAfterFailure() {
+        try {
+            while (batches.take() != END) {
+                // Discard
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeAll(List<Connection> connections) {
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing JDBC connection: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mycompany.datagenerator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks a few distinct link targets out of an index range without copying or shuffling the
+ * underlying ID list. Uses Floyd's sampling algorithm, which costs O(k^2) for k picks regardless of
+ * the range size; k is always tiny here (at most a handful of links per row).
+ */
+public final class LinkSampler {
+
+    private LinkSampler() {
+    }
+
+    /**
+     * Returns {@code k} distinct indices from {@code [0, bound)} in random order. If {@code k}
+     * exceeds {@code bound}, every index is returned.
+     */
+    public static int[] sampleDistinct(Random random, int bound, int k) {
+        int count = Math.max(0, Math.min(k, bound));
+        int[] picked = new int[count];
+        int size = 0;
+        for (int j = bound - count; j < bound; j++) {
+            int candidate = random.nextInt(j + 1);
+            picked[size++] = contains(picked, size - 1, candidate) ? j : candidate;
+        }
+        // Floyd's algorithm yields a uniform set but a biased order; shuffle the few picks.
+        for (int i = count - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = picked[i];
+            picked[i] = picked[swap];
+            picked[swap] = tmp;
+        }
+        return picked;
+    }
+
+    /** Joins {@code k} distinct random elements of {@code source} with ';'. */
+    public static String joinDistinct(Random random, List<String> source, int k) {
+        int[] picked = sampleDistinct(random, source.size(), k);
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < picked.length; i++) {
+            if (i > 0) {
+                joined.append(';');
+            }
+            joined.append(source.get(picked[i]));
+        }
+        return joined.toString();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
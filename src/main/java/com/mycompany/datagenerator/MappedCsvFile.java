@@ -0,0 +1,122 @@
+package com.mycompany.datagenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One CSV file written through memory-mapped regions ({@code output.csvWriter: mapped}), byte for
+ * byte the file {@link FastCsvWriter} writes.
+ * <p>
+ * Worker threads encode whole partitions into blocks ({@link #encode}), so formatting runs on every
+ * core. The writing thread takes the blocks in order. Each block's offset is the running sum of the
+ * lengths before it, and the block is copied into the mapped file at that offset. The file is mapped
+ * {@value #REGION_SIZE_MB} MB at a time, each region growing the file ahead of the rows. On close it is
+ * truncated to the bytes actually written.
+ */
+public class MappedCsvFile implements BlockRowSink {
+
+    private static final int REGION_SIZE_MB = 64;
+    private static final long REGION_SIZE = (long) REGION_SIZE_MB << 20;
+
+    private final FileChannel channel;
+    // Each worker keeps its own writer and buffer for the blocks it encodes.
+    private final ThreadLocal<Encoder> encoders;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position; // Bytes placed so far: the offset of the next block
+    private long rowCount;
+
+    public MappedCsvFile(Path file, String[] header, Collection<String> plainColumnNames) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.encoders = ThreadLocal.withInitial(() -> new Encoder(header, plainColumnNames));
+        try {
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            new FastCsvWriter(headerBytes, header, plainColumnNames).close(); // Writes just the header line
+            place(headerBytes.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] encode(List<List<String>> rows) throws IOException {
+        return encoders.get().encode(rows);
+    }
+
+    @Override
+    public void writeBlock(byte[] block, long rows) throws IOException {
+        place(block);
+        rowCount += rows;
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        writeBlock(encode(List.of(row)), 1);
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getByteCount() {
+        return position;
+    }
+
+    private void place(byte[] block) throws IOException {
+        int offset = 0;
+        while (offset < block.length) {
+            if (region == null || position >= regionStart + region.capacity()) {
+                regionStart = position;
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+            }
+            int length = (int) Math.min(block.length - offset, regionStart + region.capacity() - position);
+            region.position((int) (position - regionStart));
+            region.put(block, offset, length);
+            offset += length;
+            position += length;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null; // The mapping stays valid until collected; nothing past position is read again
+        try {
+            channel.truncate(position);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final FastCsvWriter writer;
+
+        Encoder(String[] header, Collection<String> plainColumnNames) {
+            try {
+                writer = new FastCsvWriter(bytes, header, plainColumnNames, false);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // Nothing is written without a header
+            }
+        }
+
+        byte[] encode(List<List<String>> rows) throws IOException {
+            for (List<String> row : rows) {
+                writer.writeRow(row);
+            }
+            writer.flush();
+            byte[] block = bytes.toByteArray();
+            bytes.reset();
+            return block;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link RowSink} that writes newline-delimited JSON: one object per row, keyed by the header, each
+ * on its own line. Values are strings; empty values (which the CSV output leaves blank) are
+ * {@code null}. Objects are streamed through a Jackson {@link JsonGenerator}, so no row is
+ * materialised as a tree.
+ */
+public class NdjsonRowSink implements RowSink {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final OutputFiles.CountingOutputStream bytes;
+    private final JsonGenerator generator;
+    private final String[] header;
+    private long rowCount;
+
+    /** Writes to {@code out}, which is closed with this sink. */
+    public NdjsonRowSink(OutputStream out, String[] header) throws IOException {
+        this.bytes = new OutputFiles.CountingOutputStream(out);
+        this.generator = JSON.createGenerator(bytes, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null); // Rows end with their own newline
+        this.header = header.clone();
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < header.length; i++) {
+            String value = i < row.size() ? row.get(i) : null;
+            generator.writeFieldName(header[i]);
+            if (value == null || value.isEmpty()) {
+                generator.writeNull();
+            } else {
+                generator.writeString(value);
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getByteCount() {
+        return bytes.count + generator.getOutputBuffered();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,201 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link RowSink} that folds a table's denormalized rows back into one JSON document per entity, one
+ * document per line ({@code output.format: json-nested}).
+ * <p>
+ * Consecutive rows with the same first column belong to one entity. Its first row supplies the parent
+ * fields, and any row with a value in a {@link Child}'s columns adds an element to that child's array:
+ * an object of those columns, or just the value when the child has a single column. JIRA_Issues_Detailed,
+ * which repeats every issue field on each link and watcher row, becomes one document per issue with
+ * {@code links} and {@code watchers} arrays. Every document has every array, empty or not.
+ * <p>
+ * Documents are streamed through a Jackson {@link JsonGenerator} as the rows arrive; only the open
+ * document's key and array position are kept. A child's rows must follow the rows of the children
+ * listed before it, as the generators write them.
+ */
+public class NestedJsonRowSink implements RowSink {
+
+    /** An array of the document, filled from the given columns of its entity's rows. */
+    public static class Child {
+        private final String name;
+        private final List<String> columns;
+
+        public Child(String name, String... columns) {
+            this.name = name;
+            this.columns = List.of(columns);
+        }
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final OutputFiles.CountingOutputStream bytes;
+    private final JsonGenerator generator;
+    private final String[] header;
+    private final int[] parentColumns;
+    private final String[] childNames;
+    private final int[][] childColumns;
+    private String currentKey; // First column of the open document, null before the first row
+    private int openChild = -1; // Index of the array being written, -1 while still in the parent fields
+    private long rowCount;
+    private long documentCount;
+
+    /** Writes to {@code out}, which is closed with this sink. */
+    public NestedJsonRowSink(OutputStream out, String[] header, List<Child> children) throws IOException {
+        this.header = header.clone();
+        List<String> columns = Arrays.asList(header);
+        childNames = new String[children.size()];
+        childColumns = new int[children.size()][];
+        boolean[] inChild = new boolean[header.length];
+        for (int c = 0; c < children.size(); c++) {
+            Child child = children.get(c);
+            childNames[c] = child.name;
+            childColumns[c] = new int[child.columns.size()];
+            for (int i = 0; i < childColumns[c].length; i++) {
+                int column = columns.indexOf(child.columns.get(i));
+                if (column <= 0) {
+                    throw new IllegalArgumentException("Nested column " + child.columns.get(i)
+                            + " is not a column after the key in " + columns);
+                }
+                childColumns[c][i] = column;
+                inChild[column] = true;
+            }
+        }
+        int[] parents = new int[header.length];
+        int parentCount = 0;
+        for (int i = 0; i < header.length; i++) {
+            if (!inChild[i]) {
+                parents[parentCount++] = i;
+            }
+        }
+        parentColumns = Arrays.copyOf(parents, parentCount);
+        this.bytes = new OutputFiles.CountingOutputStream(out);
+        this.generator = JSON.createGenerator(bytes, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null); // Documents end with their own newline
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        String key = value(row, 0);
+        if (currentKey == null || !currentKey.equals(key)) {
+            endDocument();
+            generator.writeStartObject();
+            for (int column : parentColumns) {
+                writeField(row, column);
+            }
+            currentKey = key == null ? "" : key;
+            documentCount++;
+        }
+        int child = childOf(row);
+        if (child >= 0) {
+            if (child < openChild) {
+                throw new IOException("Rows of " + currentKey + " for " + childNames[child] + " follow "
+                        + childNames[openChild] + " rows");
+            }
+            openArraysThrough(child);
+            if (childColumns[child].length == 1) {
+                writeValue(value(row, childColumns[child][0]));
+            } else {
+                generator.writeStartObject();
+                for (int column : childColumns[child]) {
+                    writeField(row, column);
+                }
+                generator.writeEndObject();
+            }
+        }
+        rowCount++;
+    }
+
+    /** Data rows folded so far; see {@link #getDocumentCount} for the documents written. */
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    @Override
+    public long getByteCount() {
+        return bytes.count + generator.getOutputBuffered();
+    }
+
+    // The first child with a value in any of its columns, or -1 for a row that only carries parent fields.
+    private int childOf(List<String> row) {
+        for (int c = 0; c < childColumns.length; c++) {
+            for (int column : childColumns[c]) {
+                String value = value(row, column);
+                if (value != null && !value.isEmpty()) {
+                    return c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void openArraysThrough(int child) throws IOException {
+        while (openChild < child) {
+            if (openChild >= 0) {
+                generator.writeEndArray();
+            }
+            openChild++;
+            generator.writeArrayFieldStart(childNames[openChild]);
+        }
+    }
+
+    private void endDocument() throws IOException {
+        if (currentKey == null) {
+            return;
+        }
+        openArraysThrough(childNames.length - 1);
+        if (openChild >= 0) {
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        currentKey = null;
+        openChild = -1;
+    }
+
+    private void writeField(List<String> row, int column) throws IOException {
+        generator.writeFieldName(header[column]);
+        writeValue(value(row, column));
+    }
+
+    // Empty values, which the CSV output leaves blank, are null as in NdjsonRowSink.
+    private void writeValue(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static String value(List<String> row, int column) {
+        return column < row.size() ? row.get(column) : null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            endDocument();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.mycompany.datagenerator;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens output files for the configured {@code output.compression} codec, and reads them back for
+ * verification. Compressed files are written through an {@link AsyncOutputStream}, so compression
+ * runs on its own thread per file.
+ */
+public final class OutputFiles {
+
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+    private OutputFiles() {
+    }
+
+    /** File name suffix for a codec, e.g. ".gz"; rejects unknown codec names. */
+    public static String extension(String compression) {
+        if (compression == null || AppConfig.Output.COMPRESSION_NONE.equals(compression)) {
+            return "";
+        }
+        if (AppConfig.Output.COMPRESSION_GZIP.equals(compression)) {
+            return ".gz";
+        }
+        if (AppConfig.Output.COMPRESSION_LZ4.equals(compression)) {
+            return ".lz4";
+        }
+        throw new IllegalArgumentException("Unknown output.compression '" + compression
+                + "', expected none, gzip or lz4");
+    }
+
+    /** Creates (or truncates) {@code file} and returns a stream that encodes with the given codec. */
+    public static OutputStream open(Path file, String compression) throws IOException {
+        return open(file, compression, false);
+    }
+
+    /**
+     * Like {@link #open(Path, String)}, but with {@code append} the file must exist and the stream
+     * writes after its end. Compressed files get a new gzip member or LZ4 frame, which readers
+     * decode as one continuous stream.
+     */
+    public static OutputStream open(Path file, String compression, boolean append) throws IOException {
+        String extension = extension(compression);
+        OutputStream out = append ? Files.newOutputStream(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : Files.newOutputStream(file);
+        if (extension.isEmpty()) {
+            return out;
+        }
+        try {
+            OutputStream encoder = AppConfig.Output.COMPRESSION_GZIP.equals(compression)
+                    ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE)
+                    : new LZ4FrameOutputStream(out);
+            return new AsyncOutputStream(encoder, "compressor-" + file.getFileName());
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /** Opens {@code file} for reading, decoding it by its suffix (.gz, .lz4, or none). */
+    public static InputStream openInput(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        InputStream in = Files.newInputStream(file);
+        try {
+            if (name.endsWith(".gz")) {
+                return new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+            }
+            if (name.endsWith(".lz4")) {
+                return new LZ4FrameInputStream(in);
+            }
+            return in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /** Passes writes through, counting the bytes. */
+    static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a table's entity range (CR 1..N, ACT 1..N, ...) into fixed-size partitions, renders them
+ * on a worker pool and writes the finished partitions to the sink in their original order.
+ * <p>
+ * Every partition gets its own seed derived from the master seed, the table's stream name and the
+ * partition index. Partition boundaries do not depend on the thread count, so a given seed produces
+ * the same file whether it runs on one thread or sixteen.
+ * <p>
+ * Each partition is rendered into a buffer before it is written, so {@link GenerationMetrics} can
+ * time rendering and writing separately. With {@link Checkpoints} set, a table starts at the first
+ * partition its checkpoint has not recorded, and progress is reported after every written partition.
+ * <p>
+ * When the sink is a {@link BlockRowSink}, workers also encode their partitions, so the coordinator
+ * only appends finished blocks of bytes.
+ * <p>
+ * A sharded runner ({@link #setShard}) renders one contiguous slice of every table's partitions.
+ * Since partitions are seeded independently, processes running the slices of one seed write exactly
+ * the rows a single process would: in shard order, their data rows are the single run's rows.
+ */
+public class PartitionRunner implements AutoCloseable {
+
+    /** Entities per partition. Changing this changes the output for a given seed. */
+    public static final int PARTITION_SIZE = 1000;
+
+    /** Renders all rows belonging to the entity at {@code index} (0-based) into {@code out}. */
+    @FunctionalInterface
+    public interface RowRenderer {
+        void render(GenerationContext ctx, int index, RowSink out) throws IOException;
+    }
+
+    private final long masterSeed;
+    private final int threads;
+    private final ExecutorService pool;
+    // Shared by every runner: a context is built once per thread and reseeded per partition.
+    private static final ThreadLocal<GenerationContext> CONTEXTS = ThreadLocal.withInitial(GenerationContext::new);
+    private volatile FakerDictionary dictionary;
+    private volatile TextPool textPool;
+    private volatile DateEngine dateEngine;
+    private volatile Checkpoints checkpoints;
+    private volatile int shardIndex;
+    private volatile int shardCount = 1;
+    private final GenerationMetrics metrics = new GenerationMetrics();
+
+    public PartitionRunner(long masterSeed, int threads) {
+        this.masterSeed = masterSeed;
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "generator-worker");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Derives the seed for one partition of a stream. {@link SplittableRandom#nextLong()} is used as
+     * the mixing function, so neighbouring partitions get unrelated seeds.
+     */
+    public static long partitionSeed(long masterSeed, String stream, long partition) {
+        long streamSeed = new SplittableRandom(masterSeed ^ stream.hashCode()).nextLong();
+        return new SplittableRandom(streamSeed + partition).nextLong();
+    }
+
+    /** Shares the dictionaries free text is drawn from with every context handed out from now on. */
+    public void setDictionary(FakerDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /** Shares a pre-built text pool with every context handed out from now on. */
+    public void setTextPool(TextPool textPool) {
+        this.textPool = textPool;
+    }
+
+    /** Shares a date engine (with its cached day strings) with every context handed out from now on. */
+    public void setDateEngine(DateEngine dateEngine) {
+        this.dateEngine = dateEngine;
+    }
+
+    /** Records progress after written partitions so an interrupted run can resume; null disables it. */
+    public void setCheckpoints(Checkpoints checkpoints) {
+        this.checkpoints = checkpoints;
+    }
+
+    /** Renders only slice {@code shardIndex} (0-based) of {@code shardCount} of every table from now on. */
+    public void setShard(int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard " + shardIndex + " of " + shardCount + " does not exist");
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * First partition of a shard's slice of {@code partitions}; shard {@code shardCount} gives the end.
+     * Slices differ by at most one partition.
+     */
+    public static int shardStart(int partitions, int shardIndex, int shardCount) {
+        return (int) ((long) partitions * shardIndex / shardCount);
+    }
+
+    /** Entities of a {@code count}-entity table that this runner's shard renders; all of them unless sharded. */
+    public int shardEntities(int count) {
+        int partitions = (Math.max(0, count) + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        long first = (long) shardStart(partitions, shardIndex, shardCount) * PARTITION_SIZE;
+        long end = (long) shardStart(partitions, shardIndex + 1, shardCount) * PARTITION_SIZE;
+        return (int) (Math.min(Math.max(0, count), end) - Math.min(Math.max(0, count), first));
+    }
+
+    /** Builds the calling thread's context ahead of its first partition, so long-lived threads start warm. */
+    public static void prepareThread() {
+        CONTEXTS.get();
+    }
+
+    /** Returns the calling thread's context, reseeded for the given stream partition. */
+    public GenerationContext context(String stream, long partition) {
+        return context(CONTEXTS.get(), masterSeed, stream, partition);
+    }
+
+    /**
+     * Reseeds {@code ctx} for a stream partition of the run with {@code masterSeed}, sharing this
+     * runner's dictionaries and date engine; append runs use it to replay earlier batches.
+     */
+    public GenerationContext context(GenerationContext ctx, long masterSeed, String stream, long partition) {
+        ctx.reseed(partitionSeed(masterSeed, stream, partition));
+        ctx.useDictionary(dictionary);
+        ctx.useTextPool(textPool);
+        ctx.useDateEngine(dateEngine);
+        return ctx;
+    }
+
+    public void run(String stream, int count, RowRenderer renderer, RowSink sink) throws IOException {
+        int partitions = (count + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        int endPartition = shardStart(partitions, shardIndex + 1, shardCount);
+        Checkpoints checkpoints = this.checkpoints;
+        int firstPartition = checkpoints != null ? Math.min(partitions, checkpoints.firstPartition(stream))
+                : shardStart(partitions, shardIndex, shardCount); // Checkpointed runs are never sharded
+        TableMetrics table = metrics.startTable(stream,
+                Math.max(0, Math.min(count, (long) endPartition * PARTITION_SIZE) - (long) firstPartition * PARTITION_SIZE));
+        // Block sinks take partitions encoded by the worker that rendered them.
+        BlockRowSink blocks = sink instanceof BlockRowSink ? (BlockRowSink) sink : null;
+        try {
+            if (pool == null) {
+                for (int p = firstPartition; p < endPartition; p++) {
+                    write(renderPartition(stream, p, count, renderer, table, blocks), sink, table);
+                    if (checkpoints != null) {
+                        checkpoints.partitionWritten(stream, p + 1, sink);
+                    }
+                }
+            } else {
+                // Keep a bounded window of partitions in flight so memory stays flat for huge tables.
+                Deque<Future<BufferedRows>> inFlight = new ArrayDeque<>();
+                int nextPartition = firstPartition;
+                int written = firstPartition;
+                try {
+                    while (nextPartition < endPartition || !inFlight.isEmpty()) {
+                        while (nextPartition < endPartition && inFlight.size() < threads * 2) {
+                            int partition = nextPartition++;
+                            inFlight.add(pool.submit(() -> renderPartition(stream, partition, count, renderer, table,
+                                    blocks)));
+                        }
+                        write(await(inFlight.poll()), sink, table);
+                        written++;
+                        if (checkpoints != null) {
+                            checkpoints.partitionWritten(stream, written, sink);
+                        }
+                    }
+                } finally {
+                    inFlight.forEach(future -> future.cancel(true));
+                }
+            }
+            if (checkpoints != null) {
+                checkpoints.tableFinished(stream, partitions, sink);
+            }
+        } finally {
+            table.finish();
+        }
+    }
+
+    private BufferedRows renderPartition(String stream, int partition, int count, RowRenderer renderer,
+            TableMetrics table, BlockRowSink blocks) throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = GenerationMetrics.threadAllocatedBytes();
+        GenerationContext ctx = context(stream, partition);
+        ctx.takeFakerNanos();
+        int start = partition * PARTITION_SIZE;
+        int end = (int) Math.min(count, (long) (partition + 1) * PARTITION_SIZE);
+        BufferedRows rows = new BufferedRows(end - start);
+        for (int i = start; i < end; i++) {
+            renderer.render(ctx, i, rows);
+        }
+        if (blocks != null) {
+            rows.encodeFor(blocks); // Counted as rendering: the writing thread is left with a copy
+        }
+        table.recordRender(System.nanoTime() - startNanos, ctx.takeFakerNanos(),
+                GenerationMetrics.threadAllocatedBytes() - startAllocated);
+        return rows;
+    }
+
+    private static void write(BufferedRows rows, RowSink sink, TableMetrics table) throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = GenerationMetrics.threadAllocatedBytes();
+        long startBytes = sink.getByteCount();
+        rows.drainTo(sink);
+        long endBytes = sink.getByteCount();
+        table.recordWrite(rows.entities, rows.getRowCount(), startBytes >= 0 ? endBytes - startBytes : 0,
+                System.nanoTime() - startNanos, GenerationMetrics.threadAllocatedBytes() - startAllocated);
+    }
+
+    private static BufferedRows await(Future<BufferedRows> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a partition", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Partition generation failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Holds one rendered partition until the coordinator writes it out. */
+    private static class BufferedRows implements RowSink {
+        private List<List<String>> rows = new ArrayList<>();
+        private final int entities;
+        private byte[] block; // The rows encoded for a BlockRowSink, once encodeFor has run
+        private long blockRows;
+
+        BufferedRows(int entities) {
+            this.entities = entities;
+        }
+
+        @Override
+        public void writeRow(List<String> row) {
+            rows.add(row);
+        }
+
+        @Override
+        public long getRowCount() {
+            return block != null ? blockRows : rows.size();
+        }
+
+        void encodeFor(BlockRowSink sink) throws IOException {
+            block = sink.encode(rows);
+            blockRows = rows.size();
+            rows = List.of();
+        }
+
+        void drainTo(RowSink sink) throws IOException {
+            if (block != null) {
+                ((BlockRowSink) sink).writeBlock(block, blockRows);
+                return;
+            }
+            for (List<String> row : rows) {
+                sink.writeRow(row);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
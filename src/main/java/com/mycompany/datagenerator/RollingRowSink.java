@@ -0,0 +1,105 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link RowSink} that splits one table into numbered files ({@code JIRA_Activities-00001.csv.gz},
+ * {@code -00002}, ...), each with its own header, so downstream loaders can ingest them in parallel.
+ * <p>
+ * A new file starts once the current one holds {@code rollRows} data rows or {@code rollBytes}
+ * uncompressed bytes (either limit may be 0 to disable it). Sinks that report
+ * {@link RowSink#getByteCount()} are measured exactly; for others bytes are counted as the writer
+ * flushes them, so a file can overshoot {@code rollBytes} by up to one writer buffer.
+ * <p>
+ * Numbering can start after existing files, so an append run adds new files next to earlier ones.
+ */
+public class RollingRowSink implements RowSink {
+
+    /** Creates the CSV writer for one file, writing its header to {@code out}. */
+    public interface ShardOpener {
+        RowSink open(OutputStream out) throws IOException;
+    }
+
+    private final Path folder;
+    private final String baseName;
+    private final String extension;
+    private final long rollRows;
+    private final long rollBytes;
+    private final String compression;
+    private final ShardOpener opener;
+    private RowSink current;
+    private OutputFiles.CountingOutputStream currentBytes;
+    private long currentRows;
+    private long closedShardBytes;
+    private int shardCount;
+    private long rowCount;
+
+    public RollingRowSink(Path folder, String baseName, String extension, long rollRows, long rollBytes,
+            String compression, ShardOpener opener) throws IOException {
+        this(folder, baseName, extension, rollRows, rollBytes, compression, opener, 0);
+    }
+
+    /** Like the other constructor, but the first file written is number {@code previousShards + 1}. */
+    public RollingRowSink(Path folder, String baseName, String extension, long rollRows, long rollBytes,
+            String compression, ShardOpener opener, int previousShards) throws IOException {
+        this.folder = folder;
+        this.baseName = baseName;
+        this.extension = extension;
+        this.rollRows = rollRows;
+        this.rollBytes = rollBytes;
+        this.compression = compression;
+        this.opener = opener;
+        this.shardCount = previousShards;
+        openNextShard();
+    }
+
+    @Override
+    public void writeRow(List<String> row) throws IOException {
+        if (currentRows > 0 && ((rollRows > 0 && currentRows >= rollRows)
+                || (rollBytes > 0 && currentByteCount() >= rollBytes))) {
+            long shardBytes = currentByteCount();
+            current.close();
+            closedShardBytes += shardBytes;
+            openNextShard();
+        }
+        current.writeRow(row);
+        currentRows++;
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getByteCount() {
+        return closedShardBytes + currentByteCount();
+    }
+
+    private long currentByteCount() {
+        long bytes = current.getByteCount();
+        return bytes >= 0 ? bytes : currentBytes.count;
+    }
+
+    private void openNextShard() throws IOException {
+        shardCount++;
+        Path file = folder.resolve(String.format("%s-%05d%s", baseName, shardCount, extension));
+        currentBytes = new OutputFiles.CountingOutputStream(OutputFiles.open(file, compression));
+        currentRows = 0;
+        try {
+            current = opener.open(currentBytes);
+        } catch (IOException | RuntimeException e) {
+            currentBytes.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.close();
+    }
+}
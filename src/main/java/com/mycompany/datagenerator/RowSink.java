@@ -0,0 +1,31 @@
+package com.mycompany.datagenerator;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for generated rows. Generators push every row into a sink as soon as it is built,
+ * so memory stays flat no matter how many rows a table has.
+ */
+public interface RowSink extends Closeable, Flushable {
+
+    void writeRow(List<String> row) throws IOException;
+
+    /** Number of data rows written so far (the header is not counted). */
+    long getRowCount();
+
+    /**
+     * Encoded bytes produced so far, header and still-buffered output included, or -1 when the
+     * sink does not track them.
+     */
+    default long getByteCount() {
+        return -1;
+    }
+
+    /** Pushes buffered rows to the underlying file so a checkpoint can record them as written. */
+    @Override
+    default void flush() throws IOException {
+    }
+}
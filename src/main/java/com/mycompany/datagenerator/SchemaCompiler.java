@@ -0,0 +1,321 @@
+package com.mycompany.datagenerator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the {@code schema.tables} section of {@code application.yml} into {@link TablePlan}s.
+ * <p>
+ * Column generators:
+ * <ul>
+ * <li>{@code sequence} - the row's 1-based number through {@code format} (e.g. {@code INC-%05d})</li>
+ * <li>{@code reference} - a random key of the table named in {@code references}: {@code CR_Main},
+ * {@code JIRA_Issues}, {@code Confluence_Pages}, {@code Users} or another schema table, whose first
+ * column must then be a {@code sequence}; {@code skew} (default: the pool's
+ * {@code distributions.keySkew}) makes the first keys hot following a Zipf law</li>
+ * <li>{@code choice} - one of {@code values}, weighted by the parallel {@code weights} list if given</li>
+ * <li>{@code integer} - between {@code min} and {@code max}, inclusive</li>
+ * <li>{@code date} - {@code yyyy-MM-dd} between {@code min} and {@code max}, inclusive</li>
+ * <li>{@code timestamp} - {@code yyyy-MM-dd HH:mm} from {@code min} up to {@code max}; either bound
+ * may be a date or {@code yyyy-MM-ddTHH:mm}</li>
+ * <li>{@code text} - Faker (or text pool) free text: {@code text} is {@code words} or
+ * {@code sentences} ({@code count} of them), {@code catchPhrase} or {@code bs}</li>
+ * </ul>
+ * Any column may set {@code nullRate}, the share of rows left empty. Specs are checked here, so a
+ * bad schema fails before any table is written.
+ */
+public final class SchemaCompiler {
+
+    public static final String USERS = "Users";
+
+    private static final Pattern SIMPLE_NUMBER_FORMAT = Pattern.compile("([^%]*)%(0?)(\\d*)d([^%]*)");
+
+    private SchemaCompiler() {
+    }
+
+    /**
+     * @param builtInKeys  keys of the built-in tables by the name {@code references} uses for them;
+     *                     lists are bound as they are, so registries may still be filled later
+     * @param reservedNames file names (without extension) the built-in tables already write
+     * @param distributions supplies the default key skew of each referenced pool
+     */
+    public static List<TablePlan> compile(AppConfig.Schema schema, Map<String, List<String>> builtInKeys,
+            Set<String> reservedNames, ValueDistributions distributions) {
+        List<AppConfig.TableSpec> tables = schema != null && schema.getTables() != null ? schema.getTables()
+                : List.of();
+        // Every schema table's keys are known up front, so tables may reference each other in any order.
+        Map<String, List<String>> keys = new LinkedHashMap<>(builtInKeys);
+        for (AppConfig.TableSpec table : tables) {
+            String name = table.getName();
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Every schema table needs a name");
+            }
+            if (keys.containsKey(name) || reservedNames.contains(name)) {
+                throw new IllegalArgumentException("Schema table name '" + name + "' is already taken");
+            }
+            if (table.getRows() < 0) {
+                throw new IllegalArgumentException("Schema table " + name + " has a negative row count");
+            }
+            List<AppConfig.ColumnSpec> columns = table.getColumns();
+            boolean keyed = columns != null && !columns.isEmpty() && "sequence".equals(columns.get(0).getGenerator());
+            keys.put(name, keyed ? new SequenceIds(columns.get(0).getFormat(), table.getRows()) : null);
+        }
+
+        List<TablePlan> plans = new ArrayList<>();
+        for (AppConfig.TableSpec table : tables) {
+            plans.add(compileTable(table, keys, distributions));
+        }
+        return plans;
+    }
+
+    private static TablePlan compileTable(AppConfig.TableSpec table, Map<String, List<String>> keys,
+            ValueDistributions distributions) {
+        List<AppConfig.ColumnSpec> specs = table.getColumns();
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("Schema table " + table.getName() + " has no columns");
+        }
+        String[] header = new String[specs.size()];
+        TablePlan.ColumnGenerator[] columns = new TablePlan.ColumnGenerator[specs.size()];
+        Set<String> plainColumns = new HashSet<>();
+        Map<String, ArrowRowSink.Column> columnTypes = new HashMap<>();
+        Set<String> references = new LinkedHashSet<>();
+        Set<String> seen = new HashSet<>();
+        for (int c = 0; c < specs.size(); c++) {
+            AppConfig.ColumnSpec spec = specs.get(c);
+            String where = "Schema table " + table.getName() + " column " + spec.getName();
+            if (spec.getName() == null || spec.getName().isEmpty() || !seen.add(spec.getName())) {
+                throw new IllegalArgumentException("Schema table " + table.getName()
+                        + " has a missing or duplicate column name: " + spec.getName());
+            }
+            if (spec.getNullRate() < 0 || spec.getNullRate() > 1) {
+                throw new IllegalArgumentException(where + ": nullRate must be between 0 and 1");
+            }
+            header[c] = spec.getName();
+            try {
+                columns[c] = withNulls(compileColumn(table.getName(), spec, keys, distributions, plainColumns,
+                        columnTypes, references), spec.getNullRate());
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException(where + ": " + e.getMessage(), e);
+            }
+        }
+        return new TablePlan(table.getName(), table.getRows(), header, columns, Set.copyOf(plainColumns),
+                Map.copyOf(columnTypes), Set.copyOf(references));
+    }
+
+    private static TablePlan.ColumnGenerator compileColumn(String table, AppConfig.ColumnSpec spec,
+            Map<String, List<String>> keys, ValueDistributions distributions, Set<String> plainColumns,
+            Map<String, ArrowRowSink.Column> columnTypes, Set<String> references) {
+        String name = spec.getName();
+        String generator = spec.getGenerator() != null ? spec.getGenerator() : "";
+        switch (generator) {
+            case "sequence": {
+                SequenceIds ids = new SequenceIds(spec.getFormat(), Integer.MAX_VALUE);
+                if (ids.isPlain()) {
+                    plainColumns.add(name);
+                }
+                return (ctx, row) -> ids.get(row);
+            }
+            case "reference": {
+                String target = spec.getReferences();
+                if (target == null || !keys.containsKey(target)) {
+                    throw new IllegalArgumentException("references must be one of " + keys.keySet());
+                }
+                List<String> targetKeys = keys.get(target);
+                if (targetKeys == null) {
+                    throw new IllegalArgumentException(target + " has no sequence as its first column to reference");
+                }
+                references.add(target);
+                if (USERS.equals(target)) {
+                    columnTypes.put(name, ArrowRowSink.Column.category(targetKeys));
+                } else if (!(targetKeys instanceof SequenceIds) || ((SequenceIds) targetKeys).isPlain()) {
+                    plainColumns.add(name); // Generated IDs never need quoting
+                }
+                double skew = spec.getSkew() != null ? spec.getSkew() : distributions.keySkew(target);
+                if (skew < 0 || Double.isNaN(skew)) {
+                    throw new IllegalArgumentException("skew must be >= 0");
+                }
+                if (skew == 0) {
+                    return (ctx, row) -> targetKeys.isEmpty() ? ""
+                            : targetKeys.get(ctx.random.nextInt(targetKeys.size()));
+                }
+                // Built-in registries are filled after compiling, so the sampler is sized on first use.
+                String samplerKey = table + "." + name;
+                return (ctx, row) -> targetKeys.isEmpty() ? ""
+                        : targetKeys.get(distributions.keySampler(samplerKey, targetKeys.size(), skew).sample(ctx.random));
+            }
+            case "choice": {
+                if (spec.getValues() == null || spec.getValues().isEmpty()) {
+                    throw new IllegalArgumentException("choice needs a non-empty values list");
+                }
+                List<String> values = List.copyOf(spec.getValues());
+                if (values.stream().allMatch(SchemaCompiler::isPlain)) {
+                    plainColumns.add(name);
+                }
+                columnTypes.put(name, ArrowRowSink.Column.category(values));
+                if (spec.getWeights() != null) {
+                    if (spec.getWeights().size() != values.size()) {
+                        throw new IllegalArgumentException("weights needs one entry per value");
+                    }
+                    double[] weights = new double[values.size()];
+                    for (int i = 0; i < weights.length; i++) {
+                        Double weight = spec.getWeights().get(i);
+                        weights[i] = weight != null ? weight : Double.NaN;
+                    }
+                    Distribution weighted = Distribution.weighted(weights);
+                    return (ctx, row) -> values.get(weighted.sample(ctx.random));
+                }
+                return (ctx, row) -> values.get(ctx.random.nextInt(values.size()));
+            }
+            case "integer": {
+                long min = Long.parseLong(required(spec.getMin(), "min"));
+                long max = Long.parseLong(required(spec.getMax(), "max"));
+                if (min > max || min < Integer.MIN_VALUE || max > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("integer needs min <= max within the int range");
+                }
+                long span = max - min + 1;
+                plainColumns.add(name);
+                columnTypes.put(name, ArrowRowSink.Column.integer());
+                return (ctx, row) -> Long.toString(min + (span <= Integer.MAX_VALUE
+                        ? ctx.random.nextInt((int) span) : (long) (ctx.random.nextDouble() * span)));
+            }
+            case "date": {
+                long first = LocalDate.parse(required(spec.getMin(), "min")).toEpochDay();
+                long last = LocalDate.parse(required(spec.getMax(), "max")).toEpochDay();
+                plainColumns.add(name);
+                columnTypes.put(name, ArrowRowSink.Column.date());
+                return (ctx, row) -> ctx.formatDay(ctx.randomDay(first, last));
+            }
+            case "timestamp": {
+                long first = parseMinute(required(spec.getMin(), "min"));
+                long last = parseMinute(required(spec.getMax(), "max"));
+                plainColumns.add(name);
+                columnTypes.put(name, ArrowRowSink.Column.timestamp());
+                return (ctx, row) -> ctx.formatMinute(ctx.randomMinute(first, last));
+            }
+            case "text":
+                return compileText(spec);
+            default:
+                throw new IllegalArgumentException("unknown generator '" + generator
+                        + "', expected sequence, reference, choice, integer, date, timestamp or text");
+        }
+    }
+
+    private static TablePlan.ColumnGenerator compileText(AppConfig.ColumnSpec spec) {
+        int count = Math.max(1, spec.getCount());
+        String text = spec.getText() != null ? spec.getText() : "words";
+        switch (text) {
+            case "words":
+                return (ctx, row) -> ctx.words(count);
+            case "sentences":
+                return (ctx, row) -> ctx.sentences(count);
+            case "catchPhrase":
+                return (ctx, row) -> ctx.catchPhrase();
+            case "bs":
+                return (ctx, row) -> ctx.bs();
+            default:
+                throw new IllegalArgumentException("unknown text '" + text
+                        + "', expected words, sentences, catchPhrase or bs");
+        }
+    }
+
+    private static TablePlan.ColumnGenerator withNulls(TablePlan.ColumnGenerator column, double nullRate) {
+        if (nullRate <= 0) {
+            return column;
+        }
+        return (ctx, row) -> ctx.random.nextDouble() < nullRate ? "" : column.generate(ctx, row);
+    }
+
+    private static String required(String value, String property) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("missing " + property);
+        }
+        return value;
+    }
+
+    private static long parseMinute(String value) {
+        if (value.length() == DateEngine.DAY_LENGTH) {
+            return LocalDate.parse(value).toEpochDay() * DateEngine.MINUTES_PER_DAY;
+        }
+        return LocalDateTime.parse(value.replace(' ', 'T')).toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    // Plain columns skip the writer's quoting check, so they use the same QuoteMode.MINIMAL rules.
+    private static boolean isPlain(String value) {
+        return !FastCsvWriter.needsQuotes(value, false);
+    }
+
+    /** The keys of a schema table: its row numbers through the table's sequence format. */
+    static final class SequenceIds extends AbstractList<String> implements RandomAccess {
+        private final String format;
+        private final int size;
+        // Formats like "INC-%05d" are rendered without String.format.
+        private final String prefix;
+        private final String suffix;
+        private final int width;
+        private final boolean simple;
+        private final boolean plain;
+
+        SequenceIds(String format, int size) {
+            this.format = format != null && !format.isEmpty() ? format : "%d";
+            this.size = size;
+            Matcher matcher = SIMPLE_NUMBER_FORMAT.matcher(this.format);
+            this.simple = matcher.matches() && (matcher.group(3).isEmpty() || !matcher.group(2).isEmpty());
+            this.prefix = simple ? matcher.group(1) : null;
+            this.width = simple && !matcher.group(3).isEmpty() ? Integer.parseInt(matcher.group(3)) : 0;
+            this.suffix = simple ? matcher.group(4) : null;
+            // Rejects a malformed format now rather than mid-table.
+            this.plain = SchemaCompiler.isPlain(String.format(this.format, 1));
+        }
+
+        boolean isPlain() {
+            return plain;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            if (!simple) {
+                return String.format(format, index + 1);
+            }
+            String number = Integer.toString(index + 1);
+            StringBuilder id = new StringBuilder(prefix.length() + Math.max(width, number.length()) + suffix.length())
+                    .append(prefix);
+            for (int pad = number.length(); pad < width; pad++) {
+                id.append('0');
+            }
+            return id.append(number).append(suffix).toString();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /** Built-in tables by their {@code references} names, in the order they are listed to users. */
+    static Map<String, List<String>> builtIns(List<String> crIds, List<String> jiraIds, List<String> confluenceIds,
+            List<String> users) {
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        keys.put("CR_Main", crIds);
+        keys.put("JIRA_Issues", jiraIds);
+        keys.put("Confluence_Pages", confluenceIds);
+        keys.put(USERS, users);
+        return keys;
+    }
+}
@@ -0,0 +1,149 @@
+package com.mycompany.datagenerator;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one table (one {@link PartitionRunner} stream), updated per partition.
+ * <p>
+ * Render time is summed over the worker threads that rendered partitions and is split into time
+ * spent in Faker (or the text pool) and everything else - formatting dates, IDs and rows. Write
+ * time is spent by the draining thread in the sink, encoding and compression hand-off included.
+ * Allocation is measured per thread around both phases. GC counts are JVM-wide deltas over the
+ * table's wall time, so in pipeline mode they overlap with other tables running at the same time.
+ */
+@JsonPropertyOrder({ "name", "entities", "entitiesDone", "rows", "bytes", "wallMillis", "rowsPerSecond",
+        "renderMillis", "fakerMillis", "formatMillis", "writeMillis", "allocatedBytes", "gcCount", "gcMillis" })
+public class TableMetrics implements TableMetricsMXBean {
+
+    private final String name;
+    private final long entities;
+    private final long startNanos = System.nanoTime();
+    private final long gcCountAtStart = GenerationMetrics.gcCount();
+    private final long gcMillisAtStart = GenerationMetrics.gcMillis();
+    private final LongAdder entitiesDone = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder fakerNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private volatile long endNanos;
+    private volatile long gcCount;
+    private volatile long gcMillis;
+
+    TableMetrics(String name, long entities) {
+        this.name = name;
+        this.entities = entities;
+    }
+
+    void recordRender(long nanos, long fakerNanos, long allocated) {
+        renderNanos.add(nanos);
+        this.fakerNanos.add(fakerNanos);
+        allocatedBytes.add(allocated);
+    }
+
+    void recordWrite(long entities, long rows, long bytes, long nanos, long allocated) {
+        entitiesDone.add(entities);
+        this.rows.add(rows);
+        this.bytes.add(bytes);
+        writeNanos.add(nanos);
+        allocatedBytes.add(allocated);
+    }
+
+    void finish() {
+        gcCount = GenerationMetrics.gcCount() - gcCountAtStart;
+        gcMillis = GenerationMetrics.gcMillis() - gcMillisAtStart;
+        endNanos = System.nanoTime();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getEntities() {
+        return entities;
+    }
+
+    @Override
+    public long getEntitiesDone() {
+        return entitiesDone.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /** Bytes handed to the writer (before compression); 0 for sinks that do not count bytes. */
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getWallMillis() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        long millis = getWallMillis();
+        return millis > 0 ? getRows() * 1000.0 / millis : 0;
+    }
+
+    @Override
+    public long getRenderMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(renderNanos.sum());
+    }
+
+    @Override
+    public long getFakerMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fakerNanos.sum());
+    }
+
+    @Override
+    public long getFormatMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(renderNanos.sum() - fakerNanos.sum());
+    }
+
+    @Override
+    public long getWriteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writeNanos.sum());
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getGcCount() {
+        return endNanos != 0 ? gcCount : GenerationMetrics.gcCount() - gcCountAtStart;
+    }
+
+    @Override
+    public long getGcMillis() {
+        return endNanos != 0 ? gcMillis : GenerationMetrics.gcMillis() - gcMillisAtStart;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return endNanos != 0;
+    }
+
+    /** Seconds left at the current entity rate, or -1 before the first partition is written. */
+    long etaSeconds() {
+        long done = getEntitiesDone();
+        long millis = getWallMillis();
+        if (done == 0 || millis == 0) {
+            return -1;
+        }
+        return (entities - done) * millis / done / 1000;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mycompany.datagenerator;
+
+/**
+ * JMX view of one table's {@link TableMetrics}, registered as
+ * {@code com.mycompany.datagenerator:type=TableMetrics,name=<stream>} when {@code metrics.jmx} is on.
+ */
+public interface TableMetricsMXBean {
+
+    String getName();
+
+    long getEntities();
+
+    long getEntitiesDone();
+
+    long getRows();
+
+    long getBytes();
+
+    long getWallMillis();
+
+    double getRowsPerSecond();
+
+    long getRenderMillis();
+
+    long getFakerMillis();
+
+    long getFormatMillis();
+
+    long getWriteMillis();
+
+    long getAllocatedBytes();
+
+    long getGcCount();
+
+    long getGcMillis();
+
+    boolean isFinished();
+}
@@ -0,0 +1,76 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A table declared in the {@code schema} section of {@code application.yml}, compiled by
+ * {@link SchemaCompiler} into one {@link ColumnGenerator} per column.
+ * <p>
+ * All parsing, validation and lookup binding happens at compile time, so rendering a row is a
+ * single pass over a fixed array of generators that allocates nothing but the row itself.
+ */
+public class TablePlan {
+
+    /** Produces one column value; {@code row} is the 0-based row index within the table. */
+    @FunctionalInterface
+    public interface ColumnGenerator {
+        String generate(GenerationContext ctx, int row);
+    }
+
+    private final String name;
+    private final int rows;
+    private final String[] header;
+    private final ColumnGenerator[] columns;
+    private final Set<String> plainColumns;
+    private final Map<String, ArrowRowSink.Column> columnTypes;
+    private final Set<String> references;
+
+    TablePlan(String name, int rows, String[] header, ColumnGenerator[] columns, Set<String> plainColumns,
+            Map<String, ArrowRowSink.Column> columnTypes, Set<String> references) {
+        this.name = name;
+        this.rows = rows;
+        this.header = header;
+        this.columns = columns;
+        this.plainColumns = plainColumns;
+        this.columnTypes = columnTypes;
+        this.references = references;
+    }
+
+    public void render(GenerationContext ctx, int row, RowSink out) throws IOException {
+        String[] values = new String[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            values[c] = columns[c].generate(ctx, row);
+        }
+        out.writeRow(Arrays.asList(values));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    /** Columns whose values never need CSV quoting (for {@link FastCsvWriter}). */
+    public Set<String> getPlainColumns() {
+        return plainColumns;
+    }
+
+    /** Typed columns for Arrow and JDBC output. */
+    public Map<String, ArrowRowSink.Column> getColumnTypes() {
+        return columnTypes;
+    }
+
+    /** Tables this one draws foreign keys from, by the names {@code references} accepts. */
+    public Set<String> getReferences() {
+        return references;
+    }
+}
@@ -0,0 +1,176 @@
+package com.mycompany.datagenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs generation steps according to the ID registries they read and produce. A step starts as soon
+ * as every registry it reads has been produced, so independent tables run concurrently and the
+ * wall-clock time approaches the slowest dependency chain instead of the sum of all steps.
+ * <p>
+ * After a run the scheduler prints each step's duration and the critical path: the chain of steps
+ * that actually determined the total wall-clock time.
+ */
+public class TableScheduler {
+
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    public void add(String name, Set<String> reads, Set<String> produces, Runnable action) {
+        if (steps.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate step: " + name);
+        }
+        steps.put(name, new Step(name, reads, produces, action));
+    }
+
+    /**
+     * Runs every step once. With {@code concurrent} set, each step runs on its own thread as soon as
+     * its inputs are ready; otherwise steps run one by one on the calling thread in dependency order.
+     * Both modes read the same inputs, so they produce the same output.
+     */
+    public void run(boolean concurrent) {
+        List<Step> order = resolveOrder();
+        long runStart = System.nanoTime();
+        if (concurrent) {
+            runConcurrently(order);
+        } else {
+            order.forEach(Step::execute);
+        }
+        printReport(order, System.nanoTime() - runStart, runStart);
+    }
+
+    /** Links each step to the producers of what it reads and returns a topological order. */
+    private List<Step> resolveOrder() {
+        Map<String, Step> producers = new HashMap<>();
+        for (Step step : steps.values()) {
+            for (String resource : step.produces) {
+                Step previous = producers.put(resource, step);
+                if (previous != null) {
+                    throw new IllegalStateException(resource + " is produced by both " + previous.name
+                            + " and " + step.name);
+                }
+            }
+        }
+        for (Step step : steps.values()) {
+            step.dependencies.clear();
+            for (String resource : step.reads) {
+                Step producer = producers.get(resource);
+                if (producer == null) {
+                    throw new IllegalStateException(step.name + " reads " + resource + ", which no step produces");
+                }
+                step.dependencies.add(producer);
+            }
+        }
+
+        List<Step> order = new ArrayList<>();
+        Set<Step> visiting = new LinkedHashSet<>();
+        for (Step step : steps.values()) {
+            visit(step, visiting, order);
+        }
+        return order;
+    }
+
+    private static void visit(Step step, Set<Step> visiting, List<Step> order) {
+        if (order.contains(step)) {
+            return;
+        }
+        if (!visiting.add(step)) {
+            throw new IllegalStateException("Dependency cycle through " + step.name);
+        }
+        for (Step dependency : step.dependencies) {
+            visit(dependency, visiting, order);
+        }
+        visiting.remove(step);
+        order.add(step);
+    }
+
+    private static void runConcurrently(List<Step> order) {
+        ExecutorService executor = Executors.newFixedThreadPool(order.size(), runnable -> {
+            Thread thread = new Thread(runnable, "table-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<Step, CompletableFuture<Void>> futures = new HashMap<>();
+            for (Step step : order) {
+                CompletableFuture<?>[] inputs = step.dependencies.stream().map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(step, CompletableFuture.allOf(inputs).thenRunAsync(step::execute, executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void printReport(List<Step> order, long wallNanos, long runStart) {
+        long sumNanos = 0;
+        Step last = null;
+        for (Step step : order) {
+            sumNanos += step.endNanos - step.startNanos;
+            if (last == null || step.endNanos > last.endNanos) {
+                last = step;
+            }
+        }
+        // Walk back from the step that finished last through the input that became ready last.
+        List<String> criticalPath = new ArrayList<>();
+        for (Step step = last; step != null; ) {
+            criticalPath.add(0, step.name + " (" + millis(step.endNanos - step.startNanos) + " ms)");
+            Step latestInput = null;
+            for (Step dependency : step.dependencies) {
+                if (latestInput == null || dependency.endNanos > latestInput.endNanos) {
+                    latestInput = dependency;
+                }
+            }
+            step = latestInput;
+        }
+        System.out.printf("Generation finished in %d ms (steps add up to %d ms).%n", millis(wallNanos),
+                millis(sumNanos));
+        System.out.println("Critical path: " + String.join(" -> ", criticalPath)
+                + (last != null ? ", ends at " + millis(last.endNanos - runStart) + " ms" : ""));
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static class Step {
+        final String name;
+        final Set<String> reads;
+        final Set<String> produces;
+        final Runnable action;
+        final List<Step> dependencies = new ArrayList<>();
+        volatile long startNanos;
+        volatile long endNanos;
+
+        Step(String name, Set<String> reads, Set<String> produces, Runnable action) {
+            this.name = name;
+            this.reads = Set.copyOf(reads);
+            this.produces = Set.copyOf(produces);
+            this.action = action;
+        }
+
+        void execute() {
+            startNanos = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                endNanos = System.nanoTime();
+            }
+        }
+    }
+}
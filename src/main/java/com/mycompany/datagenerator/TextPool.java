@@ -0,0 +1,84 @@
+package com.mycompany.datagenerator;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pre-generated Faker text values. Each {@code bs()}, {@code catchPhrase()} or lorem value joins
+ * several dictionary words, which dominates per-row CPU time; a pool pays that cost once at startup
+ * and afterwards each value is a single array read.
+ * <p>
+ * Pools are immutable once built and shared by all worker threads.
+ */
+public class TextPool {
+
+    private final String[] bs;
+    private final String[] catchPhrases;
+    private final String[] words;
+    private final String[] sentences;
+
+    private TextPool(String[] bs, String[] catchPhrases, String[] words, String[] sentences) {
+        this.bs = bs;
+        this.catchPhrases = catchPhrases;
+        this.words = words;
+        this.sentences = sentences;
+    }
+
+    /** Builds pools of up to {@code size} distinct values per field, drawn with the given context. */
+    public static TextPool build(GenerationContext ctx, int size) {
+        return new TextPool(
+                distinct(ctx::bs, size),
+                distinct(ctx::catchPhrase, size),
+                distinct(() -> ctx.words(1), size),
+                distinct(() -> ctx.sentences(1), size));
+    }
+
+    // Some sources (lorem words) have fewer distinct values than requested, so give up after a
+    // bounded number of draws instead of looping forever.
+    private static String[] distinct(Supplier<String> source, int size) {
+        Set<String> values = new LinkedHashSet<>();
+        for (int attempts = 0; values.size() < size && attempts < size * 4; attempts++) {
+            values.add(source.get());
+        }
+        return values.toArray(new String[0]);
+    }
+
+    public String bs(Random random) {
+        return pick(bs, random);
+    }
+
+    public String catchPhrase(Random random) {
+        return pick(catchPhrases, random);
+    }
+
+    /** {@code count} lorem words joined with spaces, like {@code String.join(" ", lorem().words(count))}. */
+    public String words(Random random, int count) {
+        return join(words, random, count);
+    }
+
+    /** {@code count} lorem sentences joined with spaces. */
+    public String sentences(Random random, int count) {
+        return join(sentences, random, count);
+    }
+
+    public int size() {
+        return Math.max(Math.max(bs.length, catchPhrases.length), Math.max(words.length, sentences.length));
+    }
+
+    private static String pick(String[] pool, Random random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    private static String join(String[] pool, Random random, int count) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                joined.append(' ');
+            }
+            joined.append(pick(pool, random));
+        }
+        return joined.toString();
+    }
+}
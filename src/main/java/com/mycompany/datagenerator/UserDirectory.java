@@ -0,0 +1,104 @@
+package com.mycompany.datagenerator;
+
+import java.util.AbstractList;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * The generated user names ({@code First_L}, then {@code First_L2}, {@code First_L3}, ... once the
+ * plain combinations run out), built without a retry loop.
+ * <p>
+ * The name space is every Faker first name x every last-name initial x as many numeric suffixes as
+ * the count needs. User {@code i} is the name at position {@code permute(i)} of that space, where
+ * {@code permute} is a seeded Feistel permutation, so names are distinct by construction and a
+ * directory of any size is built in O(count) time. Small directories keep their strings; large
+ * ones store only the permutation keys and render a name when it is read.
+ */
+public class UserDirectory extends AbstractList<String> implements RandomAccess {
+
+    private static final int MATERIALIZE_LIMIT = 1 << 16;
+    private static final int ROUNDS = 4;
+
+    private final int count;
+    private final long spaceSize;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+    private final String[] firstNames;
+    private final char[] initials;
+    private final String[] names;
+
+    private UserDirectory(Random random, int count, FakerDictionary dictionary) {
+        this.count = count;
+        this.firstNames = dictionary.firstNames();
+        this.initials = dictionary.lastNameInitials();
+        long plainNames = (long) firstNames.length * initials.length;
+        long suffixes = Math.max(1, (count + plainNames - 1) / plainNames);
+        this.spaceSize = plainNames * suffixes;
+        int bits = 64 - Long.numberOfLeadingZeros(spaceSize - 1);
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.halfMask = (1L << halfBits) - 1;
+        for (int r = 0; r < ROUNDS; r++) {
+            roundKeys[r] = random.nextLong();
+        }
+        if (count <= MATERIALIZE_LIMIT) {
+            names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = render(permute(i));
+            }
+        } else {
+            names = null;
+        }
+    }
+
+    /** Names from the dictionary's first names and last-name initials. */
+    public static UserDirectory generate(Random random, int count, FakerDictionary dictionary) {
+        return new UserDirectory(random, Math.max(0, count), dictionary);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return names != null ? names[index] : render(permute(index));
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /** Bijection on [0, spaceSize): a balanced Feistel network over the next even bit width, cycle-walked. */
+    private long permute(long value) {
+        do {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (int r = 0; r < ROUNDS; r++) {
+                long next = left ^ (mix(right ^ roundKeys[r]) & halfMask);
+                left = right;
+                right = next;
+            }
+            value = (left << halfBits) | right;
+        } while (value >= spaceSize); // At most 4x the space, so a few steps on average
+        return value;
+    }
+
+    private static long mix(long z) { // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private String render(long position) {
+        String firstName = firstNames[(int) (position % firstNames.length)];
+        long rest = position / firstNames.length;
+        char initial = initials[(int) (rest % initials.length)];
+        long suffix = rest / initials.length;
+        StringBuilder name = new StringBuilder(firstName.length() + 12).append(firstName).append('_').append(initial);
+        if (suffix > 0) {
+            name.append(suffix + 1);
+        }
+        return name.toString();
+    }
+}
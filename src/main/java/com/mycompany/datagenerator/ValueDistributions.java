@@ -0,0 +1,128 @@
+package com.mycompany.datagenerator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code distributions} section of {@code application.yml}, resolved once per run into
+ * ready-to-sample {@link Distribution}s.
+ * <p>
+ * Columns are named {@code Table.Column} (e.g. {@code CR_Main.CR_Type}), key pools by the names
+ * schema references use ({@code Users}, {@code CR_Main}, {@code JIRA_Issues}, {@code Confluence_Pages}
+ * or a schema table). Anything not configured keeps the uniform picks and null rates the generators
+ * always used, drawing the same random numbers, so a seed's output only changes where a skew is set.
+ */
+public class ValueDistributions {
+
+    private final Map<String, Distribution> weightedColumns = new HashMap<>();
+    private final Map<String, Double> nullRates;
+    private final Map<String, Double> keySkews;
+    // Zipf samplers per pool and pool size (registries are filled after set-up, and append runs
+    // replay earlier batches against the smaller pools they saw).
+    private final Map<String, Distribution> keySamplers = new ConcurrentHashMap<>();
+
+    /**
+     * @param vocabularies     every column that picks from a fixed list, with that list
+     * @param defaultNullRates every column that may be left empty, with its built-in rate
+     * @param keyPools         every pool keys are picked from: the built-in ones and the schema tables
+     */
+    public ValueDistributions(AppConfig.Distributions config, Map<String, List<String>> vocabularies,
+            Map<String, Double> defaultNullRates, Collection<String> keyPools) {
+        AppConfig.Distributions distributions = config != null ? config : new AppConfig.Distributions();
+        this.nullRates = new HashMap<>(defaultNullRates);
+        if (distributions.getNullRates() != null) {
+            distributions.getNullRates().forEach((column, rate) -> {
+                if (!defaultNullRates.containsKey(column)) {
+                    throw new IllegalArgumentException("distributions.nullRates: unknown column '" + column
+                            + "', expected one of " + defaultNullRates.keySet());
+                }
+                nullRates.put(column, checkRate(column, rate));
+            });
+        }
+        if (distributions.getWeights() != null) {
+            distributions.getWeights().forEach((column, weights) -> {
+                List<String> vocabulary = vocabularies.get(column);
+                if (vocabulary == null) {
+                    throw new IllegalArgumentException("distributions.weights: unknown column '" + column
+                            + "', expected one of " + vocabularies.keySet());
+                }
+                try {
+                    weightedColumns.put(column, Distribution.weighted(alignWeights(vocabulary, weights)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("distributions.weights." + column + ": " + e.getMessage(), e);
+                }
+            });
+        }
+        this.keySkews = new HashMap<>();
+        if (distributions.getKeySkew() != null) {
+            distributions.getKeySkew().forEach((pool, skew) -> {
+                if (!keyPools.contains(pool)) {
+                    throw new IllegalArgumentException("distributions.keySkew: unknown pool '" + pool
+                            + "', expected one of " + keyPools);
+                }
+                if (skew == null || skew < 0 || Double.isNaN(skew)) {
+                    throw new IllegalArgumentException("distributions.keySkew." + pool + " must be >= 0");
+                }
+                keySkews.put(pool, skew);
+            });
+        }
+    }
+
+    /** A value of {@code column}'s vocabulary: weighted if configured, otherwise uniform. */
+    public <T> T pick(GenerationContext ctx, String column, List<T> values) {
+        Distribution weighted = weightedColumns.get(column);
+        return weighted != null ? weighted.pick(ctx.random, values) : ctx.randomChoice(values);
+    }
+
+    /** A key from {@code pool}: Zipf-skewed towards the first keys if configured, otherwise uniform. */
+    public <T> T pickKey(GenerationContext ctx, String pool, List<T> keys) {
+        double skew = keySkew(pool);
+        if (skew == 0 || keys.isEmpty()) {
+            return ctx.randomChoice(keys);
+        }
+        return keys.get(keySampler(pool, keys.size(), skew).sample(ctx.random));
+    }
+
+    /** Draws whether {@code column} is left empty in this row. */
+    public boolean isNull(GenerationContext ctx, String column) {
+        Double rate = nullRates.get(column);
+        if (rate == null) {
+            throw new IllegalArgumentException("No null rate registered for " + column);
+        }
+        return ctx.random.nextDouble() <= rate;
+    }
+
+    public double keySkew(String pool) {
+        return keySkews.getOrDefault(pool, 0.0);
+    }
+
+    /** A sampler for a pool of {@code size} keys; built once per size and reused. */
+    public Distribution keySampler(String pool, int size, double skew) {
+        return keySamplers.computeIfAbsent(pool + "#" + size, key -> Distribution.zipf(size, skew));
+    }
+
+    private static double[] alignWeights(List<String> vocabulary, Map<String, Double> weights) {
+        double[] aligned = new double[vocabulary.size()];
+        weights.forEach((value, weight) -> {
+            int index = vocabulary.indexOf(value);
+            if (index < 0) {
+                throw new IllegalArgumentException("'" + value + "' is not one of " + vocabulary);
+            }
+            if (weight == null) {
+                throw new IllegalArgumentException("missing weight for '" + value + "'");
+            }
+            aligned[index] = weight;
+        });
+        return aligned;
+    }
+
+    private static double checkRate(String column, Double rate) {
+        if (rate == null || rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("distributions.nullRates." + column + " must be between 0 and 1");
+        }
+        return rate;
+    }
+}
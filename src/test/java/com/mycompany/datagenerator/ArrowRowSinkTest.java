@@ -0,0 +1,155 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampSecVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Arrow IPC output read back with Arrow's own file reader and turned into the CSV text it stands for. */
+class ArrowRowSinkTest {
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void typedColumnsReadBackAcrossSeveralBatches() throws IOException {
+        String[] header = {"Id", "State", "Owner", "Reviewer", "Day", "At", "Count"};
+        List<String> states = List.of("New", "Closed", "");
+        List<String> users = List.of("Ann_B", "Bob_C");
+        Map<String, ArrowRowSink.Column> columns = Map.of(
+                "State", ArrowRowSink.Column.category(states),
+                "Owner", ArrowRowSink.Column.category(users),
+                "Reviewer", ArrowRowSink.Column.category(users), // Shares Owner's dictionary
+                "Day", ArrowRowSink.Column.date(),
+                "At", ArrowRowSink.Column.timestamp(),
+                "Count", ArrowRowSink.Column.integer());
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i < 2 * ArrowRowSink.BATCH_ROWS + 5; i++) {
+            rows.add(List.of("ID-" + i, states.get(i % 3), users.get(i % 2), i % 5 == 0 ? "" : users.get(1 - i % 2),
+                    LocalDate.of(2023, 1, 1).plusDays(i % 400).toString(),
+                    LocalDateTime.of(1969, 12, 31, 23, 0).plusMinutes(i * 37L).format(MINUTE_FORMAT),
+                    i % 7 == 0 ? "" : Integer.toString(i - 100)));
+        }
+        Path file = folder.resolve("table.arrow");
+        try (ArrowRowSink sink = new ArrowRowSink(Files.newOutputStream(file), header, columns)) {
+            for (List<String> row : rows) {
+                sink.writeRow(row);
+            }
+        }
+        List<List<String>> read = readArrow(file);
+        assertEquals(Arrays.asList(header), read.get(0));
+        assertEquals(rows, read.subList(1, read.size()));
+    }
+
+    @Test
+    void rejectsAValueOutsideItsDictionary() throws IOException {
+        try (ArrowRowSink sink = new ArrowRowSink(new ByteArrayOutputStream(), new String[] {"State"},
+                Map.of("State", ArrowRowSink.Column.category(List.of("New"))))) {
+            assertThrows(IOException.class, () -> sink.writeRow(List.of("Open")));
+        }
+    }
+
+    @Test
+    void generatedTablesMatchTheCsvOutput() throws IOException {
+        Path csv = folder.resolve("csv");
+        TestConfigs.generate(TestConfigs.seeded(csv, 17L));
+        Path arrow = folder.resolve("arrow");
+        AppConfig config = TestConfigs.seeded(arrow, 17L);
+        config.getOutput().setFormat(AppConfig.Output.FORMAT_ARROW);
+        TestConfigs.generate(config);
+
+        for (String table : List.of("CR_Main", "CR_CTasks", "JIRA_Issues_Detailed", "Confluence_Pages_Detailed",
+                "JIRA_Activities")) {
+            assertEquals(readCsv(csv.resolve(table + ".csv")), readArrow(arrow.resolve(table + ".arrow")), table);
+        }
+    }
+
+    /** Header, then every row with dictionary codes, dates, timestamps and numbers rendered as CSV text. */
+    private static List<List<String>> readArrow(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator();
+                FileChannel channel = FileChannel.open(file);
+                ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            List<String> header = new ArrayList<>();
+            root.getSchema().getFields().forEach(field -> header.add(field.getName()));
+            rows.add(header);
+            Map<Long, Dictionary> dictionaries = reader.getDictionaryVectors();
+            while (reader.loadNextBatch()) {
+                List<FieldVector> vectors = root.getFieldVectors();
+                for (int r = 0; r < root.getRowCount(); r++) {
+                    List<String> row = new ArrayList<>(vectors.size());
+                    for (FieldVector vector : vectors) {
+                        row.add(text(vector, r, dictionaries));
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String text(FieldVector vector, int index, Map<Long, Dictionary> dictionaries) {
+        if (vector.isNull(index)) {
+            return "";
+        }
+        DictionaryEncoding encoding = vector.getField().getDictionary();
+        if (encoding != null) {
+            VarCharVector values = (VarCharVector) dictionaries.get(encoding.getId()).getVector();
+            return new String(values.get(((IntVector) vector).get(index)), StandardCharsets.UTF_8);
+        }
+        if (vector instanceof DateDayVector) {
+            return LocalDate.ofEpochDay(((DateDayVector) vector).get(index)).toString();
+        }
+        if (vector instanceof TimeStampSecVector) {
+            return LocalDateTime.ofEpochSecond(((TimeStampSecVector) vector).get(index), 0, ZoneOffset.UTC)
+                    .format(MINUTE_FORMAT);
+        }
+        if (vector instanceof IntVector) {
+            return Integer.toString(((IntVector) vector).get(index));
+        }
+        return new String(((VarCharVector) vector).get(index), StandardCharsets.UTF_8);
+    }
+
+    private static List<List<String>> readCsv(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.parse(reader)) {
+                rows.add(Arrays.asList(record.values()));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,124 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A run interrupted after a checkpoint and then resumed must leave the same files as an uninterrupted
+ * run. The interruption is staged from a finished checkpointed run: one table is cut back to its
+ * first partition with a torn row after it, one is lost entirely, and the rest stay complete.
+ */
+class CheckpointResumeTest {
+
+    private static final long SEED = 20240601L;
+    private static final String CHECKPOINT_FILE = "generation-checkpoint.json";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void resumedRunMatchesAnUninterruptedRun() throws IOException {
+        Path reference = folder.resolve("reference");
+        TestConfigs.generate(TestConfigs.seeded(reference, SEED));
+        Map<String, byte[]> expected = TestConfigs.csvFiles(reference);
+
+        Path resumed = folder.resolve("resumed");
+        AppConfig config = TestConfigs.seeded(resumed, SEED);
+        config.getGeneration().setCheckpointIntervalSeconds(1);
+        TestConfigs.generate(config);
+        interrupt(resumed);
+
+        AppConfig resume = TestConfigs.seeded(resumed, SEED);
+        resume.getGeneration().setSeed(null); // The checkpoint supplies seed and clock
+        resume.getGeneration().setResume(true);
+        resume.getGeneration().setThreads(3);
+        TestConfigs.generate(resume);
+
+        Map<String, byte[]> actual = TestConfigs.csvFiles(resumed);
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String file : expected.keySet()) {
+            assertArrayEquals(expected.get(file), actual.get(file), file + " differs after resuming");
+        }
+        Checkpoints.State state = JSON.readValue(resumed.resolve(CHECKPOINT_FILE).toFile(), Checkpoints.State.class);
+        for (Checkpoints.Table table : state.tables.values()) {
+            assertTrue(table.complete, table.file + " is not recorded as complete");
+        }
+    }
+
+    @Test
+    void resumeRefusesDifferentSettings() {
+        Path output = folder.resolve("changed");
+        AppConfig config = TestConfigs.seeded(output, SEED);
+        config.getGeneration().setCheckpointIntervalSeconds(1);
+        TestConfigs.generate(config);
+
+        AppConfig changed = TestConfigs.seeded(output, SEED);
+        changed.getGeneration().setResume(true);
+        changed.getGeneration().setUniqueCrs(2600);
+        assertThrows(UncheckedIOException.class, () -> new DataGenerator(changed).close());
+    }
+
+    /** Rewrites a finished run's files and checkpoint into the state a crash would have left. */
+    private static void interrupt(Path output) throws IOException {
+        Path checkpointFile = output.resolve(CHECKPOINT_FILE);
+        Checkpoints.State state = JSON.readValue(checkpointFile.toFile(), Checkpoints.State.class);
+
+        // Confluence_Pages: checkpointed after its first partition (one row per page), then a torn row
+        // longer than the rest of the table, which only truncating removes.
+        Path pages = output.resolve("Confluence_Pages_Detailed.csv");
+        byte[] prefix = firstRecords(pages, PartitionRunner.PARTITION_SIZE);
+        byte[] written = Files.readAllBytes(pages);
+        assertArrayEquals(prefix, Arrays.copyOf(written, prefix.length), "re-encoded prefix differs from the file");
+        Files.write(pages, prefix);
+        Files.write(pages, ("CONF-torn,\"" + "x".repeat(written.length)).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        Checkpoints.Table table = state.tables.get("Confluence_Pages");
+        table.partitionsDone = 1;
+        table.rows = PartitionRunner.PARTITION_SIZE;
+        table.bytes = prefix.length;
+        table.complete = false;
+
+        // JIRA_Activities: never checkpointed, and its file only holds part of a header.
+        state.tables.remove("JIRA_Activities");
+        Files.write(output.resolve("JIRA_Activities.csv"), "Activity_".getBytes(StandardCharsets.UTF_8));
+
+        JSON.writeValue(checkpointFile.toFile(), state);
+    }
+
+    /** The header and first {@code count} records of a CSV file, re-encoded the way the generator writes them. */
+    private static byte[] firstRecords(Path file, int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Iterator<CSVRecord> records = CSVFormat.DEFAULT.parse(reader).iterator();
+            String[] header = records.next().values();
+            try (CsvRowSink sink = new CsvRowSink(out, header)) {
+                for (int i = 0; i < count; i++) {
+                    sink.writeRow(Arrays.asList(records.next().values()));
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** A checkpoint records a table's flushed length; resuming cuts the file back to it and appends. */
+class CheckpointsTest {
+
+    private static final String[] HEADER = {"Id", "Text"};
+    private static final Map<String, Object> SETTINGS = Map.of("uniqueCrs", 2500, "format", "csv");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void resumeDropsRowsWrittenAfterTheCheckpoint() throws Exception {
+        Path state = folder.resolve("checkpoint.json");
+        Path table = folder.resolve("Table.csv");
+        Checkpoints checkpoints = Checkpoints.start(state, 1, 42L, 28_000_000L, SETTINGS);
+        assertEquals(0, checkpoints.firstPartition("Table"));
+        try (FastCsvWriter sink = new FastCsvWriter(checkpoints.open("Table", table), HEADER, Set.of())) {
+            sink.writeRow(List.of("ID-1", "one"));
+            sink.writeRow(List.of("ID-2", "two, quoted"));
+            Thread.sleep(1100); // Past the one-second interval, so this partition is recorded
+            checkpoints.partitionWritten("Table", 1, sink);
+            sink.writeRow(List.of("ID-3", "lost with the crash"));
+        }
+        Files.writeString(table, "ID-4,torn", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        Checkpoints resumed = Checkpoints.resume(state, 1, SETTINGS);
+        assertEquals(42L, resumed.getSeed());
+        assertEquals(28_000_000L, resumed.getGenerationStartMinute());
+        assertEquals(1, resumed.firstPartition("Table"));
+        assertEquals(2, resumed.writtenRows("Table"));
+        FastCsvWriter appender = new FastCsvWriter(resumed.open("Table", table), HEADER, Set.of(), false);
+        try (RowSink sink = new Checkpoints.ResumedRowSink(appender, resumed.writtenRows("Table"))) {
+            sink.writeRow(List.of("ID-3", "rendered again"));
+            assertEquals(3, sink.getRowCount());
+            resumed.tableFinished("Table", 2, sink);
+        }
+        assertEquals("Id,Text\r\nID-1,one\r\nID-2,\"two, quoted\"\r\nID-3,rendered again\r\n",
+                Files.readString(table, StandardCharsets.UTF_8));
+        assertEquals(3, Checkpoints.resume(state, 1, SETTINGS).writtenRows("Table"));
+    }
+
+    @Test
+    void resumeRejectsOtherSettingsAndMissingState() throws IOException {
+        Path state = folder.resolve("checkpoint.json");
+        assertThrows(IOException.class, () -> Checkpoints.resume(state, 1, SETTINGS));
+        Checkpoints.start(state, 1, 42L, 0L, SETTINGS);
+        IOException e = assertThrows(IOException.class,
+                () -> Checkpoints.resume(state, 1, Map.of("uniqueCrs", 2501, "format", "csv")));
+        assertTrue(e.getMessage().contains("different settings"), e.getMessage());
+    }
+
+    @Test
+    void resumeRejectsAFileShorterThanItsCheckpoint() throws IOException {
+        Path state = folder.resolve("checkpoint.json");
+        Path table = folder.resolve("Table.csv");
+        Checkpoints checkpoints = Checkpoints.start(state, 1, 42L, 0L, SETTINGS);
+        try (FastCsvWriter sink = new FastCsvWriter(checkpoints.open("Table", table), HEADER, Set.of())) {
+            sink.writeRow(List.of("ID-1", "one"));
+            checkpoints.tableFinished("Table", 1, sink);
+        }
+        Files.writeString(table, "Id", StandardCharsets.UTF_8);
+        Checkpoints resumed = Checkpoints.resume(state, 1, SETTINGS);
+        assertThrows(IOException.class, () -> resumed.open("Table", table));
+    }
+}
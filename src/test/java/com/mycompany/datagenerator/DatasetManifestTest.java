@@ -0,0 +1,89 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** The append-mode sidecar: round trip, settings check and refusal of unfinished runs. */
+class DatasetManifestTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void roundTripsBatchesAndHighWaterMarks() throws IOException {
+        Path file = folder.resolve(DatasetManifest.FILE_NAME);
+        DatasetManifest created = DatasetManifest.create(file, settings(100));
+        created.add(batch(1L, 0, 100), 0);
+        DatasetManifest.Batch second = batch(2L, 100, 40);
+        second.crStatusUpdates.add(new int[] {0, 25});
+        created.add(second, 25);
+
+        DatasetManifest loaded = DatasetManifest.load(file, settings(100));
+        assertEquals(2, loaded.getBatches().size());
+        assertEquals(140, loaded.highWaterMark("CR_Main"));
+        assertEquals(0, loaded.highWaterMark("JIRA_Activities"));
+        assertEquals(25, loaded.getCrStatusCursor());
+        assertTrue(loaded.hasCrStatusUpdates());
+        DatasetManifest.Batch reloaded = loaded.getBatches().get(1);
+        assertEquals(2L, reloaded.seed);
+        assertEquals(100, reloaded.offset("CR_Main"));
+        assertArrayEquals(new int[] {0, 25}, reloaded.crStatusUpdates.get(0));
+        assertFalse(Files.exists(file.resolveSibling(DatasetManifest.FILE_NAME + ".tmp")));
+    }
+
+    @Test
+    void refusesDifferentSettings() throws IOException {
+        Path file = folder.resolve(DatasetManifest.FILE_NAME);
+        DatasetManifest.create(file, settings(100)).add(batch(1L, 0, 100), 0);
+
+        IOException e = assertThrows(IOException.class, () -> DatasetManifest.load(file, settings(200)));
+        assertTrue(e.getMessage().contains("different settings"), e.getMessage());
+    }
+
+    @Test
+    void refusesAnUnfinishedAppendRun() throws IOException {
+        Path file = folder.resolve(DatasetManifest.FILE_NAME);
+        DatasetManifest manifest = DatasetManifest.create(file, settings(100));
+        manifest.add(batch(1L, 0, 100), 0);
+        manifest.markPending(batch(2L, 100, 40));
+
+        IOException e = assertThrows(IOException.class, () -> DatasetManifest.load(file, settings(100)));
+        assertTrue(e.getMessage().contains("did not finish"), e.getMessage());
+    }
+
+    @Test
+    void missingManifestIsReportedOrNull() throws IOException {
+        Path file = folder.resolve(DatasetManifest.FILE_NAME);
+        assertNull(DatasetManifest.read(file));
+        assertThrows(IOException.class, () -> DatasetManifest.load(file, settings(100)));
+    }
+
+    private static Map<String, Object> settings(int crs) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("numUniqueCrs", crs);
+        settings.put("eventWindowDays", 30L);
+        settings.put("writer", "fast");
+        return settings;
+    }
+
+    private static DatasetManifest.Batch batch(long seed, int offset, int count) {
+        DatasetManifest.Batch batch = new DatasetManifest.Batch();
+        batch.seed = seed;
+        batch.offsets.put("CR_Main", offset);
+        batch.counts.put("CR_Main", count);
+        return batch;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** The verifier passes a generated dataset and reports a dangling reference and a parent cycle planted in it. */
+class DatasetVerifierTest {
+
+    private static final String REPORT = "verify-report.json";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void generatedDatasetPasses() throws IOException {
+        AppConfig config = TestConfigs.seeded(folder, 5L);
+        TestConfigs.generate(config);
+
+        assertTrue(new DatasetVerifier(config).verify());
+        JsonNode report = new ObjectMapper().readTree(folder.resolve(REPORT).toFile());
+        assertEquals(0, report.get("problems").asLong());
+        assertEquals(0, report.get("confluenceParents").get("cycles").asLong());
+        assertTrue(report.get("confluenceParents").get("pagesWithParent").asLong() > 0);
+    }
+
+    @Test
+    void reportsDanglingReferencesAndParentCycles() throws IOException {
+        AppConfig config = TestConfigs.seeded(folder, 5L);
+        TestConfigs.generate(config);
+
+        // One CR links a JIRA issue that was never generated.
+        Path crs = folder.resolve("CR_Main.csv");
+        List<List<String>> crRows = read(crs);
+        int linkedJira = crRows.get(0).indexOf("Linked_Jira_ID");
+        String dangling = null;
+        for (List<String> row : crRows.subList(1, crRows.size())) {
+            if (!row.get(linkedJira).isEmpty()) {
+                dangling = row.get(linkedJira).replaceAll("\\d+$", "99999999");
+                row.set(linkedJira, dangling);
+                break;
+            }
+        }
+        write(crs, crRows);
+        // Pages 5 and 9 (different ID prefixes) become each other's parent.
+        Path pages = folder.resolve("Confluence_Pages_Detailed.csv");
+        List<List<String>> pageRows = read(pages);
+        int parent = pageRows.get(0).indexOf("Confluence_Parent_Page_ID");
+        String fifth = pageRows.get(5).get(0);
+        String ninth = pageRows.get(9).get(0);
+        assertNotEquals(fifth.replaceAll("\\d+$", ""), ninth.replaceAll("\\d+$", ""));
+        pageRows.get(5).set(parent, ninth);
+        pageRows.get(9).set(parent, fifth);
+        write(pages, pageRows);
+
+        assertFalse(new DatasetVerifier(config).verify());
+        JsonNode report = new ObjectMapper().readTree(folder.resolve(REPORT).toFile());
+        assertEquals(2, report.get("problems").asLong());
+        JsonNode reference = null;
+        for (JsonNode candidate : report.get("references")) {
+            if (candidate.get("table").asText().equals("CR_Main")
+                    && candidate.get("column").asText().equals("Linked_Jira_ID")) {
+                reference = candidate;
+            }
+        }
+        assertEquals(1, reference.get("danglingIds").asLong());
+        assertEquals(dangling, reference.get("danglingSamples").get(0).asText());
+        JsonNode parents = report.get("confluenceParents");
+        assertEquals(1, parents.get("cycles").asLong());
+        // Formatting a page number back into an ID relies on numbers being unique across prefixes.
+        assertEquals(fifth + " -> " + ninth + " -> " + fifth, parents.get("cycleSamples").get(0).asText());
+    }
+
+    /** Header and data rows of a CSV file. */
+    private static List<List<String>> read(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.parse(reader)) {
+                rows.add(new ArrayList<>(Arrays.asList(record.values())));
+            }
+        }
+        return rows;
+    }
+
+    private static void write(Path file, List<List<String>> rows) throws IOException {
+        try (CsvRowSink sink = new CsvRowSink(file, rows.get(0).toArray(new String[0]))) {
+            for (List<String> row : rows.subList(1, rows.size())) {
+                sink.writeRow(row);
+            }
+        }
+    }
+}
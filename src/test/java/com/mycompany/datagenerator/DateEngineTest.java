@@ -0,0 +1,60 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+/** DateEngine's hand-rolled calendar arithmetic checked against java.time. */
+class DateEngineTest {
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final DateEngine engine = DateEngine.forRange(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31));
+
+    @Test
+    void formatDayMatchesLocalDateInsideAndOutsideTheCachedRange() {
+        // 1000-01-01 .. 9999-12-31 covers negative epoch days, leap centuries and both cache edges.
+        long first = LocalDate.of(1000, 1, 1).toEpochDay();
+        long last = LocalDate.of(9999, 12, 31).toEpochDay();
+        for (long day = first; day <= last; day += 7) {
+            assertDay(day);
+        }
+        for (LocalDate date : new LocalDate[] {
+                LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1), LocalDate.of(1900, 2, 28),
+                LocalDate.of(2000, 2, 29), LocalDate.of(2022, 12, 31), LocalDate.of(2023, 1, 1),
+                LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1)}) {
+            assertDay(date.toEpochDay());
+        }
+    }
+
+    @Test
+    void formatMinuteMatchesLocalDateTime() {
+        char[] buffer = new char[DateEngine.MINUTE_LENGTH];
+        LocalDateTime start = LocalDateTime.of(1969, 12, 30, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 2, 0, 0);
+        for (LocalDateTime time = start; time.isBefore(end); time = time.plusMinutes(6007)) {
+            long epochMinute = time.toEpochSecond(ZoneOffset.UTC) / 60;
+            String text = engine.formatMinute(epochMinute, buffer);
+            assertEquals(time.format(MINUTE_FORMAT), text);
+            assertEquals(epochMinute, DateEngine.parseMinute(text));
+        }
+        assertEquals("1969-12-31 23:59", engine.formatMinute(-1, buffer));
+    }
+
+    @Test
+    void parseRejectsNonDigits() {
+        assertThrows(NumberFormatException.class, () -> DateEngine.parseDay("2024-0x-01"));
+    }
+
+    private void assertDay(long epochDay) {
+        String expected = LocalDate.ofEpochDay(epochDay).toString();
+        assertEquals(expected, engine.formatDay(epochDay));
+        assertEquals(epochDay, DateEngine.parseDay(expected));
+    }
+}
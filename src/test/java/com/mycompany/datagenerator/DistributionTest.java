@@ -0,0 +1,95 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Sample frequencies of the alias table and the Zipf sampler against their exact probabilities. */
+class DistributionTest {
+
+    private static final int SAMPLES = 400_000;
+
+    @Test
+    void weightedMatchesTheRelativeWeights() {
+        double[] weights = {80, 15, 5, 0, 0.5};
+        double total = 100.5;
+        int[] counts = sample(Distribution.weighted(weights), new Random(1));
+        for (int i = 0; i < weights.length; i++) {
+            assertFrequency(weights[i] / total, counts[i], "weight " + weights[i]);
+        }
+        assertEquals(0, counts[3], "a zero weight must never be drawn");
+    }
+
+    @Test
+    void weightedRejectsUnusableWeights() {
+        assertThrows(IllegalArgumentException.class, () -> Distribution.weighted(new double[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.weighted(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.weighted(new double[] {1, Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.weighted(new double[0]));
+    }
+
+    @Test
+    void zipfMatchesThePowerLaw() {
+        for (double exponent : new double[] {0.5, 1.0, 1.3}) {
+            int size = 100;
+            double harmonic = 0;
+            for (int k = 1; k <= size; k++) {
+                harmonic += Math.pow(k, -exponent);
+            }
+            int[] counts = sample(Distribution.zipf(size, exponent), new Random(2));
+            for (int rank = 1; rank <= 5; rank++) {
+                assertFrequency(Math.pow(rank, -exponent) / harmonic, counts[rank - 1],
+                        "rank " + rank + " at exponent " + exponent);
+            }
+        }
+    }
+
+    @Test
+    void zipfStaysInBounds() {
+        Random random = new Random(3);
+        Distribution single = Distribution.zipf(1, 1.0);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, single.sample(random));
+        }
+        for (int size : new int[] {2, 3, 1_000_000}) {
+            for (double exponent : new double[] {0.01, 1.0, 1e-9 + 1, 3.0}) {
+                Distribution zipf = Distribution.zipf(size, exponent);
+                for (int i = 0; i < 10_000; i++) {
+                    int index = zipf.sample(random);
+                    assertTrue(index >= 0 && index < size, index + " outside [0, " + size + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void zipfWithExponentZeroDrawsLikeRandomChoice() {
+        Distribution zipf = Distribution.zipf(10, 0);
+        Random expected = new Random(4);
+        Random actual = new Random(4);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.nextInt(10), zipf.sample(actual));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Distribution.zipf(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.zipf(0, 1));
+    }
+
+    private static int[] sample(Distribution distribution, Random random) {
+        int[] counts = new int[distribution.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+
+    /** Within five standard deviations of the binomial expectation. */
+    private static void assertFrequency(double probability, int count, String what) {
+        double expected = probability * SAMPLES;
+        double sigma = Math.sqrt(SAMPLES * probability * (1 - probability));
+        assertEquals(expected, count, 5 * sigma + 1, what);
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** EventTimeline must hand out non-decreasing times, partition by partition, independent of render order. */
+class EventTimelineTest {
+
+    private static final long START = 27_000_000L; // Some minute in 2021
+    private static final long WINDOW = 60L * 24 * 30;
+    private static final int COUNT = 5 * PartitionRunner.PARTITION_SIZE + 321;
+
+    @Test
+    void timesAreOrderedAndInsideTheWindow() {
+        long[] minutes = render(new EventTimeline(START, WINDOW, COUNT, COUNT), false);
+        assertTrue(minutes[0] >= START);
+        assertTrue(minutes[COUNT - 1] < START + WINDOW);
+        for (int i = 1; i < COUNT; i++) {
+            assertTrue(minutes[i] >= minutes[i - 1], "event " + i + " is earlier than event " + (i - 1));
+        }
+    }
+
+    @Test
+    void eventsPastTheWindowKeepTheSameDensity() {
+        long[] minutes = render(new EventTimeline(START, WINDOW, COUNT / 2, COUNT), false);
+        for (int i = 1; i < COUNT; i++) {
+            assertTrue(minutes[i] >= minutes[i - 1]);
+        }
+        assertTrue(minutes[COUNT - 1] >= START + WINDOW, "second half should continue past the window");
+        assertTrue(minutes[COUNT - 1] < START + 3 * WINDOW);
+    }
+
+    @Test
+    void partitionOrderDoesNotChangeTheTimes() {
+        long[] forward = render(new EventTimeline(START, WINDOW, COUNT, COUNT), false);
+        long[] backward = render(new EventTimeline(START, WINDOW, COUNT, COUNT), true);
+        assertArrayEquals(forward, backward);
+    }
+
+    @Test
+    void skippingAnEventInsideAPartitionFails() {
+        EventTimeline timeline = new EventTimeline(START, WINDOW, COUNT, COUNT);
+        GenerationContext ctx = new GenerationContext();
+        timeline.minute(ctx, 0);
+        assertThrows(IllegalStateException.class, () -> timeline.minute(ctx, 2));
+    }
+
+    @Test
+    void rejectsAnEmptyWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new EventTimeline(START, 0, 10, 10));
+    }
+
+    /** Renders every partition with its own seed, like PartitionRunner, optionally last partition first. */
+    private static long[] render(EventTimeline timeline, boolean backwards) {
+        long[] minutes = new long[COUNT];
+        GenerationContext ctx = new GenerationContext();
+        int partitions = (COUNT + PartitionRunner.PARTITION_SIZE - 1) / PartitionRunner.PARTITION_SIZE;
+        for (int n = 0; n < partitions; n++) {
+            int partition = backwards ? partitions - 1 - n : n;
+            ctx.reseed(PartitionRunner.partitionSeed(12345L, "events", partition));
+            int start = partition * PartitionRunner.PARTITION_SIZE;
+            int end = Math.min(COUNT, start + PartitionRunner.PARTITION_SIZE);
+            for (int i = start; i < end; i++) {
+                minutes[i] = timeline.minute(ctx, i);
+            }
+        }
+        return minutes;
+    }
+}
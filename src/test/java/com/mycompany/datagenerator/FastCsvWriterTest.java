@@ -0,0 +1,87 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** FastCsvWriter must stay byte-for-byte identical to the Commons CSV writer it replaces. */
+class FastCsvWriterTest {
+
+    private static final String[] HEADER = {"Id", "Text", "Date"};
+
+    /** Values chosen around the edges of {@code QuoteMode.MINIMAL}. */
+    private static final String[] EDGE_VALUES = {
+            "", " ", "plain", "#comment", "!bang", "\"", "a\"b", "a,b", "line\nbreak", "cr\rreturn",
+            " leading", "trailing ", "trailing\t", "tab\tinside", "München", "日本語", "emoji 😀", "~tilde",
+            "\u007f", ",", "\"\"", "a b"
+    };
+
+    @Test
+    void quotesEdgeCasesLikeCommonsCsv() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        for (String first : EDGE_VALUES) {
+            for (String middle : EDGE_VALUES) {
+                rows.add(Arrays.asList(first, middle, "2024-01-02"));
+            }
+        }
+        rows.add(Arrays.asList(null, null, null));
+        rows.add(Arrays.asList("", "", ""));
+        assertSameBytes(rows, Set.of());
+    }
+
+    @Test
+    void plainColumnsMatchCommonsCsv() throws IOException {
+        List<List<String>> rows = List.of(
+                Arrays.asList("CR-1", "text, with comma", "2024-01-02"),
+                Arrays.asList("", "", ""),
+                Arrays.asList("CR-2", null, ""));
+        assertSameBytes(rows, Set.of("Id", "Date"));
+    }
+
+    @Test
+    void singleEmptyColumnIsNotAnEmptyLine() throws IOException {
+        String[] header = {"Only"};
+        List<List<String>> rows = List.of(List.of(""), List.of("x"));
+        assertArrayEquals(write(header, rows, true, Set.of()), write(header, rows, false, Set.of()));
+    }
+
+    @Test
+    void needsQuotesFollowsMinimalQuoteMode() {
+        assertTrue(FastCsvWriter.needsQuotes("", true));
+        assertFalse(FastCsvWriter.needsQuotes("", false));
+        assertTrue(FastCsvWriter.needsQuotes("#x", false));
+        assertTrue(FastCsvWriter.needsQuotes("x ", false));
+        assertFalse(FastCsvWriter.needsQuotes("x y", false));
+    }
+
+    private static void assertSameBytes(List<List<String>> rows, Collection<String> plainColumns) throws IOException {
+        byte[] expected = write(HEADER, rows, false, plainColumns);
+        byte[] actual = write(HEADER, rows, true, plainColumns);
+        assertEquals(new String(expected, StandardCharsets.UTF_8),
+                new String(actual, StandardCharsets.UTF_8));
+        assertArrayEquals(expected, actual);
+    }
+
+    private static byte[] write(String[] header, List<List<String>> rows, boolean fast,
+                                Collection<String> plainColumns) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowSink sink = fast ? new FastCsvWriter(out, header, plainColumns) : new CsvRowSink(out, header)) {
+            for (List<String> row : rows) {
+                sink.writeRow(row);
+            }
+        }
+        return out.toByteArray();
+    }
+}
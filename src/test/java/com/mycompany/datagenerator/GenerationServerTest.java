@@ -0,0 +1,124 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Status codes, a streamed table, and what a client sees once the workers and the queue are taken. */
+class GenerationServerTest {
+
+    @TempDir
+    Path folder;
+
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            ((ExecutorService) server.getExecutor()).shutdownNow();
+        }
+    }
+
+    @Test
+    void streamsTheTableAFileRunWouldWrite() throws IOException {
+        Path output = folder.resolve("file");
+        AppConfig fileConfig = TestConfigs.seeded(output, 3L);
+        fileConfig.getGeneration().setUniqueCrs(1200);
+        TestConfigs.generate(fileConfig);
+
+        start(1, 1);
+        HttpURLConnection connection = get("/tables/cr-main?rows=1200&seed=3");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("3", connection.getHeaderField("X-Seed"));
+        try (InputStream body = connection.getInputStream()) {
+            assertArrayEquals(Files.readAllBytes(output.resolve("CR_Main.csv")), body.readAllBytes());
+        }
+    }
+
+    @Test
+    void rejectsBadRequestsWithAStatus() throws IOException {
+        start(1, 1);
+        assertEquals(404, get("/tables/no-such-table").getResponseCode());
+        assertEquals(400, get("/tables/cr-main?rows=abc").getResponseCode());
+        assertEquals(400, get("/tables/cr-main?rows=0").getResponseCode());
+        assertEquals(400, get("/tables/cr-main?format=xml").getResponseCode());
+        HttpURLConnection post = get("/tables/cr-main");
+        post.setRequestMethod("POST");
+        assertEquals(405, post.getResponseCode());
+        HttpURLConnection list = get("/tables");
+        assertEquals(200, list.getResponseCode());
+        try (InputStream body = list.getInputStream()) {
+            assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("jira-issues\n"));
+        }
+    }
+
+    @Test
+    void closesConnectionsBeyondTheQueueWithoutAResponse() throws Exception {
+        start(1, 1);
+        int port = server.getAddress().getPort();
+        // The dispatcher hands each connection to the executor, whose task reads the request line:
+        // a half-sent request holds the only worker, and a second one the only queue slot.
+        try (Socket worker = halfRequest(port)) {
+            Thread.sleep(300);
+            try (Socket queued = halfRequest(port)) {
+                Thread.sleep(300);
+                try (Socket refused = new Socket("localhost", port)) {
+                    refused.setSoTimeout(10_000);
+                    OutputStream out = refused.getOutputStream();
+                    out.write("GET /tables HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                    assertClosedWithoutResponse(refused);
+                }
+            }
+        }
+        // Freed workers serve the next request as usual.
+        assertEquals(200, get("/tables").getResponseCode());
+    }
+
+    private static void assertClosedWithoutResponse(Socket socket) throws IOException {
+        try {
+            assertEquals(-1, socket.getInputStream().read(), "expected the connection to be closed");
+        } catch (SocketException e) {
+            // Closed with our request unread, so the close arrives as a reset: still no response.
+        }
+    }
+
+    private void start(int workers, int queuedRequests) throws IOException {
+        AppConfig config = TestConfigs.seeded(folder.resolve("server"), 3L);
+        config.getServer().setPort(0);
+        config.getServer().setWorkers(workers);
+        config.getServer().setQueuedRequests(queuedRequests);
+        server = GenerationServer.start(config);
+    }
+
+    private HttpURLConnection get(String path) throws IOException {
+        URL url = new URL("http://localhost:" + server.getAddress().getPort() + path);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private static Socket halfRequest(int port) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.getOutputStream().write("GET /tab".getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+}
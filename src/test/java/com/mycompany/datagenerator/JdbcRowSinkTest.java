@@ -0,0 +1,162 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Batch loading into an embedded H2 database, read back over JDBC. */
+class JdbcRowSinkTest {
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String[] HEADER = {"Id", "Note", "Day", "At", "Count"};
+    private static final Map<String, ArrowRowSink.Column> COLUMNS = Map.of(
+            "Day", ArrowRowSink.Column.date(),
+            "At", ArrowRowSink.Column.timestamp(),
+            "Count", ArrowRowSink.Column.integer());
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void insertsTypedRowsInBatchesOverSeveralConnections() throws IOException, SQLException {
+        AppConfig.Jdbc jdbc = jdbc(3, 2);
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(List.of("ID-" + i, i % 3 == 0 ? "" : "note \"" + i + "\", ü", "2024-02-" + (10 + i),
+                    "2024-02-29 23:5" + i, i % 4 == 0 ? "" : Integer.toString(i * 7)));
+        }
+        try (JdbcRowSink sink = new JdbcRowSink(jdbc, "Notes", HEADER, COLUMNS)) {
+            for (List<String> row : rows) {
+                sink.writeRow(row);
+            }
+            assertEquals(10, sink.getRowCount());
+        }
+        assertEquals(sorted(rows), query(jdbc, "Notes"));
+
+        // recreateTables false keeps the rows already loaded.
+        jdbc.setRecreateTables(false);
+        try (JdbcRowSink sink = new JdbcRowSink(jdbc, "Notes", HEADER, COLUMNS)) {
+            sink.writeRow(List.of("ID-extra", "", "", "", ""));
+        }
+        assertEquals(11, query(jdbc, "Notes").size());
+        try (Connection connection = connect(jdbc); Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT * FROM \"Notes\" WHERE \"Id\" = 'ID-extra'")) {
+            ResultSetMetaData meta = result.getMetaData();
+            assertEquals(Types.DATE, meta.getColumnType(3));
+            assertEquals(Types.TIMESTAMP, meta.getColumnType(4));
+            assertEquals(Types.INTEGER, meta.getColumnType(5));
+            assertTrue(result.next());
+            assertNull(result.getObject(2)); // Empty values are NULL, not ''
+        }
+    }
+
+    @Test
+    void writerFailureIsRethrownOnClose() throws IOException {
+        JdbcRowSink sink = new JdbcRowSink(jdbc(2, 1), "Broken", HEADER, COLUMNS);
+        sink.writeRow(List.of("ID-1", "", "2024-01-01", "2024-01-01 00:00", "not a number"));
+        IOException e = assertThrows(IOException.class, sink::close);
+        assertTrue(e.getMessage().startsWith("Batch insert failed"), e.getMessage());
+    }
+
+    @Test
+    void generatedTablesMatchTheCsvOutput() throws IOException, SQLException {
+        Path csv = folder.resolve("csv");
+        TestConfigs.generate(TestConfigs.seeded(csv, 13L));
+        AppConfig config = TestConfigs.seeded(folder.resolve("jdbc"), 13L);
+        config.getOutput().setFormat(AppConfig.Output.FORMAT_JDBC);
+        config.getOutput().setJdbc(jdbc(500, 3));
+        TestConfigs.generate(config);
+
+        for (String table : List.of("CR_Main", "CR_CTasks", "JIRA_Issues_Detailed", "Confluence_Pages_Detailed",
+                "JIRA_Activities")) {
+            List<List<String>> expected = readCsv(csv.resolve(table + ".csv"));
+            assertEquals(sorted(expected), query(config.getOutput().getJdbc(), table), table);
+        }
+    }
+
+    private AppConfig.Jdbc jdbc(int batchSize, int connections) {
+        AppConfig.Jdbc jdbc = new AppConfig.Jdbc();
+        jdbc.setUrl("jdbc:h2:" + folder.resolve("db").toAbsolutePath());
+        jdbc.setUser("sa");
+        jdbc.setPassword("");
+        jdbc.setBatchSize(batchSize);
+        jdbc.setConnections(connections);
+        jdbc.setRecreateTables(true);
+        return jdbc;
+    }
+
+    private static Connection connect(AppConfig.Jdbc jdbc) throws SQLException {
+        return DriverManager.getConnection(jdbc.getUrl(), jdbc.getUser(), jdbc.getPassword());
+    }
+
+    /** Every row of the table rendered back into CSV text, in sorted order since writers commit concurrently. */
+    private static List<String> query(AppConfig.Jdbc jdbc, String table) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = connect(jdbc); Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT * FROM \"" + table + "\"")) {
+            int columns = result.getMetaData().getColumnCount();
+            while (result.next()) {
+                List<String> row = new ArrayList<>(columns);
+                for (int i = 1; i <= columns; i++) {
+                    Object value = result.getObject(i);
+                    if (value == null) {
+                        row.add("");
+                    } else if (value instanceof Timestamp) {
+                        row.add(((Timestamp) value).toLocalDateTime().format(MINUTE_FORMAT));
+                    } else {
+                        row.add(value.toString());
+                    }
+                }
+                rows.add(String.join("\u0001", row));
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static List<String> sorted(List<List<String>> rows) {
+        List<String> joined = new ArrayList<>();
+        for (List<String> row : rows) {
+            joined.add(String.join("\u0001", row));
+        }
+        Collections.sort(joined);
+        return joined;
+    }
+
+    private static List<List<String>> readCsv(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                    .parse(reader)) {
+                rows.add(Arrays.asList(record.values()));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,187 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** NDJSON and nested JSON output parsed back with Jackson and compared with the rows (or CSV) they came from. */
+class JsonRowSinkTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] ISSUE_HEADER = {"JIRA_ID", "JIRA_Title", "JIRA_Linked_Issue_ID_Target",
+            "JIRA_Link_Type", "JIRA_Watcher_User"};
+    private static final List<NestedJsonRowSink.Child> CHILDREN = List.of(
+            new NestedJsonRowSink.Child("links", "JIRA_Linked_Issue_ID_Target", "JIRA_Link_Type"),
+            new NestedJsonRowSink.Child("watchers", "JIRA_Watcher_User"));
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void ndjsonWritesOneObjectPerRowWithNullsForEmptyValues() throws IOException {
+        String[] header = {"Id", "Text", "Empty"};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonRowSink sink = new NdjsonRowSink(out, header)) {
+            sink.writeRow(List.of("A-1", "quote \" comma , newline \n München", ""));
+            sink.writeRow(List.of("A-2")); // Short rows are padded with nulls
+            assertEquals(2, sink.getRowCount());
+        }
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = JSON.readTree(lines[0]);
+        assertEquals("quote \" comma , newline \n München", first.get("Text").asText());
+        assertTrue(first.get("Empty").isNull());
+        JsonNode second = JSON.readTree(lines[1]);
+        assertEquals(List.of("Id", "Text", "Empty"), fieldNames(second));
+        assertTrue(second.get("Text").isNull());
+    }
+
+    @Test
+    void nestedFoldsLinkAndWatcherRowsIntoArrays() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NestedJsonRowSink sink = new NestedJsonRowSink(out, ISSUE_HEADER, CHILDREN)) {
+            sink.writeRow(List.of("NOVA-1", "First", "NOVA-2", "blocks", ""));
+            sink.writeRow(List.of("NOVA-1", "First", "NOVA-3", "relates to", ""));
+            sink.writeRow(List.of("NOVA-1", "First", "", "", "Ann_B"));
+            sink.writeRow(List.of("NOVA-2", "Second", "", "", ""));
+            sink.writeRow(List.of("NOVA-3", "Third", "", "", "Bob_C"));
+            assertEquals(5, sink.getRowCount());
+            assertEquals(3, sink.getDocumentCount());
+        }
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = JSON.readTree(lines[0]);
+        assertEquals(List.of("JIRA_ID", "JIRA_Title", "links", "watchers"), fieldNames(first));
+        assertEquals(JSON.readTree("[{\"JIRA_Linked_Issue_ID_Target\":\"NOVA-2\",\"JIRA_Link_Type\":\"blocks\"},"
+                + "{\"JIRA_Linked_Issue_ID_Target\":\"NOVA-3\",\"JIRA_Link_Type\":\"relates to\"}]"),
+                first.get("links"));
+        assertEquals(JSON.readTree("[\"Ann_B\"]"), first.get("watchers"));
+        assertEquals(JSON.readTree("{\"JIRA_ID\":\"NOVA-2\",\"JIRA_Title\":\"Second\",\"links\":[],\"watchers\":[]}"),
+                JSON.readTree(lines[1]));
+        assertEquals(JSON.readTree("{\"JIRA_ID\":\"NOVA-3\",\"JIRA_Title\":\"Third\",\"links\":[],"
+                + "\"watchers\":[\"Bob_C\"]}"), JSON.readTree(lines[2]));
+    }
+
+    @Test
+    void nestedRejectsALinkAfterTheWatchers() throws IOException {
+        NestedJsonRowSink sink = new NestedJsonRowSink(new ByteArrayOutputStream(), ISSUE_HEADER, CHILDREN);
+        sink.writeRow(List.of("NOVA-1", "First", "NOVA-2", "blocks", ""));
+        sink.writeRow(List.of("NOVA-1", "First", "", "", "Ann_B"));
+        IOException e = assertThrows(IOException.class,
+                () -> sink.writeRow(List.of("NOVA-1", "First", "NOVA-3", "blocks", "")));
+        assertTrue(e.getMessage().contains("links"), e.getMessage());
+    }
+
+    @Test
+    void generatedJsonMatchesTheCsvOutput() throws IOException {
+        Path csv = folder.resolve("csv");
+        TestConfigs.generate(TestConfigs.seeded(csv, 9L));
+        Path json = folder.resolve("json");
+        AppConfig config = TestConfigs.seeded(json, 9L);
+        config.getOutput().setFormat(AppConfig.Output.FORMAT_JSON_NESTED);
+        TestConfigs.generate(config);
+
+        // Flat tables: one object per CSV row.
+        List<List<String>> crRows = readCsv(csv.resolve("CR_Main.csv"));
+        List<JsonNode> crDocuments = readNdjson(json.resolve("CR_Main.ndjson"));
+        assertEquals(crRows.size() - 1, crDocuments.size());
+        for (int i = 1; i < crRows.size(); i++) {
+            assertEquals(flat(crRows.get(0), crRows.get(i)), crDocuments.get(i - 1), "CR_Main row " + i);
+        }
+
+        // JIRA issues: the CSV rows folded by issue, with every issue field taken from its first row.
+        List<List<String>> issueRows = readCsv(csv.resolve("JIRA_Issues_Detailed.csv"));
+        List<String> header = issueRows.get(0);
+        int target = header.indexOf("JIRA_Linked_Issue_ID_Target");
+        int type = header.indexOf("JIRA_Link_Type");
+        int watcher = header.indexOf("JIRA_Watcher_User");
+        List<JsonNode> expected = new ArrayList<>();
+        ObjectNode document = null;
+        String key = null;
+        for (List<String> row : issueRows.subList(1, issueRows.size())) {
+            if (!row.get(0).equals(key)) {
+                key = row.get(0);
+                document = JsonNodeFactory.instance.objectNode();
+                for (int i = 0; i < header.size(); i++) {
+                    if (i != target && i != type && i != watcher) {
+                        put(document, header.get(i), row.get(i));
+                    }
+                }
+                document.putArray("links");
+                document.putArray("watchers");
+                expected.add(document);
+            }
+            if (!row.get(target).isEmpty() || !row.get(type).isEmpty()) {
+                ObjectNode link = ((ArrayNode) document.get("links")).addObject();
+                put(link, "JIRA_Linked_Issue_ID_Target", row.get(target));
+                put(link, "JIRA_Link_Type", row.get(type));
+            } else if (!row.get(watcher).isEmpty()) {
+                ((ArrayNode) document.get("watchers")).add(row.get(watcher));
+            }
+        }
+        List<JsonNode> actual = readNdjson(json.resolve("JIRA_Issues_Detailed.ndjson"));
+        assertEquals(3200, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    private static JsonNode flat(List<String> header, List<String> row) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < header.size(); i++) {
+            put(node, header.get(i), row.get(i));
+        }
+        return node;
+    }
+
+    private static void put(ObjectNode node, String field, String value) {
+        if (value.isEmpty()) {
+            node.putNull(field);
+        } else {
+            node.put(field, value);
+        }
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static List<List<String>> readCsv(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.parse(reader)) {
+                rows.add(Arrays.asList(record.values()));
+            }
+        }
+        return rows;
+    }
+
+    private static List<JsonNode> readNdjson(Path file) throws IOException {
+        List<JsonNode> documents = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            documents.add(JSON.readTree(line));
+        }
+        return documents;
+    }
+}
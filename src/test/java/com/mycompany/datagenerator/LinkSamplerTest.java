@@ -0,0 +1,75 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** Floyd sampling in LinkSampler: distinct, in range, the requested count and roughly uniform. */
+class LinkSamplerTest {
+
+    @Test
+    void picksAreDistinctAndInRange() {
+        Random random = new Random(42);
+        for (int bound = 0; bound <= 12; bound++) {
+            for (int k = 0; k <= 15; k++) {
+                int[] picked = LinkSampler.sampleDistinct(random, bound, k);
+                assertEquals(Math.min(k, bound), picked.length);
+                Set<Integer> seen = new HashSet<>();
+                for (int index : picked) {
+                    assertTrue(index >= 0 && index < bound, "index " + index + " outside [0, " + bound + ")");
+                    assertTrue(seen.add(index), "duplicate index " + index);
+                }
+            }
+        }
+    }
+
+    @Test
+    void negativeCountPicksNothing() {
+        assertEquals(0, LinkSampler.sampleDistinct(new Random(1), 10, -3).length);
+    }
+
+    @Test
+    void sameSeedGivesSamePicks() {
+        assertArrayEquals(LinkSampler.sampleDistinct(new Random(7), 1000, 5),
+                LinkSampler.sampleDistinct(new Random(7), 1000, 5));
+    }
+
+    @Test
+    void everyIndexAndPositionIsRoughlyUniform() {
+        int bound = 10;
+        int k = 3;
+        int trials = 100_000;
+        int[] hits = new int[bound];
+        int[][] byPosition = new int[k][bound];
+        Random random = new Random(3);
+        for (int t = 0; t < trials; t++) {
+            int[] picked = LinkSampler.sampleDistinct(random, bound, k);
+            for (int p = 0; p < k; p++) {
+                hits[picked[p]]++;
+                byPosition[p][picked[p]]++;
+            }
+        }
+        double expected = (double) trials * k / bound;
+        for (int index = 0; index < bound; index++) {
+            assertEquals(expected, hits[index], expected * 0.05, "index " + index);
+            for (int p = 0; p < k; p++) {
+                assertEquals(expected / k, byPosition[p][index], expected / k * 0.08,
+                        "index " + index + " at position " + p);
+            }
+        }
+    }
+
+    @Test
+    void joinDistinctUsesSemicolons() {
+        String joined = LinkSampler.joinDistinct(new Random(5), List.of("A", "B", "C"), 3);
+        assertEquals(Set.of("A", "B", "C"), Set.of(joined.split(";")));
+        assertEquals("", LinkSampler.joinDistinct(new Random(5), List.of(), 2));
+    }
+}
@@ -0,0 +1,101 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** The mapped writer must write the same bytes as FastCsvWriter, whichever threads encode the blocks. */
+class MappedCsvFileTest {
+
+    private static final String[] HEADER = {"Id", "Text"};
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void blocksEncodedOnSeveralThreadsMatchFastCsvWriter() throws Exception {
+        List<List<List<String>>> blocks = new ArrayList<>();
+        for (int b = 0; b < 40; b++) {
+            List<List<String>> block = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                int n = b * 250 + i;
+                block.add(List.of("ID-" + n, n % 4 == 0 ? "" : n % 4 == 1 ? "a, \"quoted\" ü" : "#text " + n));
+            }
+            blocks.add(block);
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (FastCsvWriter writer = new FastCsvWriter(expected, HEADER, Set.of("Id"))) {
+            for (List<List<String>> block : blocks) {
+                for (List<String> row : block) {
+                    writer.writeRow(row);
+                }
+            }
+        }
+
+        Path file = folder.resolve("table.csv");
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try (MappedCsvFile sink = new MappedCsvFile(file, HEADER, Set.of("Id"))) {
+            List<Future<byte[]>> encoded = new ArrayList<>();
+            for (List<List<String>> block : blocks) {
+                encoded.add(workers.submit(() -> sink.encode(block)));
+            }
+            for (int b = 0; b < blocks.size(); b++) {
+                sink.writeBlock(encoded.get(b).get(), blocks.get(b).size());
+            }
+            sink.writeRow(List.of("ID-last", "single row"));
+            assertEquals(40 * 250 + 1, sink.getRowCount());
+        } finally {
+            workers.shutdown();
+        }
+        try (FastCsvWriter writer = new FastCsvWriter(expected, HEADER, Set.of("Id"), false)) {
+            writer.writeRow(List.of("ID-last", "single row"));
+        }
+        assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+    }
+
+    @Test
+    void generatedTablesMatchTheFastWriterWithSeveralThreads() throws IOException {
+        Path fast = folder.resolve("fast");
+        AppConfig fastConfig = TestConfigs.seeded(fast, 31L);
+        fastConfig.getGeneration().setThreads(1);
+        TestConfigs.generate(fastConfig);
+        Path mapped = folder.resolve("mapped");
+        AppConfig mappedConfig = TestConfigs.seeded(mapped, 31L);
+        mappedConfig.getOutput().setCsvWriter(AppConfig.Output.CSV_WRITER_MAPPED);
+        mappedConfig.getGeneration().setThreads(4);
+        TestConfigs.generate(mappedConfig);
+
+        Map<String, byte[]> expected = TestConfigs.csvFiles(fast);
+        Map<String, byte[]> actual = TestConfigs.csvFiles(mapped);
+        assertEquals(5, expected.size(), "files: " + expected.keySet());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String name : expected.keySet()) {
+            assertArrayEquals(expected.get(name), actual.get(name), name);
+        }
+    }
+
+    @Test
+    void checkpointedRunsAreRejected() {
+        AppConfig config = TestConfigs.seeded(folder.resolve("checkpointed"), 31L);
+        config.getOutput().setCsvWriter(AppConfig.Output.CSV_WRITER_MAPPED);
+        config.getGeneration().setCheckpointIntervalSeconds(5);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> TestConfigs.generate(config));
+        assertTrue(e.getMessage().contains("does not write checkpoints"), e.getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** A seed decides every row a partitioned table renders, whatever the thread count. */
+class PartitionRunnerTest {
+
+    // Draws from both the context's Random and its dictionary text, like the table generators do.
+    private static final PartitionRunner.RowRenderer RENDERER = (ctx, index, out) -> {
+        int rows = 1 + ctx.random.nextInt(3);
+        for (int r = 0; r < rows; r++) {
+            out.writeRow(List.of("ID-" + (index + 1), Integer.toString(ctx.random.nextInt(1_000_000)),
+                    ctx.catchPhrase()));
+        }
+    };
+
+    @Test
+    void sameSeedGivesSameRowsForAnyThreadCount() throws IOException {
+        int count = 3 * PartitionRunner.PARTITION_SIZE + 123;
+        List<List<String>> single = render(42L, 1, count);
+        assertEquals("ID-1", single.get(0).get(0));
+        assertEquals("ID-" + count, single.get(single.size() - 1).get(0));
+        for (int threads : new int[] {2, 4, 7}) {
+            assertEquals(single, render(42L, threads, count), threads + " threads");
+        }
+    }
+
+    @Test
+    void differentSeedGivesDifferentRows() throws IOException {
+        assertNotEquals(render(1L, 2, 2000), render(2L, 2, 2000));
+    }
+
+    @Test
+    void partitionSeedsDifferByStreamAndPartition() {
+        long seed = PartitionRunner.partitionSeed(7L, "CR_Main", 0);
+        assertEquals(seed, PartitionRunner.partitionSeed(7L, "CR_Main", 0));
+        assertNotEquals(seed, PartitionRunner.partitionSeed(7L, "CR_Main", 1));
+        assertNotEquals(seed, PartitionRunner.partitionSeed(7L, "JIRA_Issues", 0));
+        assertNotEquals(seed, PartitionRunner.partitionSeed(8L, "CR_Main", 0));
+    }
+
+    private static List<List<String>> render(long seed, int threads, int count) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        RowSink sink = new RowSink() {
+            @Override
+            public void writeRow(List<String> row) {
+                rows.add(row);
+            }
+
+            @Override
+            public long getRowCount() {
+                return rows.size();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (PartitionRunner runner = new PartitionRunner(seed, threads)) {
+            runner.setDictionary(FakerDictionary.load(""));
+            runner.run("Test", count, RENDERER, sink);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,166 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Roll boundaries by rows and by bytes, and rolled gzip/LZ4 files decoded back through OutputFiles.openInput. */
+class RollingRowSinkTest {
+
+    private static final String[] HEADER = {"Id", "Text"};
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void rollsEveryRollRowsForEachCodec() throws IOException {
+        for (String compression : List.of(AppConfig.Output.COMPRESSION_NONE, AppConfig.Output.COMPRESSION_GZIP,
+                AppConfig.Output.COMPRESSION_LZ4)) {
+            Path out = Files.createDirectory(folder.resolve(compression));
+            List<List<String>> rows = rows(3500);
+            write(out, rows, 1000, 0, compression, 0);
+
+            List<Path> files = files(out);
+            assertEquals(4, files.size(), compression + ": " + files);
+            assertEquals("Table-00001.csv" + OutputFiles.extension(compression), files.get(0).getFileName().toString());
+            List<List<String>> readBack = new ArrayList<>();
+            int[] sizes = {1000, 1000, 1000, 500};
+            for (int i = 0; i < files.size(); i++) {
+                List<List<String>> records = read(files.get(i));
+                assertEquals(Arrays.asList(HEADER), records.get(0), "every file starts with the header");
+                assertEquals(sizes[i], records.size() - 1, files.get(i).toString());
+                readBack.addAll(records.subList(1, records.size()));
+            }
+            assertEquals(rows, readBack);
+        }
+    }
+
+    @Test
+    void rollsOnceAFileReachesRollBytes() throws IOException {
+        long rollBytes = 20_000;
+        List<List<String>> rows = rows(2000);
+        write(folder, rows, 0, rollBytes, AppConfig.Output.COMPRESSION_GZIP, 0);
+
+        List<Path> files = files(folder);
+        assertTrue(files.size() > 2, files.toString());
+        List<List<String>> readBack = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            byte[] csv = decode(files.get(i));
+            List<List<String>> records = read(files.get(i));
+            if (i < files.size() - 1) {
+                // Full files reach the limit, and were still below it before their last row.
+                List<String> last = records.get(records.size() - 1);
+                int lastRowBytes = (String.join(",", last) + "\r\n").getBytes(StandardCharsets.UTF_8).length;
+                assertTrue(csv.length >= rollBytes, files.get(i) + " has " + csv.length + " bytes");
+                assertTrue(csv.length - lastRowBytes < rollBytes, files.get(i) + " rolled late");
+            }
+            readBack.addAll(records.subList(1, records.size()));
+        }
+        assertEquals(rows, readBack);
+    }
+
+    @Test
+    void numberingContinuesAfterPreviousFiles() throws IOException {
+        write(folder, rows(10), 4, 0, AppConfig.Output.COMPRESSION_NONE, 7);
+        assertEquals(List.of("Table-00008.csv", "Table-00009.csv", "Table-00010.csv"),
+                files(folder).stream().map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void rolledGeneratedTablesJoinBackIntoTheSingleFileOutput() throws IOException {
+        Path single = folder.resolve("single");
+        TestConfigs.generate(TestConfigs.seeded(single, 21L));
+        Path rolled = folder.resolve("rolled");
+        AppConfig config = TestConfigs.seeded(rolled, 21L);
+        config.getOutput().setCompression(AppConfig.Output.COMPRESSION_LZ4);
+        config.getOutput().setRollRows(700);
+        TestConfigs.generate(config);
+
+        for (String table : List.of("CR_Main", "JIRA_Activities")) {
+            ByteArrayOutputStream joined = new ByteArrayOutputStream();
+            List<Path> parts;
+            try (Stream<Path> entries = Files.list(rolled)) {
+                parts = entries.filter(file -> file.getFileName().toString().matches(table + "-\\d{5}\\.csv\\.lz4"))
+                        .sorted().collect(Collectors.toList());
+            }
+            assertTrue(parts.size() > 1, table + ": " + parts);
+            for (int i = 0; i < parts.size(); i++) {
+                byte[] part = decode(parts.get(i));
+                int headerEnd = indexOfCrlf(part) + 2;
+                joined.write(part, i == 0 ? 0 : headerEnd, part.length - (i == 0 ? 0 : headerEnd));
+            }
+            assertArrayEquals(Files.readAllBytes(single.resolve(table + ".csv")), joined.toByteArray(), table);
+        }
+    }
+
+    private static List<List<String>> rows(int count) {
+        List<List<String>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(List.of("ID-" + i, "text " + i + (i % 3 == 0 ? " with more words in it" : "")));
+        }
+        return rows;
+    }
+
+    private static void write(Path out, List<List<String>> rows, long rollRows, long rollBytes, String compression,
+            int previousFiles) throws IOException {
+        String extension = ".csv" + OutputFiles.extension(compression);
+        try (RollingRowSink sink = new RollingRowSink(out, "Table", extension, rollRows, rollBytes, compression,
+                stream -> new FastCsvWriter(stream, HEADER, Set.of("Id")), previousFiles)) {
+            for (List<String> row : rows) {
+                sink.writeRow(row);
+            }
+            assertEquals(rows.size(), sink.getRowCount());
+        }
+    }
+
+    private static List<Path> files(Path out) throws IOException {
+        try (Stream<Path> entries = Files.list(out)) {
+            return entries.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] decode(Path file) throws IOException {
+        try (InputStream in = OutputFiles.openInput(file)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static List<List<String>> read(Path file) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (Reader reader = new InputStreamReader(OutputFiles.openInput(file), StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.parse(reader)) {
+                records.add(Arrays.asList(record.values()));
+            }
+        }
+        return records;
+    }
+
+    private static int indexOfCrlf(byte[] bytes) {
+        for (int i = 0; i + 1 < bytes.length; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
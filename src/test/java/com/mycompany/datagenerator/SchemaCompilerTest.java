@@ -0,0 +1,68 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Columns the compiler marks plain skip quoting, so the fast writer must still match Commons CSV. */
+class SchemaCompilerTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void schemaTableIsTheSameThroughBothCsvWriters() throws IOException {
+        Map<String, byte[]> fast = run("fast", AppConfig.Output.CSV_WRITER_FAST);
+        Map<String, byte[]> commons = run("commons", AppConfig.Output.CSV_WRITER_COMMONS);
+        assertEquals(List.of("CR_CTasks.csv", "CR_Main.csv", "Confluence_Pages_Detailed.csv", "Incidents.csv",
+                "JIRA_Activities.csv", "JIRA_Issues_Detailed.csv", "Notes.csv"), List.copyOf(fast.keySet()));
+        for (String file : fast.keySet()) {
+            assertArrayEquals(commons.get(file), fast.get(file), file);
+        }
+    }
+
+    private Map<String, byte[]> run(String name, String csvWriter) throws IOException {
+        Path output = folder.resolve(name);
+        AppConfig config = TestConfigs.seeded(output, 19L);
+        config.getOutput().setCsvWriter(csvWriter);
+        AppConfig.Schema schema = new AppConfig.Schema();
+        // Values around QuoteMode.MINIMAL: a leading char <= '#' or a trailing one <= ' ' is quoted.
+        schema.setTables(List.of(
+                table("Incidents", 1500,
+                        column("Incident_ID", "sequence", spec -> spec.setFormat("#%05d")),
+                        column("Severity", "choice", spec -> spec.setValues(
+                                List.of("!urgent", "low\t", "plain", "~tilde", " lead", "trail ", "Sev1"))),
+                        column("Owner", "reference", spec -> spec.setReferences(SchemaCompiler.USERS))),
+                table("Notes", 700,
+                        column("Note_ID", "sequence", spec -> spec.setFormat("N-%d")),
+                        column("Incident_ID", "reference", spec -> spec.setReferences("Incidents")))));
+        config.setSchema(schema);
+        TestConfigs.generate(config);
+        return TestConfigs.csvFiles(output);
+    }
+
+    private static AppConfig.TableSpec table(String name, int rows, AppConfig.ColumnSpec... columns) {
+        AppConfig.TableSpec table = new AppConfig.TableSpec();
+        table.setName(name);
+        table.setRows(rows);
+        table.setColumns(List.of(columns));
+        return table;
+    }
+
+    private static AppConfig.ColumnSpec column(String name, String generator,
+            Consumer<AppConfig.ColumnSpec> settings) {
+        AppConfig.ColumnSpec column = new AppConfig.ColumnSpec();
+        column.setName(name);
+        column.setGenerator(generator);
+        settings.accept(column);
+        return column;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** A seed decides every byte of the output, whatever the thread count or table scheduling. */
+class SeedDeterminismTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void sameSeedGivesSameFilesForAnyThreadCount() throws IOException {
+        Map<String, byte[]> single = run("threads-1", 1, false, 42L);
+        assertEquals(5, single.size(), "files: " + single.keySet());
+        for (int threads : new int[] {2, 4, 7}) {
+            Map<String, byte[]> parallel = run("threads-" + threads, threads, true, 42L);
+            assertEquals(single.keySet(), parallel.keySet());
+            for (String file : single.keySet()) {
+                assertArrayEquals(single.get(file), parallel.get(file), file + " differs with " + threads + " threads");
+            }
+        }
+    }
+
+    @Test
+    void differentSeedGivesDifferentFiles() throws IOException {
+        Map<String, byte[]> first = run("seed-1", 2, true, 1L);
+        Map<String, byte[]> second = run("seed-2", 2, true, 2L);
+        assertFalse(Arrays.equals(first.get("CR_Main.csv"), second.get("CR_Main.csv")));
+    }
+
+    private Map<String, byte[]> run(String name, int threads, boolean pipeline, long seed) throws IOException {
+        Path output = folder.resolve(name);
+        AppConfig config = TestConfigs.seeded(output, seed);
+        config.getGeneration().setThreads(threads);
+        config.getGeneration().setPipeline(pipeline);
+        TestConfigs.generate(config);
+        return TestConfigs.csvFiles(output);
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Every shard of a sharded run, joined in shard order, is the dataset a single process renders. */
+class ShardedRunTest {
+
+    private static final int SHARDS = 3;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void shardsJoinIntoTheUnshardedFiles() throws IOException {
+        Path single = folder.resolve("single");
+        TestConfigs.generate(TestConfigs.seeded(single, 23L));
+        Path sharded = folder.resolve("sharded");
+        for (int shard = 0; shard < SHARDS; shard++) {
+            AppConfig config = TestConfigs.seeded(sharded, 23L);
+            config.getGeneration().setShardIndex(shard);
+            config.getGeneration().setShardCount(SHARDS);
+            TestConfigs.generate(config);
+        }
+
+        Map<String, byte[]> expected = TestConfigs.csvFiles(single);
+        assertEquals(5, expected.size(), "files: " + expected.keySet());
+        JsonNode manifest = new ObjectMapper().readTree(sharded.resolve("shard-manifest.json").toFile());
+        assertEquals(SHARDS, manifest.get("shardCount").asInt());
+        for (JsonNode table : manifest.get("tables")) {
+            String name = table.get("table").asText();
+            ByteArrayOutputStream joined = new ByteArrayOutputStream();
+            long entities = 0;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                JsonNode slice = table.get("shards").get(shard);
+                assertEquals(shard, slice.get("shardIndex").asInt());
+                assertEquals(entities, slice.get("firstIndex").asLong(), name + " shard " + shard);
+                entities += slice.get("entities").asLong();
+
+                String file = slice.get("file").asText();
+                assertEquals(name + String.format(".shard-%05d-of-%05d.csv", shard, SHARDS), file);
+                byte[] part = Files.readAllBytes(sharded.resolve(file));
+                int skip = shard == 0 ? 0 : headerLength(part); // Keep only the first shard's header
+                joined.write(part, skip, part.length - skip);
+                // Each shard renders exactly the entities the manifest gives it, rows keyed by their ID.
+                List<String> ids = entityIds(part);
+                assertEquals(slice.get("entities").asLong(), ids.size(), file);
+                if (ids.isEmpty()) {
+                    assertFalse(slice.has("firstId"), file); // More shards than partitions leaves some empty
+                } else {
+                    assertEquals(slice.get("firstId").asText(), ids.get(0), file);
+                    assertEquals(slice.get("lastId").asText(), ids.get(ids.size() - 1), file);
+                }
+            }
+            assertEquals(table.get("entities").asLong(), entities, name);
+            assertTrue(entities > 0, name);
+            assertArrayEquals(expected.get(name + ".csv"), joined.toByteArray(), name);
+        }
+    }
+
+    private static int headerLength(byte[] file) {
+        for (int i = 0; i + 1 < file.length; i++) {
+            if (file[i] == '\r' && file[i + 1] == '\n') {
+                return i + 2;
+            }
+        }
+        return file.length;
+    }
+
+    /** The distinct values of the first column, in file order. */
+    private static List<String> entityIds(byte[] file) throws IOException {
+        Set<String> ids = new LinkedHashSet<>();
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(file), StandardCharsets.UTF_8)) {
+            for (CSVRecord record : CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                    .parse(reader)) {
+                ids.add(record.get(0));
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+}
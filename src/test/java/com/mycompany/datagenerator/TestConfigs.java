@@ -0,0 +1,55 @@
+package com.mycompany.datagenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/** Small, fully seeded configurations for tests that run the whole generator. */
+final class TestConfigs {
+
+    private TestConfigs() {
+    }
+
+    /** A few partitions per table, a fixed seed and clock, and no progress reporting or metrics file. */
+    static AppConfig seeded(Path folder, long seed) {
+        AppConfig config = new AppConfig();
+        AppConfig.Output output = new AppConfig.Output();
+        output.setFolderName(folder.toString());
+        config.setOutput(output);
+        AppConfig.Generation generation = new AppConfig.Generation();
+        generation.setUserNamesCount(50);
+        generation.setUniqueCrs(2500);
+        generation.setUniqueJiras(3200);
+        generation.setConfluencePages(1500);
+        generation.setCrCtasks(2100);
+        generation.setJiraActivities(3700);
+        generation.setSeed(seed);
+        generation.setReferenceTime("2024-06-01T09:00");
+        config.setGeneration(generation);
+        config.getMetrics().setProgressIntervalSeconds(0);
+        config.getMetrics().setSummaryFile("");
+        return config;
+    }
+
+    static void generate(AppConfig config) {
+        try (DataGenerator generator = new DataGenerator(config)) {
+            generator.generateAll();
+        }
+    }
+
+    /** The CSV files of a folder by name. */
+    static Map<String, byte[]> csvFiles(Path folder) throws IOException {
+        Map<String, byte[]> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(folder)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(".csv")) {
+                    files.put(path.getFileName().toString(), Files.readAllBytes(path));
+                }
+            }
+        }
+        return files;
+    }
+}
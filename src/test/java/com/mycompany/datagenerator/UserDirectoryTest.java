@@ -0,0 +1,62 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** User names are distinct by construction, past the plain First_L names and past the materialized size. */
+class UserDirectoryTest {
+
+    private static final FakerDictionary DICTIONARY = FakerDictionary.load("");
+    private static final int PLAIN_NAMES = DICTIONARY.firstNames().length * DICTIONARY.lastNameInitials().length;
+
+    @Test
+    void namesPastThePlainCombinationsAreDistinct() {
+        int count = 2 * PLAIN_NAMES + 17; // Needs the 2 and 3 suffixes
+        UserDirectory names = UserDirectory.generate(new Random(11), count, DICTIONARY);
+        assertDistinct(names, count);
+        assertTrue(names.stream().anyMatch(name -> name.endsWith("3")), "no suffixed names in " + count);
+    }
+
+    @Test
+    void largeDirectoriesRenderDistinctNamesOnRead() {
+        int count = Math.max(200_000, PLAIN_NAMES + 1); // Above MATERIALIZE_LIMIT (65536)
+        assertDistinct(UserDirectory.generate(new Random(12), count, DICTIONARY), count);
+    }
+
+    @Test
+    void sameSeedGivesSameNames() {
+        for (int count : new int[] {25, 200_000}) {
+            List<String> first = UserDirectory.generate(new Random(7), count, DICTIONARY);
+            List<String> second = UserDirectory.generate(new Random(7), count, DICTIONARY);
+            assertEquals(first, second);
+            assertNotEquals(first, UserDirectory.generate(new Random(8), count, DICTIONARY));
+        }
+    }
+
+    @Test
+    void namesLookLikeFirstNameUnderscoreInitial() {
+        UserDirectory names = UserDirectory.generate(new Random(3), 100, DICTIONARY);
+        for (String name : names) {
+            assertTrue(name.matches("[^_]+_[A-Z]\\d*"), name);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> names.get(100));
+        assertEquals(0, UserDirectory.generate(new Random(3), -5, DICTIONARY).size());
+    }
+
+    private static void assertDistinct(List<String> names, int count) {
+        assertEquals(count, names.size());
+        Set<String> seen = new HashSet<>(count * 2);
+        for (String name : names) {
+            assertTrue(seen.add(name), "duplicate user name " + name);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.datagenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/** Every distributions entry must name something the run has: a misspelling fails instead of being ignored. */
+class ValueDistributionsTest {
+
+    private static final Map<String, List<String>> VOCABULARIES =
+            Map.of("CR_Main.CR_Type", List.of("Standard", "Normal"));
+    private static final Map<String, Double> NULL_RATES = Map.of("CR_Main.Linked_Jira_ID", 0.5);
+    private static final List<String> POOLS =
+            List.of("Users", "CR_Main", "JIRA_Issues", "Confluence_Pages", "Incidents");
+
+    @Test
+    void acceptsKnownPoolsIncludingSchemaTables() {
+        AppConfig.Distributions config = new AppConfig.Distributions();
+        config.setKeySkew(Map.of("Users", 1.0, "Incidents", 0.5));
+        ValueDistributions distributions = new ValueDistributions(config, VOCABULARIES, NULL_RATES, POOLS);
+        assertEquals(1.0, distributions.keySkew("Users"));
+        assertEquals(0.5, distributions.keySkew("Incidents"));
+        assertEquals(0.0, distributions.keySkew("CR_Main"));
+    }
+
+    @Test
+    void rejectsUnknownPoolsColumnsAndValues() {
+        AppConfig.Distributions skew = new AppConfig.Distributions();
+        skew.setKeySkew(Map.of("JIRA_Issue", 1.0));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ValueDistributions(skew, VOCABULARIES, NULL_RATES, POOLS));
+        assertTrue(e.getMessage().contains("unknown pool 'JIRA_Issue'"), e.getMessage());
+
+        AppConfig.Distributions negative = new AppConfig.Distributions();
+        negative.setKeySkew(Map.of("Users", -1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ValueDistributions(negative, VOCABULARIES, NULL_RATES, POOLS));
+
+        AppConfig.Distributions rates = new AppConfig.Distributions();
+        rates.setNullRates(Map.of("CR_Main.Linked_Jira", 0.1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ValueDistributions(rates, VOCABULARIES, NULL_RATES, POOLS));
+
+        AppConfig.Distributions weights = new AppConfig.Distributions();
+        weights.setWeights(Map.of("CR_Main.CR_Type", Map.of("Emergency", 1.0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ValueDistributions(weights, VOCABULARIES, NULL_RATES, POOLS));
+    }
+}